@@ -2,11 +2,13 @@ package com.williammedina.forohub.controller;
 
 import com.williammedina.forohub.domain.course.service.CourseService;
 import com.williammedina.forohub.domain.course.dto.CourseDTO;
+import com.williammedina.forohub.infrastructure.response.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -26,11 +28,17 @@ public class CourseController {
             description = "Devuelve una lista de todos los cursos disponibles en la plataforma.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Lista de cursos obtenida exitosamente."),
+                    @ApiResponse(responseCode = "304", description = "La lista de cursos no cambió desde el ETag enviado en If-None-Match."),
             }
     )
     @GetMapping
-    public ResponseEntity<List<CourseDTO>> getAllCourses() {
+    public ResponseEntity<List<CourseDTO>> getAllCourses(WebRequest request) {
+        // Courses have no timestamps and the table is tiny, so the ETag is a hash of the list itself
         List<CourseDTO> courses = courseServiceImpl.getAllCourses();
-        return ResponseEntity.ok(courses);
+        String eTag = ETags.of(courses);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(courses);
     }
 }
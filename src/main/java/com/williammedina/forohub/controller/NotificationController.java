@@ -1,8 +1,12 @@
 package com.williammedina.forohub.controller;
 
+import com.williammedina.forohub.domain.notification.dto.BulkNotificationResultDTO;
 import com.williammedina.forohub.domain.notification.service.NotificationService;
 import com.williammedina.forohub.domain.notification.dto.NotificationDTO;
+import com.williammedina.forohub.domain.notification.dto.UnreadNotificationsDTO;
 import com.williammedina.forohub.infrastructure.exception.ApiErrorResponse;
+import com.williammedina.forohub.infrastructure.pagination.CursorPage;
+import com.williammedina.forohub.infrastructure.response.BatchResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -10,9 +14,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -25,8 +33,8 @@ public class NotificationController {
     private final NotificationService notificationService;
 
     @Operation(
-            summary = "Obtener todas las notificaciones del usuario",
-            description = "Devuelve una lista de todas las notificaciones del usuario autenticado, ordenadas por fecha de creación.",
+            summary = "Obtener las notificaciones del usuario",
+            description = "Devuelve las " + CursorPage.MAX_SIZE + " notificaciones más recientes del usuario autenticado, ordenadas por fecha de creación. Las anteriores se obtienen con la paginación por cursor (parámetro 'after').",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Lista de notificaciones devuelta exitosamente"),
                     @ApiResponse(responseCode = "401", description = "El usuario no está autenticado.", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) }),
@@ -38,6 +46,70 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
 
+    @Operation(
+            summary = "Obtener las notificaciones del usuario con paginación por cursor",
+            description = "Se activa al enviar el parámetro 'after' (vacío para la primera página). Devuelve las notificaciones más recientes después del cursor indicado. Con 'since' solo se incluyen las notificaciones modificadas después de esa fecha.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Notificaciones recuperadas exitosamente"),
+                    @ApiResponse(responseCode = "400", description = "Cursor o tamaño de página inválido", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) }),
+                    @ApiResponse(responseCode = "401", description = "El usuario no está autenticado.", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) })
+            }
+    )
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<NotificationDTO>> getNotificationsByUserAfter(
+            @RequestParam String after,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        CursorPage<NotificationDTO> notifications = notificationService.getNotificationsByUserAfter(after, since, size);
+        return ResponseEntity.ok(notifications);
+    }
+
+    @Operation(
+            summary = "Obtener las notificaciones nuevas del usuario",
+            description = "Pensado para consultas periódicas: devuelve solo las notificaciones nuevas o actualizadas (p. ej. un evento agrupado en una notificación sin leer) después de 'since', el 'updatedAt' más reciente recibido, las más recientes primero. Si 'hasNext' es verdadero, el resto se obtiene enviando 'after=<nextCursor>' junto con el mismo 'since'.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Notificaciones recuperadas exitosamente"),
+                    @ApiResponse(responseCode = "400", description = "Tamaño de página inválido", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) }),
+                    @ApiResponse(responseCode = "401", description = "El usuario no está autenticado.", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) })
+            }
+    )
+    @GetMapping(params = {"since", "!after"})
+    public ResponseEntity<CursorPage<NotificationDTO>> getNewNotificationsByUser(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        CursorPage<NotificationDTO> notifications = notificationService.getNotificationsByUserAfter(null, since, size);
+        return ResponseEntity.ok(notifications);
+    }
+
+    @Operation(
+            summary = "Obtener la cantidad de notificaciones sin leer",
+            description = "Devuelve solo el número de notificaciones sin leer del usuario autenticado, sin cargar las notificaciones.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Cantidad recuperada exitosamente"),
+                    @ApiResponse(responseCode = "401", description = "El usuario no está autenticado.", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) })
+            }
+    )
+    @GetMapping("/unread-count")
+    public ResponseEntity<UnreadNotificationsDTO> getUnreadCount() {
+        UnreadNotificationsDTO unread = notificationService.getUnreadCount();
+        return ResponseEntity.ok(unread);
+    }
+
+    @Operation(
+            summary = "Recibir las notificaciones nuevas en tiempo real",
+            description = "Abre un canal Server-Sent Events: cada notificación nueva del usuario autenticado se envía como un evento 'notification' con los datos de la notificación, sin necesidad de consultas periódicas. Las notificaciones a seguidores de un tópico llegan sin 'id'. Se envía un comentario 'heartbeat' periódicamente; si el cliente deja de leer, la conexión se cierra y al reconectar debe sincronizar con 'since'.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Canal de notificaciones abierto", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)),
+                    @ApiResponse(responseCode = "401", description = "El usuario no está autenticado.", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) })
+            }
+    )
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications() {
+        return notificationService.streamNotifications();
+    }
+
     @Operation(
             summary = "Eliminar una notificación",
             description = "Elimina una notificación específica por su ID, si pertenece al usuario autenticado.",
@@ -70,4 +142,42 @@ public class NotificationController {
         NotificationDTO notification = notificationService.markNotificationAsRead(notifyId);
         return ResponseEntity.ok(notification);
     }
+
+    @Operation(
+            summary = "Marcar varias notificaciones como leídas",
+            description = "Marca como leídas, en una sola operación, las notificaciones del usuario autenticado indicadas con una de las opciones: 'all=true' (todas), 'ids' (hasta " + BatchResponse.MAX_IDS + " IDs) o 'before' (un cursor de la paginación: esa notificación y todas las anteriores). Las notificaciones de otros usuarios se ignoran. Devuelve la cantidad modificada y las notificaciones sin leer restantes.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Notificaciones marcadas como leídas exitosamente."),
+                    @ApiResponse(responseCode = "400", description = "Opciones, IDs o cursor inválidos.", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) }),
+                    @ApiResponse(responseCode = "401", description = "El usuario no está autenticado.", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) })
+            }
+    )
+    @PatchMapping("/read")
+    public ResponseEntity<BulkNotificationResultDTO> markNotificationsAsRead(
+            @RequestParam(required = false) Boolean all,
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) String before
+    ) {
+        BulkNotificationResultDTO result = notificationService.markNotificationsAsRead(all, ids, before);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(
+            summary = "Eliminar varias notificaciones",
+            description = "Elimina, en una sola operación, las notificaciones del usuario autenticado indicadas con una de las opciones: 'all=true' (todas), 'ids' (hasta " + BatchResponse.MAX_IDS + " IDs) o 'before' (un cursor de la paginación: esa notificación y todas las anteriores). Las notificaciones de otros usuarios se ignoran. Devuelve la cantidad eliminada y las notificaciones sin leer restantes.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Notificaciones eliminadas exitosamente."),
+                    @ApiResponse(responseCode = "400", description = "Opciones, IDs o cursor inválidos.", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) }),
+                    @ApiResponse(responseCode = "401", description = "El usuario no está autenticado.", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) })
+            }
+    )
+    @DeleteMapping
+    public ResponseEntity<BulkNotificationResultDTO> deleteNotifications(
+            @RequestParam(required = false) Boolean all,
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) String before
+    ) {
+        BulkNotificationResultDTO result = notificationService.deleteNotifications(all, ids, before);
+        return ResponseEntity.ok(result);
+    }
 }
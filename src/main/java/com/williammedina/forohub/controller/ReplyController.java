@@ -5,7 +5,11 @@ import com.williammedina.forohub.domain.reply.dto.CreateReplyDTO;
 import com.williammedina.forohub.domain.reply.dto.ReplyDTO;
 import com.williammedina.forohub.domain.reply.dto.UpdateReplyDTO;
 import com.williammedina.forohub.infrastructure.exception.ApiErrorResponse;
+import com.williammedina.forohub.infrastructure.pagination.CursorPage;
+import com.williammedina.forohub.infrastructure.response.BatchResponse;
+import com.williammedina.forohub.infrastructure.response.ETags;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -16,9 +20,13 @@ import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @RequestMapping(value = "/reply", produces = "application/json")
@@ -66,18 +74,56 @@ public class ReplyController {
         return ResponseEntity.ok(replies);
     }
 
+    @Operation(
+            summary = "Obtener las respuestas del usuario autenticado con paginación por cursor",
+            description = "Se activa al enviar el parámetro 'after' (vacío para la primera página). Recupera las respuestas creadas por el usuario después del cursor indicado, sin calcular el total de elementos.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Respuestas recuperadas exitosamente"),
+                    @ApiResponse(responseCode = "400", description = "Cursor o tamaño de página inválido", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) }),
+                    @ApiResponse(responseCode = "401", description = "El usuario no está autenticado.", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) })
+            }
+    )
+    @GetMapping(value = "/user/replies", params = "after")
+    public ResponseEntity<CursorPage<ReplyDTO>> getAllRepliesByUserAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        CursorPage<ReplyDTO> replies = replyService.getAllRepliesByUserAfter(after, size);
+        return ResponseEntity.ok(replies);
+    }
+
     @Operation(
             summary = "Obtener una respuesta por ID",
             description = "Recupera una respuesta específica utilizando su identificador único.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Respuesta recuperada exitosamente"),
+                    @ApiResponse(responseCode = "304", description = "La respuesta no cambió desde el ETag enviado en If-None-Match"),
                     @ApiResponse(responseCode = "404", description = "Respuesta no encontrada", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) })
             }
     )
     @GetMapping("/{replyId}")
-    public ResponseEntity<ReplyDTO> getReplyById(@PathVariable Long replyId) {
+    public ResponseEntity<ReplyDTO> getReplyById(@PathVariable Long replyId, WebRequest request) {
+        String eTag = replyService.getReplyETag(replyId);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         ReplyDTO reply = replyService.getReplyById(replyId);
-        return ResponseEntity.ok(reply);
+        return ResponseEntity.ok().eTag(eTag).body(reply);
+    }
+
+    @Operation(
+            summary = "Obtener varias respuestas por ID",
+            description = "Recupera hasta 50 respuestas (parámetro 'ids', separados por comas) con una sola consulta, en el orden solicitado, e indica en 'missingIds' las que no existen o no están visibles.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Respuestas recuperadas exitosamente"),
+                    @ApiResponse(responseCode = "400", description = "Lista de IDs vacía o con más de 50 elementos", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) })
+            }
+    )
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResponse<ReplyDTO>> getRepliesByIds(@RequestParam List<Long> ids) {
+        BatchResponse<ReplyDTO> replies = replyService.getRepliesByIds(ids);
+        return ResponseEntity.ok().varyBy(HttpHeaders.AUTHORIZATION).body(replies);
     }
 
     @Operation(
@@ -90,12 +136,18 @@ public class ReplyController {
                     @ApiResponse(responseCode = "401", description = "El usuario no está autenticado.", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) }),
                     @ApiResponse(responseCode = "403", description = "El usuario no tiene permiso para modificar esta respuesta o contenido inapropiado detectado por la IA.", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) }),
                     @ApiResponse(responseCode = "404", description = "Respuesta no encontrada", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) }),
+                    @ApiResponse(responseCode = "409", description = "La respuesta fue modificada por otro usuario; el cuerpo incluye currentVersion.", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
                     @ApiResponse(responseCode = "503", description = "Error al validar el contenido con el servicio de IA.", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
             }
     )
     @PutMapping("/{replyId}")
-    public ResponseEntity<ReplyDTO> updateReply(@RequestBody @Valid UpdateReplyDTO replyRequest, @PathVariable Long replyId) {
-        ReplyDTO reply = replyService.updateReply(replyRequest, replyId);
+    public ResponseEntity<ReplyDTO> updateReply(
+            @RequestBody @Valid UpdateReplyDTO replyRequest,
+            @PathVariable Long replyId,
+            @Parameter(description = "ETag recibido al consultar la respuesta o su versión entre comillas (campo version), o una lista de ellos separada por comas. Solo se compara la versión de la respuesta. Si la respuesta cambió desde entonces se responde 409.")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        ReplyDTO reply = replyService.updateReply(replyRequest, replyId, ETags.expectedVersions(ifMatch));
         return ResponseEntity.ok(reply);
     }
 
@@ -1,5 +1,7 @@
 package com.williammedina.forohub.controller;
 
+import com.williammedina.forohub.domain.reply.dto.ReplyDTO;
+import com.williammedina.forohub.domain.reply.service.ReplyService;
 import com.williammedina.forohub.domain.topic.entity.TopicEntity;
 import com.williammedina.forohub.domain.topic.service.TopicService;
 import com.williammedina.forohub.domain.topic.dto.InputTopicDTO;
@@ -7,8 +9,13 @@ import com.williammedina.forohub.domain.topic.dto.TopicDTO;
 import com.williammedina.forohub.domain.topic.dto.TopicDetailsDTO;
 import com.williammedina.forohub.domain.topicfollow.service.TopicFollowService;
 import com.williammedina.forohub.domain.topicfollow.dto.TopicFollowDetailsDTO;
+import com.williammedina.forohub.domain.topicfollow.dto.TopicFollowerDTO;
 import com.williammedina.forohub.infrastructure.exception.ApiErrorResponse;
+import com.williammedina.forohub.infrastructure.pagination.CursorPage;
+import com.williammedina.forohub.infrastructure.response.BatchResponse;
+import com.williammedina.forohub.infrastructure.response.ETags;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -19,9 +26,13 @@ import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @RequestMapping(value = "/topic", produces = "application/json")
@@ -31,6 +42,7 @@ public class TopicController {
 
     private final TopicService topicService;
     private final TopicFollowService topicFollowService;
+    private final ReplyService replyService;
 
     @Operation(
             summary = "Crear un nuevo tópico",
@@ -72,6 +84,40 @@ public class TopicController {
         return ResponseEntity.ok(topics);
     }
 
+    @Operation(
+            summary = "Obtener todos los tópicos con paginación por cursor",
+            description = "Se activa al enviar el parámetro 'after' (vacío para la primera página). Devuelve los tópicos más recientes después del cursor indicado, sin calcular el total de elementos, con filtrado opcional por curso, palabra clave y estado.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tópicos recuperados exitosamente"),
+                    @ApiResponse(responseCode = "400", description = "Cursor o tamaño de página inválido", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) })
+            }
+    )
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<TopicDTO>> getAllTopicsAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "6") int size,
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) TopicEntity.Status status
+    ) {
+        CursorPage<TopicDTO> topics = topicService.getAllTopicsAfter(after, size, courseId, keyword, status);
+        return ResponseEntity.ok(topics);
+    }
+
+    @Operation(
+            summary = "Obtener varios tópicos por ID",
+            description = "Se activa al enviar el parámetro 'ids' (hasta 50, separados por comas). Devuelve los tópicos en el orden solicitado con una sola consulta e indica en 'missingIds' los que no existen o no están visibles.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tópicos recuperados exitosamente"),
+                    @ApiResponse(responseCode = "400", description = "Lista de IDs vacía o con más de 50 elementos", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) })
+            }
+    )
+    @GetMapping(params = {"ids", "!after"})
+    public ResponseEntity<BatchResponse<TopicDTO>> getTopicsByIds(@RequestParam List<Long> ids) {
+        BatchResponse<TopicDTO> topics = topicService.getTopicsByIds(ids);
+        return ResponseEntity.ok().varyBy(HttpHeaders.AUTHORIZATION).body(topics);
+    }
+
     @Operation(
             summary = "Obtener los tópicos del usuario",
             description = "Permite obtener los tópicos creados por el usuario, con paginación y filtrado opcional por palabra clave.",
@@ -92,18 +138,82 @@ public class TopicController {
         return ResponseEntity.ok(topics);
     }
 
+    @Operation(
+            summary = "Obtener los tópicos del usuario con paginación por cursor",
+            description = "Se activa al enviar el parámetro 'after' (vacío para la primera página). Devuelve los tópicos creados por el usuario después del cursor indicado, con filtrado opcional por palabra clave.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tópicos recuperados exitosamente"),
+                    @ApiResponse(responseCode = "400", description = "Cursor o tamaño de página inválido", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) }),
+                    @ApiResponse(responseCode = "401", description = "El usuario no está autenticado.", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) })
+            }
+    )
+    @GetMapping(value = "/user/topics", params = "after")
+    public ResponseEntity<CursorPage<TopicDTO>> getAllTopicsByUserAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(required = false) String keyword
+    ) {
+        CursorPage<TopicDTO> topics = topicService.getAllTopicsByUserAfter(after, size, keyword);
+        return ResponseEntity.ok(topics);
+    }
+
     @Operation(
             summary = "Obtener un tópico por ID",
-            description = "Permite obtener un tópico específico por su ID, incluyendo todas sus respuestas.",
+            description = "Permite obtener un tópico específico por su ID, incluyendo la primera página de sus respuestas con la solución al inicio.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Tópico recuperado exitosamente"),
+                    @ApiResponse(responseCode = "304", description = "El tópico no cambió desde el ETag enviado en If-None-Match"),
                     @ApiResponse(responseCode = "404", description = "Tópico no encontrado", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) })
             }
     )
     @GetMapping("/{topicId}")
-    public ResponseEntity<TopicDetailsDTO> getTopicById(@PathVariable Long topicId) {
+    public ResponseEntity<TopicDetailsDTO> getTopicById(@PathVariable Long topicId, WebRequest request) {
+        // The ETag is read before the body, so a concurrent change can only make the client refetch, never miss an update
+        String eTag = topicService.getTopicETag(topicId);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         TopicDetailsDTO topic = topicService.getTopicById(topicId);
-        return ResponseEntity.ok(topic);
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.AUTHORIZATION).body(topic);
+    }
+
+    @Operation(
+            summary = "Obtener las respuestas de un tópico",
+            description = "Devuelve las respuestas del tópico en orden de creación con paginación por cursor. La respuesta marcada como solución se incluye al inicio de la primera página (parámetro 'after' vacío o ausente), además de las 'size' respuestas solicitadas.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Respuestas recuperadas exitosamente"),
+                    @ApiResponse(responseCode = "400", description = "Cursor o tamaño de página inválido", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) }),
+                    @ApiResponse(responseCode = "404", description = "Tópico no encontrado", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) })
+            }
+    )
+    @GetMapping("/{topicId}/replies")
+    public ResponseEntity<CursorPage<ReplyDTO>> getRepliesByTopic(
+            @PathVariable Long topicId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        CursorPage<ReplyDTO> replies = replyService.getRepliesByTopic(topicId, after, size);
+        return ResponseEntity.ok(replies);
+    }
+
+    @Operation(
+            summary = "Obtener los seguidores de un tópico",
+            description = "Devuelve los usuarios que siguen el tópico, del seguimiento más reciente al más antiguo, con paginación por cursor. El parámetro 'after' vacío o ausente devuelve la primera página.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Seguidores recuperados exitosamente"),
+                    @ApiResponse(responseCode = "400", description = "Cursor o tamaño de página inválido", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) }),
+                    @ApiResponse(responseCode = "404", description = "Tópico no encontrado", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) })
+            }
+    )
+    @GetMapping("/{topicId}/followers")
+    public ResponseEntity<CursorPage<TopicFollowerDTO>> getFollowersByTopic(
+            @PathVariable Long topicId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        CursorPage<TopicFollowerDTO> followers = topicFollowService.getFollowersByTopic(topicId, after, size);
+        return ResponseEntity.ok(followers);
     }
 
     @Operation(
@@ -116,13 +226,18 @@ public class TopicController {
                     @ApiResponse(responseCode = "401", description = "El usuario no está autenticado.", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) }),
                     @ApiResponse(responseCode = "403", description = "El usuario no tiene permiso para modificar este tópico o contenido inapropiado detectado por la IA.", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) }),
                     @ApiResponse(responseCode = "404", description = "Tópico no encontrado", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) }),
-                    @ApiResponse(responseCode = "409", description = "Título o descripción ya existe en otro tópico.", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+                    @ApiResponse(responseCode = "409", description = "Título o descripción ya existe en otro tópico, o el tópico fue modificado por otro usuario (el cuerpo incluye currentVersion).", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
                     @ApiResponse(responseCode = "503", description = "Error al validar el contenido con el servicio de IA.", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
             }
     )
     @PutMapping("/{topicId}")
-    public ResponseEntity<TopicDetailsDTO> updateTopic(@RequestBody @Valid InputTopicDTO topicRequest, @PathVariable Long topicId) {
-        TopicDetailsDTO topic = topicService.updateTopic(topicRequest, topicId);
+    public ResponseEntity<TopicDetailsDTO> updateTopic(
+            @RequestBody @Valid InputTopicDTO topicRequest,
+            @PathVariable Long topicId,
+            @Parameter(description = "ETag recibido al consultar el tópico o su versión entre comillas (campo version), o una lista de ellos separada por comas. Solo se compara la versión del tópico: nuevas respuestas o seguidores no provocan conflicto. Si el tópico cambió desde entonces se responde 409.")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        TopicDetailsDTO topic = topicService.updateTopic(topicRequest, topicId, ETags.expectedVersions(ifMatch));
         return ResponseEntity.ok(topic);
     }
 
@@ -180,4 +295,24 @@ public class TopicController {
         return ResponseEntity.ok(topics);
     }
 
+    @Operation(
+            summary = "Obtener los tópicos seguidos por el usuario con paginación por cursor",
+            description = "Se activa al enviar el parámetro 'after' (vacío para la primera página). Devuelve los tópicos seguidos por el usuario después del cursor indicado, con filtrado opcional por palabra clave.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tópicos seguidos recuperados exitosamente"),
+                    @ApiResponse(responseCode = "400", description = "Cursor o tamaño de página inválido", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) }),
+                    @ApiResponse(responseCode = "401", description = "El usuario no está autenticado.", content = { @Content(schema = @Schema(implementation = ApiErrorResponse.class)) })
+            }
+    )
+    @GetMapping(value = "/user/followed-topics", params = "after")
+    public ResponseEntity<CursorPage<TopicFollowDetailsDTO>> getFollowedTopicsByUserAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(required = false) String keyword
+    ) {
+        CursorPage<TopicFollowDetailsDTO> topics = topicFollowService.getFollowedTopicsByUserAfter(after, size, keyword);
+        return ResponseEntity.ok(topics);
+    }
+
 }
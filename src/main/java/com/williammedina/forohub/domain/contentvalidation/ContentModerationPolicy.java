@@ -0,0 +1,9 @@
+package com.williammedina.forohub.domain.contentvalidation;
+
+// Decides when new content is moderated: the given AI check runs right away (before the write transaction is opened),
+// or is deferred to the moderation worker and the content is stored as PENDING
+public interface ContentModerationPolicy {
+
+    ModerationStatus moderateNewContent(Runnable moderation);
+
+}
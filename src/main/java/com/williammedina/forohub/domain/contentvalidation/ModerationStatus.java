@@ -0,0 +1,7 @@
+package com.williammedina.forohub.domain.contentvalidation;
+
+public enum ModerationStatus {
+    PENDING,
+    PUBLISHED,
+    REJECTED,
+}
@@ -0,0 +1,13 @@
+package com.williammedina.forohub.domain.notification.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Resultado de una operación sobre varias notificaciones")
+public record BulkNotificationResultDTO(
+        @Schema(description = "Cantidad de notificaciones modificadas o eliminadas", example = "12")
+        Integer affected,
+
+        @Schema(description = "Cantidad de notificaciones sin leer después de la operación", example = "0")
+        Long unreadCount
+) {
+}
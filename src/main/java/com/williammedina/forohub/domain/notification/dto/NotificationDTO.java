@@ -1,6 +1,7 @@
 package com.williammedina.forohub.domain.notification.dto;
 
 import com.williammedina.forohub.domain.notification.entity.NotificationEntity;
+import com.williammedina.forohub.domain.notification.service.renderer.RenderedNotification;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.LocalDateTime;
@@ -32,11 +33,20 @@ public record NotificationDTO(
         @Schema(description = "Estado de lectura de la notificación", example = "false")
         Boolean isRead,
 
+        @Schema(description = "Cantidad de eventos agrupados en esta notificación mientras no se leía (p. ej. respuestas nuevas al mismo tópico)", example = "4")
+        Integer eventCount,
+
+        @Schema(description = "Nombre de usuario de quien originó el último evento, si corresponde", example = "Alejandro Cristiano")
+        String lastActor,
+
         @Schema(description = "Fecha de creación de la notificación", example = "2025-07-31T14:45:00")
-        LocalDateTime createdAt
+        LocalDateTime createdAt,
+
+        @Schema(description = "Fecha de la última modificación (nuevo evento agrupado o lectura); se envía como 'since' en la siguiente consulta", example = "2025-07-31T14:45:00.123456")
+        LocalDateTime updatedAt
 ) {
 
-        public static NotificationDTO fromEntity(NotificationEntity notification) {
+        public static NotificationDTO fromEntity(NotificationEntity notification, RenderedNotification text) {
 
                 // Long topicId = (notification.getTopic() != null) ? notification.getTopic().getId() : null;
                 Long topicId = (notification.getTopic() == null || notification.getTopic().getIsDeleted()) ? null : notification.getTopic().getId();
@@ -47,10 +57,13 @@ public record NotificationDTO(
                         topicId,
                         notification.getType(),
                         notification.getSubtype(),
-                        notification.getTitle(),
-                        notification.getMessage(),
+                        text.title(),
+                        text.message(),
                         notification.getIsRead(),
-                        notification.getCreatedAt()
+                        notification.getEventCount(),
+                        notification.getLastActor() != null ? notification.getLastActor().getUsername() : null,
+                        notification.getCreatedAt(),
+                        notification.getUpdatedAt()
                 );
         }
 }
@@ -0,0 +1,10 @@
+package com.williammedina.forohub.domain.notification.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Cantidad de notificaciones sin leer del usuario")
+public record UnreadNotificationsDTO(
+        @Schema(description = "Cantidad de notificaciones sin leer", example = "3")
+        Long unreadCount
+) {
+}
@@ -12,6 +12,11 @@ import java.time.LocalDateTime;
 
 @Entity(name = "Notification")
 @Table(name = "notifications")
+@NamedEntityGraph(
+        name = NotificationEntity.WITH_USER_AND_TOPIC,
+        attributeNodes = { @NamedAttributeNode("user"), @NamedAttributeNode(value = "topic", subgraph = "topic"), @NamedAttributeNode("lastActor") },
+        subgraphs = @NamedSubgraph(name = "topic", attributeNodes = @NamedAttributeNode("course"))
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,19 +25,21 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode(of = "id")
 public class NotificationEntity {
 
+    public static final String WITH_USER_AND_TOPIC = "Notification.withUserAndTopic";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private UserEntity user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "topic_id")
     private TopicEntity topic;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "reply_id")
     private ReplyEntity reply;
 
@@ -44,15 +51,30 @@ public class NotificationEntity {
     @Column(nullable = false)
     private Subtype subtype;
 
-    @Column(nullable = false)
+    // Null for notifications stored before templates existed, which are shown with their stored title and message
+    @Enumerated(EnumType.STRING)
+    @Column(name = "template")
+    private Template template;
+
     private String title;
 
-    @Column(nullable = false)
     private String message;
 
     @Column(name = "is_read", nullable = false)
     private Boolean isRead = false;
 
+    // Number of events coalesced into this notification while it was unread (see unreadKey)
+    @Column(name = "event_count", nullable = false)
+    private Integer eventCount = 1;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "last_actor_id")
+    private UserEntity lastActor;
+
+    // Set only while unread: unique per user, so a repeated event updates this row instead of inserting a new one
+    @Column(name = "unread_key")
+    private String unreadKey;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     @CreationTimestamp
     private LocalDateTime createdAt = LocalDateTime.now();
@@ -73,6 +95,12 @@ public class NotificationEntity {
 
     public void markAsRead() {
         this.isRead = true;
+        this.unreadKey = null;
+    }
+
+    // Null without a topic: those notifications are never coalesced
+    public static String unreadKeyOf(Long topicId, Type type, Subtype subtype) {
+        return topicId == null ? null : topicId + ":" + type + ":" + subtype;
     }
 
     public enum Type {
@@ -86,4 +114,23 @@ public class NotificationEntity {
         SOLVED,
         DELETED
     }
+
+    // One per notification text (see i18n/notifications.properties); the owner and the followers of a topic get
+    // different texts for the same type and subtype
+    @Getter
+    @RequiredArgsConstructor
+    public enum Template {
+        TOPIC_REPLY(Type.TOPIC, Subtype.REPLY),
+        TOPIC_SOLVED(Type.TOPIC, Subtype.SOLVED),
+        TOPIC_EDITED(Type.TOPIC, Subtype.EDITED),
+        TOPIC_DELETED(Type.TOPIC, Subtype.DELETED),
+        REPLY_SOLVED(Type.REPLY, Subtype.SOLVED),
+        REPLY_EDITED(Type.REPLY, Subtype.EDITED),
+        REPLY_DELETED(Type.REPLY, Subtype.DELETED),
+        FOLLOWED_TOPIC_REPLY(Type.TOPIC, Subtype.REPLY),
+        FOLLOWED_TOPIC_SOLVED(Type.TOPIC, Subtype.SOLVED);
+
+        private final Type type;
+        private final Subtype subtype;
+    }
 }
@@ -0,0 +1,16 @@
+package com.williammedina.forohub.domain.notification.repository;
+
+import com.williammedina.forohub.domain.notification.entity.NotificationEntity;
+
+import java.util.Collection;
+
+public interface NotificationBatchRepository {
+
+    // Creates the notification, or coalesces it into the user's unread notification with the same topic, type and
+    // subtype. Only the template is stored: the text is rendered when read. Returns the id of the row written
+    Long upsertUnread(Long userId, Long topicId, Long replyId, Long actorId, NotificationEntity.Template template);
+
+    // Same as upsertUnread for every user, in one JDBC batch, bypassing the persistence context
+    void upsertUnreadForUsers(Collection<Long> userIds, Long topicId, Long replyId, Long actorId, NotificationEntity.Template template);
+
+}
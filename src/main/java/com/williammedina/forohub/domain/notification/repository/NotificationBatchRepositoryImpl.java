@@ -0,0 +1,67 @@
+package com.williammedina.forohub.domain.notification.repository;
+
+import com.williammedina.forohub.domain.notification.entity.NotificationEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Notification ids come from IDENTITY, so Hibernate cannot batch their inserts. The fan-out writes them with
+ * JdbcTemplate instead, inside the caller's transaction; with rewriteBatchedStatements the driver sends each batch
+ * as a single multi-row INSERT. Every write is an upsert on uk_notifications_user_unread_key: a repeated event for an
+ * unread notification bumps its event_count and moves it to the top of the listing (created_at) instead of adding a row.
+ */
+@RequiredArgsConstructor
+public class NotificationBatchRepositoryImpl implements NotificationBatchRepository {
+
+    // LAST_INSERT_ID(id) makes the generated key of an update the id of the coalesced row.
+    // VALUES() instead of a row alias, which MariaDB does not support
+    private static final String UPSERT_NOTIFICATION =
+            "INSERT INTO notifications (user_id, topic_id, reply_id, type, subtype, template, is_read, event_count, last_actor_id, unread_key, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, false, 1, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id), event_count = event_count + 1, reply_id = VALUES(reply_id), " +
+            "last_actor_id = VALUES(last_actor_id), template = VALUES(template), " +
+            "created_at = VALUES(created_at), updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Long upsertUnread(Long userId, Long topicId, Long replyId, Long actorId, NotificationEntity.Template template) {
+        Object[] row = row(userId, topicId, replyId, actorId, template, Timestamp.valueOf(LocalDateTime.now()));
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(UPSERT_NOTIFICATION, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < row.length; i++) {
+                statement.setObject(i + 1, row[i]);
+            }
+            return statement;
+        }, keyHolder);
+        // An update reports two affected rows, so the driver may list more than one key: the first is the row's id
+        return ((Number) keyHolder.getKeyList().getFirst().values().iterator().next()).longValue();
+    }
+
+    @Override
+    public void upsertUnreadForUsers(Collection<Long> userIds, Long topicId, Long replyId, Long actorId, NotificationEntity.Template template) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = userIds.stream()
+                .map(userId -> row(userId, topicId, replyId, actorId, template, now))
+                .toList();
+        jdbcTemplate.batchUpdate(UPSERT_NOTIFICATION, rows);
+    }
+
+    private Object[] row(Long userId, Long topicId, Long replyId, Long actorId, NotificationEntity.Template template, Timestamp now) {
+        String unreadKey = NotificationEntity.unreadKeyOf(topicId, template.getType(), template.getSubtype());
+        return new Object[]{ userId, topicId, replyId, template.getType().name(), template.getSubtype().name(), template.name(), actorId, unreadKey, now, now };
+    }
+}
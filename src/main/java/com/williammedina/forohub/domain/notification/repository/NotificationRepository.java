@@ -2,12 +2,93 @@ package com.williammedina.forohub.domain.notification.repository;
 
 import com.williammedina.forohub.domain.notification.entity.NotificationEntity;
 import com.williammedina.forohub.domain.user.entity.UserEntity;
+import com.williammedina.forohub.infrastructure.pagination.Cursor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface NotificationRepository extends JpaRepository<NotificationEntity, Long> {
+public interface NotificationRepository extends JpaRepository<NotificationEntity, Long>, NotificationBatchRepository {
 
+    @EntityGraph(NotificationEntity.WITH_USER_AND_TOPIC)
     List<NotificationEntity> findAllByUserOrderByCreatedAtDesc(UserEntity user);
 
+    @EntityGraph(NotificationEntity.WITH_USER_AND_TOPIC)
+    List<NotificationEntity> findAllByUserOrderByCreatedAtDesc(UserEntity user, Limit limit);
+
+    // Keyset variant of findAllByUserOrderByCreatedAtDesc. A null cursor returns the first page and since, when
+    // present, keeps only the notifications written after the updatedAt of the last one a poller saw: a coalesced event
+    // updates its row in place, so the id alone would not reveal it
+    @EntityGraph(NotificationEntity.WITH_USER_AND_TOPIC)
+    @Query("SELECT n FROM Notification n " +
+            "WHERE n.user = :user " +
+            "AND (:since IS NULL OR n.updatedAt > :since) " +
+            "AND (:cursorCreatedAt IS NULL OR n.createdAt < :cursorCreatedAt OR (n.createdAt = :cursorCreatedAt AND n.id < :cursorId)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationEntity> findByUserAfter(
+            UserEntity user,
+            @Param("since") LocalDateTime since,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Limit limit
+    );
+
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.isRead = false")
+    long countUnreadByUserId(@Param("userId") Long userId);
+
+    // Bulk operations of PATCH /api/notify/read and DELETE /api/notify: one statement each, always scoped to the user.
+    // The "UpTo" variants take a listing cursor and include that notification and every older one. The persistence
+    // context is cleared so no notification loaded before the statement is read with its old state
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true, n.unreadKey = NULL WHERE n.user.id = :userId AND n.isRead = false")
+    int markAllAsReadByUserId(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true, n.unreadKey = NULL WHERE n.user.id = :userId AND n.isRead = false AND n.id IN :ids")
+    int markAsReadByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true, n.unreadKey = NULL WHERE n.user.id = :userId AND n.isRead = false " +
+            "AND (n.createdAt < :cursorCreatedAt OR (n.createdAt = :cursorCreatedAt AND n.id <= :cursorId))")
+    int markAsReadByUserIdUpTo(@Param("userId") Long userId, @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt, @Param("cursorId") Long cursorId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Notification n WHERE n.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Notification n WHERE n.user.id = :userId AND n.id IN :ids")
+    int deleteByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Notification n WHERE n.user.id = :userId " +
+            "AND (n.createdAt < :cursorCreatedAt OR (n.createdAt = :cursorCreatedAt AND n.id <= :cursorId))")
+    int deleteByUserIdUpTo(@Param("userId") Long userId, @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt, @Param("cursorId") Long cursorId);
+
+    // Retention job: each statement deletes at most :limit rows, so the job runs as many short transactions
+    @Modifying
+    @Query(value = "DELETE FROM notifications WHERE is_read = true AND created_at < :cutoff LIMIT :limit", nativeQuery = true)
+    int deleteReadCreatedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Query(value = "SELECT user_id FROM notifications WHERE is_read = false GROUP BY user_id HAVING COUNT(*) > :cap", nativeQuery = true)
+    List<Long> findUserIdsWithUnreadOver(@Param("cap") int cap);
+
+    // Unread notifications of the user in listing order (created_at, which a coalesced event refreshes). Read with
+    // PageRequest.of(cap, 1) it returns the newest one beyond the cap: it and every older unread one are over the limit
+    @Query("SELECT new com.williammedina.forohub.infrastructure.pagination.Cursor(n.createdAt, n.id) FROM Notification n " +
+            "WHERE n.user.id = :userId AND n.isRead = false ORDER BY n.createdAt DESC, n.id DESC")
+    List<Cursor> findUnreadPositionsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Modifying
+    @Query(value = "DELETE FROM notifications WHERE user_id = :userId AND is_read = false " +
+            "AND (created_at < :createdAt OR (created_at = :createdAt AND id <= :id)) LIMIT :limit", nativeQuery = true)
+    int deleteUnreadUpTo(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, @Param("limit") int limit);
+
 }
@@ -1,17 +1,27 @@
 package com.williammedina.forohub.domain.notification.service;
 
+import com.williammedina.forohub.domain.notification.dto.BulkNotificationResultDTO;
 import com.williammedina.forohub.domain.notification.dto.NotificationDTO;
+import com.williammedina.forohub.domain.notification.dto.UnreadNotificationsDTO;
 import com.williammedina.forohub.domain.reply.entity.ReplyEntity;
 import com.williammedina.forohub.domain.topic.entity.TopicEntity;
 import com.williammedina.forohub.domain.user.entity.UserEntity;
+import com.williammedina.forohub.infrastructure.pagination.CursorPage;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface NotificationService {
 
     List<NotificationDTO> getAllNotificationsByUser();
+    CursorPage<NotificationDTO> getNotificationsByUserAfter(String after, LocalDateTime since, int size);
+    UnreadNotificationsDTO getUnreadCount();
+    SseEmitter streamNotifications();
     void deleteNotification(Long notifyId);
     NotificationDTO markNotificationAsRead(Long notifyId);
+    BulkNotificationResultDTO markNotificationsAsRead(Boolean all, List<Long> ids, String before);
+    BulkNotificationResultDTO deleteNotifications(Boolean all, List<Long> ids, String before);
     void notifyTopicReply(TopicEntity topic, UserEntity user);
     void notifyTopicSolved(TopicEntity topic);
     void notifyTopicEdited(TopicEntity topic);
@@ -1,21 +1,39 @@
 package com.williammedina.forohub.domain.notification.service;
 
+import com.williammedina.forohub.domain.notification.dto.BulkNotificationResultDTO;
 import com.williammedina.forohub.domain.notification.dto.NotificationDTO;
+import com.williammedina.forohub.domain.notification.dto.UnreadNotificationsDTO;
 import com.williammedina.forohub.domain.notification.entity.NotificationEntity;
 import com.williammedina.forohub.domain.notification.repository.NotificationRepository;
 import com.williammedina.forohub.domain.notification.service.finder.NotificationFinder;
 import com.williammedina.forohub.domain.notification.service.permission.NotificationPermissionService;
+import com.williammedina.forohub.domain.notification.service.renderer.NotificationRenderer;
+import com.williammedina.forohub.domain.notification.service.renderer.RenderedNotification;
+import com.williammedina.forohub.domain.notification.service.stream.NotificationCreatedEvent;
+import com.williammedina.forohub.domain.notification.service.stream.NotificationStream;
 import com.williammedina.forohub.domain.reply.entity.ReplyEntity;
 import com.williammedina.forohub.domain.topic.entity.TopicEntity;
-import com.williammedina.forohub.domain.topicfollow.entity.TopicFollowEntity;
+import com.williammedina.forohub.domain.topicfollow.dto.FollowerContact;
+import com.williammedina.forohub.domain.topicfollow.service.TopicFollowService;
 import com.williammedina.forohub.domain.user.entity.UserEntity;
 import com.williammedina.forohub.domain.user.service.context.AuthenticatedUserProvider;
+import com.williammedina.forohub.infrastructure.exception.AppException;
+import com.williammedina.forohub.infrastructure.pagination.Cursor;
+import com.williammedina.forohub.infrastructure.pagination.CursorPage;
+import com.williammedina.forohub.infrastructure.response.BatchResponse;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 @Slf4j
 @Service
@@ -26,13 +44,45 @@ public class NotificationServiceImpl implements NotificationService {
     private final NotificationRepository notificationRepository;
     private final NotificationFinder notificationFinder;
     private final NotificationPermissionService notificationPermissionService;
+    private final TopicFollowService topicFollowService;
+    private final NotificationStream notificationStream;
+    private final NotificationRenderer notificationRenderer;
+    private final ApplicationEventPublisher eventPublisher;
 
+    // Capped to the most recent notifications; older ones are reached through getNotificationsByUserAfter
     @Override
     @Transactional(readOnly = true)
     public List<NotificationDTO> getAllNotificationsByUser() {
         UserEntity user = authenticatedUserProvider.getAuthenticatedUser();
-        log.debug("Fetching all notifications for user ID: {}", user.getId());
-        return notificationRepository.findAllByUserOrderByCreatedAtDesc(user).stream().map(NotificationDTO::fromEntity).toList();
+        log.debug("Fetching latest notifications for user ID: {}", user.getId());
+        return notificationRepository.findAllByUserOrderByCreatedAtDesc(user, Limit.of(CursorPage.MAX_SIZE)).stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationDTO> getNotificationsByUserAfter(String after, LocalDateTime since, int size) {
+        UserEntity user = authenticatedUserProvider.getAuthenticatedUser();
+        log.debug("Fetching notifications after cursor for user ID: {} - since: {}", user.getId(), since);
+
+        Cursor cursor = Cursor.decode(after);
+        List<NotificationEntity> notifications = notificationRepository.findByUserAfter(user, since, cursor.timestamp(), cursor.id(), CursorPage.limitFor(size));
+        return CursorPage.of(notifications, size, this::toDTO, notification -> new Cursor(notification.getCreatedAt(), notification.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UnreadNotificationsDTO getUnreadCount() {
+        UserEntity user = authenticatedUserProvider.getAuthenticatedUser();
+        return new UnreadNotificationsDTO(notificationRepository.countUnreadByUserId(user.getId()));
+    }
+
+    @Override
+    public SseEmitter streamNotifications() {
+        UserEntity user = authenticatedUserProvider.getAuthenticatedUser();
+        log.debug("Opening notification stream for user ID: {}", user.getId());
+        return notificationStream.register(user.getId());
     }
 
     @Override
@@ -54,108 +104,154 @@ public class NotificationServiceImpl implements NotificationService {
         notification.markAsRead();
         log.debug("Notification ID: {} marked as read by user ID: {}", notifyId, authenticatedUserProvider.getAuthenticatedUser().getId());
 
-        return NotificationDTO.fromEntity(notification);
+        return toDTO(notification);
     }
 
     @Override
     @Transactional
-    public void notifyTopicReply(TopicEntity topic, UserEntity user) {
-        String title = "Nueva respuesta a tu tópico";
-        String message = "Tu tópico ha recibido una nueva respuesta. "
-                + user.getUsername() + " respondió al tópico '"
-                + topic.getTitle() + "' del curso: " + topic.getCourse().getName();
+    public BulkNotificationResultDTO markNotificationsAsRead(Boolean all, List<Long> ids, String before) {
+        UserEntity user = authenticatedUserProvider.getAuthenticatedUser();
+        int affected = applyToSelection(user.getId(), all, ids, before,
+                notificationRepository::markAllAsReadByUserId,
+                notificationRepository::markAsReadByUserIdAndIdIn,
+                (userId, cursor) -> notificationRepository.markAsReadByUserIdUpTo(userId, cursor.timestamp(), cursor.id())
+        );
+        log.info("{} notifications marked as read by user ID: {}", affected, user.getId());
+        return new BulkNotificationResultDTO(affected, notificationRepository.countUnreadByUserId(user.getId()));
+    }
+
+    @Override
+    @Transactional
+    public BulkNotificationResultDTO deleteNotifications(Boolean all, List<Long> ids, String before) {
+        UserEntity user = authenticatedUserProvider.getAuthenticatedUser();
+        int affected = applyToSelection(user.getId(), all, ids, before,
+                notificationRepository::deleteAllByUserId,
+                notificationRepository::deleteByUserIdAndIdIn,
+                (userId, cursor) -> notificationRepository.deleteByUserIdUpTo(userId, cursor.timestamp(), cursor.id())
+        );
+        log.info("{} notifications deleted by user ID: {}", affected, user.getId());
+        return new BulkNotificationResultDTO(affected, notificationRepository.countUnreadByUserId(user.getId()));
+    }
+
+    // Exactly one selection is accepted: every notification of the user, a list of IDs, or a listing cursor
+    // (that notification and all older ones). Each runs as a single statement scoped to the user, so notifications
+    // of other users are ignored instead of rejected one by one
+    private int applyToSelection(
+            Long userId,
+            Boolean all,
+            List<Long> ids,
+            String before,
+            Function<Long, Integer> onAll,
+            BiFunction<Long, List<Long>, Integer> onIds,
+            BiFunction<Long, Cursor, Integer> onBefore
+    ) {
+        boolean hasBefore = before != null && !before.isBlank();
+        int selections = (Boolean.TRUE.equals(all) ? 1 : 0) + (ids != null ? 1 : 0) + (hasBefore ? 1 : 0);
+        if (selections != 1) {
+            throw new AppException("Debes indicar una sola de las opciones: 'all', 'ids' o 'before'.", HttpStatus.BAD_REQUEST);
+        }
 
-        createNotification(topic.getUser(), topic, null, title, message, NotificationEntity.Type.TOPIC, NotificationEntity.Subtype.REPLY);
+        if (Boolean.TRUE.equals(all)) {
+            return onAll.apply(userId);
+        }
+        if (ids != null) {
+            return onIds.apply(userId, BatchResponse.requestedIds(ids));
+        }
+        return onBefore.apply(userId, Cursor.decode(before));
+    }
+
+    @Override
+    @Transactional
+    public void notifyTopicReply(TopicEntity topic, UserEntity user) {
+        createNotification(topic.getUser(), topic, null, user, NotificationEntity.Template.TOPIC_REPLY);
         log.debug("Reply notification created for topic ID: {} to user ID: {}", topic.getId(), topic.getUser().getId());
     }
 
     @Override
     @Transactional
     public void notifyTopicSolved(TopicEntity topic) {
-        String title = "Tu tópico ha sido marcado como solucionado";
-        String message = "Tu tópico '" + topic.getTitle() + "' del curso: " + topic.getCourse().getName() + " ha sido marcado como solucionado.";
-
-        createNotification(topic.getUser(), topic, null, title, message, NotificationEntity.Type.TOPIC, NotificationEntity.Subtype.SOLVED);
+        createNotification(topic.getUser(), topic, null, null, NotificationEntity.Template.TOPIC_SOLVED);
         log.debug("Topic solved notification created for topic ID: {} to user ID: {}", topic.getId(), topic.getUser().getId());
     }
 
     @Override
     @Transactional
     public void notifyTopicEdited(TopicEntity topic) {
-        String title = "Tu tópico ha sido editado";
-        String message = "Se ha realizado cambios en tu tópico titulado '" + topic.getTitle() + "' del curso: " + topic.getCourse().getName() + ". Puedes revisar los detalles haciendo clic en el siguiente botón.";
-
-        createNotification(topic.getUser(), topic, null, title, message, NotificationEntity.Type.TOPIC, NotificationEntity.Subtype.EDITED);
+        createNotification(topic.getUser(), topic, null, null, NotificationEntity.Template.TOPIC_EDITED);
         log.debug("Topic edited notification created for topic ID: {} to user ID: {}", topic.getId(), topic.getUser().getId());
     }
 
+    // Keeps the topic (it is soft-deleted) to render its title; NotificationDTO hides its ID
     @Override
     @Transactional
     public void notifyTopicDeleted(TopicEntity topic) {
-        String title = "Tu tópico ha sido eliminado";
-        String message = "Lamentamos informarte que tu tópico titulado '" + topic.getTitle() + "' del curso: " + topic.getCourse().getName() + " ha sido eliminado. Si tienes alguna pregunta, por favor contacta a nuestro equipo de soporte.";
-
-        createNotification(topic.getUser(), null, null, title, message, NotificationEntity.Type.TOPIC, NotificationEntity.Subtype.DELETED);
+        createNotification(topic.getUser(), topic, null, null, NotificationEntity.Template.TOPIC_DELETED);
         log.debug("Topic deleted notification created for user ID: {} for deleted topic ID: {}", topic.getUser().getId(), topic.getId());
     }
 
     @Override
     @Transactional
     public void notifyReplySolved(ReplyEntity reply, TopicEntity topic) {
-        String title = "Tu respuesta ha sido marcada como solución";
-        String message = "Tu respuesta en el tópico '" + reply.getTopic().getTitle() + "' del curso: " + topic.getCourse().getName() + " ha sido marcada como solución.";
-
-        createNotification(reply.getUser(), topic, reply, title, message, NotificationEntity.Type.REPLY, NotificationEntity.Subtype.SOLVED);
+        createNotification(reply.getUser(), topic, reply, null, NotificationEntity.Template.REPLY_SOLVED);
         log.debug("Reply solved notification created for user ID: {}", reply.getUser().getId());
     }
 
     @Override
     @Transactional
     public void notifyReplyEdited(ReplyEntity reply) {
-        String title = "Tu respuesta ha sido editada";
-        String message = "Se han realizado cambios en tu respuesta del tópico '" + reply.getTopic().getTitle() + "' del curso: " + reply.getTopic().getCourse().getName() + ". Puedes revisar los detalles haciendo clic en el siguiente botón.";
-
-        createNotification(reply.getUser(), reply.getTopic(), reply, title, message, NotificationEntity.Type.REPLY, NotificationEntity.Subtype.EDITED);
+        createNotification(reply.getUser(), reply.getTopic(), reply, null, NotificationEntity.Template.REPLY_EDITED);
         log.debug("Reply edited notification created for user ID: {}", reply.getUser().getId());
     }
 
     @Override
     @Transactional
     public void notifyReplyDeleted(ReplyEntity reply) {
-        String title = "Tu respuesta ha sido eliminada";
-        String message = "Lamentamos informarte que tu respuesta del tópico '" + reply.getTopic().getTitle() + "' del curso: " + reply.getTopic().getCourse().getName() + " ha sido eliminada. Si tienes alguna pregunta, por favor contacta a nuestro equipo de soporte.";
-
-        createNotification(reply.getUser(), reply.getTopic(), null, title, message, NotificationEntity.Type.REPLY, NotificationEntity.Subtype.DELETED);
+        createNotification(reply.getUser(), reply.getTopic(), null, null, NotificationEntity.Template.REPLY_DELETED);
         log.debug("Reply deleted notification created for user ID: {}", reply.getUser().getId());
     }
 
     @Override
     @Transactional
     public void notifyFollowersTopicReply(TopicEntity topic, UserEntity user) {
-        String title = "Nueva respuesta en un tópico que sigues";
-        String message = "Se ha añadido una nueva respuesta al tópico '" + topic.getTitle() + "' del curso: " + topic.getCourse().getName() + " que sigues.";
-
-        for (TopicFollowEntity follower : topic.getFollowedTopics()) {
-            if (!follower.getUser().getUsername().equals(user.getUsername())) {
-                createNotification(follower.getUser(), topic, null, title, message, NotificationEntity.Type.TOPIC, NotificationEntity.Subtype.REPLY);
-            }
-        }
+        notifyFollowers(topic, user, NotificationEntity.Template.FOLLOWED_TOPIC_REPLY);
     }
 
     @Override
     @Transactional
     public void notifyFollowersTopicSolved(TopicEntity topic)  {
-        String title = "Un tópico que sigues ha sido marcado como solucionado";
-        String message = "El tópico '" + topic.getTitle() + "' del curso: " + topic.getCourse().getName() + " que sigues ha sido marcado como solucionado.";
+        notifyFollowers(topic, null, NotificationEntity.Template.FOLLOWED_TOPIC_SOLVED);
+    }
 
-        for (TopicFollowEntity follower : topic.getFollowedTopics()) {
-            createNotification(follower.getUser(), topic, null, title, message, NotificationEntity.Type.TOPIC, NotificationEntity.Subtype.SOLVED);
-        }
+    // Followers are read in keyset chunks and each chunk is written with one batched upsert. The topic owner gets its
+    // own notification, so it is skipped here: both would coalesce into one row and count the event twice
+    private void notifyFollowers(TopicEntity topic, UserEntity actor, NotificationEntity.Template template) {
+        Long actorId = actor != null ? actor.getId() : null;
+        List<Long> excludedUserIds = actorId != null ? List.of(topic.getUser().getId(), actorId) : List.of(topic.getUser().getId());
+        RenderedNotification text = notificationRenderer.render(template, topic, actor);
+        NotificationDTO notification = new NotificationDTO(null, null, topic.getId(), template.getType(), template.getSubtype(), text.title(), text.message(), false, null, actor != null ? actor.getUsername() : null, LocalDateTime.now(), null);
+        topicFollowService.forEachFollowerChunk(topic.getId(), excludedUserIds, followers -> {
+            List<Long> userIds = followers.stream().map(FollowerContact::userId).toList();
+            notificationRepository.upsertUnreadForUsers(userIds, topic.getId(), null, actorId, template);
+            eventPublisher.publishEvent(new NotificationCreatedEvent(userIds, notification));
+        });
+        log.debug("Follower notifications ({}) created for topic ID: {}", template, topic.getId());
+    }
+
+    // Written as an upsert, so a repeated event coalesces into the user's unread notification for the same topic
+    private void createNotification(UserEntity user, TopicEntity topic, ReplyEntity response, UserEntity actor, NotificationEntity.Template template) {
+        Long notificationId = notificationRepository.upsertUnread(
+                user.getId(),
+                topic != null ? topic.getId() : null,
+                response != null ? response.getId() : null,
+                actor != null ? actor.getId() : null,
+                template
+        );
+        NotificationEntity notification = notificationFinder.findNotificationById(notificationId);
+        eventPublisher.publishEvent(new NotificationCreatedEvent(List.of(user.getId()), toDTO(notification)));
     }
 
-    private void createNotification(UserEntity user, TopicEntity topic, ReplyEntity response, String title, String message, NotificationEntity.Type type, NotificationEntity.Subtype subtype) {
-        NotificationEntity notification = new NotificationEntity(user, topic, response, title, message, type, subtype);
-        notificationRepository.save(notification);
+    private NotificationDTO toDTO(NotificationEntity notification) {
+        return NotificationDTO.fromEntity(notification, notificationRenderer.render(notification));
     }
 
 }
@@ -0,0 +1,12 @@
+package com.williammedina.forohub.domain.notification.service.renderer;
+
+import com.williammedina.forohub.domain.notification.entity.NotificationEntity;
+import com.williammedina.forohub.domain.topic.entity.TopicEntity;
+import com.williammedina.forohub.domain.user.entity.UserEntity;
+
+public interface NotificationRenderer {
+
+    RenderedNotification render(NotificationEntity notification);
+    RenderedNotification render(NotificationEntity.Template template, TopicEntity topic, UserEntity actor);
+
+}
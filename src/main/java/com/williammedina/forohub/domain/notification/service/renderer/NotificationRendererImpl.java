@@ -0,0 +1,94 @@
+package com.williammedina.forohub.domain.notification.service.renderer;
+
+import com.williammedina.forohub.domain.notification.entity.NotificationEntity;
+import com.williammedina.forohub.domain.topic.entity.TopicEntity;
+import com.williammedina.forohub.domain.user.entity.UserEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Renders notifications from the texts in i18n/notifications.properties. Every text is parsed once at startup into
+ * literal and placeholder parts, so rendering a listing only appends strings; a missing key fails the startup instead
+ * of a read. Notifications stored before templates existed keep the title and message they were created with.
+ */
+@Service
+public class NotificationRendererImpl implements NotificationRenderer {
+
+    private static final String BUNDLE = "i18n/notifications";
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{(topic|course|actor)}");
+
+    private final Map<NotificationEntity.Template, CompiledText> titles = new EnumMap<>(NotificationEntity.Template.class);
+    private final Map<NotificationEntity.Template, CompiledText> messages = new EnumMap<>(NotificationEntity.Template.class);
+
+    public NotificationRendererImpl() {
+        ResourceBundle bundle = ResourceBundle.getBundle(BUNDLE, Locale.ROOT);
+        for (NotificationEntity.Template template : NotificationEntity.Template.values()) {
+            titles.put(template, CompiledText.compile(bundle.getString(template.name() + ".title")));
+            messages.put(template, CompiledText.compile(bundle.getString(template.name() + ".message")));
+        }
+    }
+
+    @Override
+    public RenderedNotification render(NotificationEntity notification) {
+        if (notification.getTemplate() == null) {
+            return new RenderedNotification(notification.getTitle(), notification.getMessage());
+        }
+        return render(notification.getTemplate(), notification.getTopic(), notification.getLastActor());
+    }
+
+    @Override
+    public RenderedNotification render(NotificationEntity.Template template, TopicEntity topic, UserEntity actor) {
+        Values values = new Values(
+                topic != null ? topic.getTitle() : "",
+                topic != null ? topic.getCourse().getName() : "",
+                actor != null ? actor.getUsername() : ""
+        );
+        return new RenderedNotification(titles.get(template).render(values), messages.get(template).render(values));
+    }
+
+    private record Values(String topic, String course, String actor) {
+    }
+
+    private record CompiledText(List<Function<Values, String>> parts) {
+
+        static CompiledText compile(String text) {
+            List<Function<Values, String>> parts = new ArrayList<>();
+            Matcher matcher = PLACEHOLDER.matcher(text);
+            int start = 0;
+            while (matcher.find()) {
+                if (matcher.start() > start) {
+                    String literal = text.substring(start, matcher.start());
+                    parts.add(values -> literal);
+                }
+                parts.add(switch (matcher.group(1)) {
+                    case "topic" -> Values::topic;
+                    case "course" -> Values::course;
+                    default -> Values::actor;
+                });
+                start = matcher.end();
+            }
+            if (start < text.length()) {
+                String literal = text.substring(start);
+                parts.add(values -> literal);
+            }
+            return new CompiledText(List.copyOf(parts));
+        }
+
+        String render(Values values) {
+            StringBuilder builder = new StringBuilder();
+            for (Function<Values, String> part : parts) {
+                builder.append(part.apply(values));
+            }
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.williammedina.forohub.domain.notification.service.renderer;
+
+public record RenderedNotification(String title, String message) {
+}
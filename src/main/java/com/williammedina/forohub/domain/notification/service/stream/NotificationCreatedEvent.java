@@ -0,0 +1,16 @@
+package com.williammedina.forohub.domain.notification.service.stream;
+
+import com.williammedina.forohub.domain.notification.dto.NotificationDTO;
+
+import java.util.List;
+
+/**
+ * Published when notifications are written; pushed to the recipients' open streams once the transaction commits.
+ * Follower notifications are inserted in batches without reading back their IDs, so their notification has no id:
+ * clients resynchronize with GET /api/notify?since=.
+ */
+public record NotificationCreatedEvent(
+        List<Long> userIds,
+        NotificationDTO notification
+) {
+}
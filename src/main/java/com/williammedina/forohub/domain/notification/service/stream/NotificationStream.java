@@ -0,0 +1,10 @@
+package com.williammedina.forohub.domain.notification.service.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface NotificationStream {
+
+    SseEmitter register(Long userId);
+    void publish(NotificationCreatedEvent event);
+
+}
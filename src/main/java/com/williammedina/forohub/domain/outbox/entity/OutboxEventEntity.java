@@ -0,0 +1,84 @@
+package com.williammedina.forohub.domain.outbox.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity(name = "OutboxEvent")
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode(of = "id")
+public class OutboxEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private Type type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Channel channel;
+
+    @Column(name = "topic_id")
+    private Long topicId;
+
+    @Column(name = "reply_id")
+    private Long replyId;
+
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    @Column(name = "idempotency_key", nullable = false, updatable = false)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    // One value per NotificationService/EmailService notification method
+    public enum Type {
+        TOPIC_REPLY,
+        TOPIC_SOLVED,
+        TOPIC_EDITED,
+        TOPIC_DELETED,
+        REPLY_SOLVED,
+        REPLY_EDITED,
+        REPLY_DELETED,
+        FOLLOWERS_TOPIC_REPLY,
+        FOLLOWERS_TOPIC_SOLVED
+    }
+
+    public enum Channel {
+        NOTIFICATION,
+        EMAIL
+    }
+
+    public enum Status {
+        PENDING,
+        PROCESSED,
+        FAILED
+    }
+}
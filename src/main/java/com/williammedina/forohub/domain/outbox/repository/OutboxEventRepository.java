@@ -0,0 +1,65 @@
+package com.williammedina.forohub.domain.outbox.repository;
+
+import com.williammedina.forohub.domain.outbox.entity.OutboxEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    String PENDING = "com.williammedina.forohub.domain.outbox.entity.OutboxEventEntity.Status.PENDING";
+    String PROCESSED = "com.williammedina.forohub.domain.outbox.entity.OutboxEventEntity.Status.PROCESSED";
+    String FAILED = "com.williammedina.forohub.domain.outbox.entity.OutboxEventEntity.Status.FAILED";
+
+    // An event already recorded under the same key is left untouched instead of failing the caller's transaction
+    @Modifying
+    @Query(value = "INSERT INTO outbox_events (event_type, channel, topic_id, reply_id, actor_id, idempotency_key, status, attempts, available_at, created_at) " +
+            "VALUES (:type, :channel, :topicId, :replyId, :actorId, :idempotencyKey, 'PENDING', 0, :now, :now) " +
+            "ON DUPLICATE KEY UPDATE id = id", nativeQuery = true)
+    int enqueue(
+            @Param("type") String type,
+            @Param("channel") String channel,
+            @Param("topicId") Long topicId,
+            @Param("replyId") Long replyId,
+            @Param("actorId") Long actorId,
+            @Param("idempotencyKey") String idempotencyKey,
+            @Param("now") LocalDateTime now
+    );
+
+    // Rows locked by another worker are skipped instead of waited for, so several workers share the queue
+    @Query(value = "SELECT id FROM outbox_events " +
+            "WHERE status = 'PENDING' AND available_at <= :now " +
+            "ORDER BY id LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockDueEventIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Claims the events until leaseUntil: another worker only picks them up again if this one dies meanwhile.
+    // Clears the persistence context so the claimed events are reloaded with their new attempt number
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.availableAt = :leaseUntil WHERE e.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // Only matches the attempt that claimed the event, so a late worker whose lease expired cannot complete it twice
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = " + PROCESSED + ", e.processedAt = :now " +
+            "WHERE e.id = :id AND e.attempts = :attempts AND e.status = " + PENDING)
+    int markProcessed(@Param("id") Long id, @Param("attempts") Integer attempts, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.lastError = :error, e.availableAt = :retryAt, " +
+            "e.status = CASE WHEN e.attempts >= :maxAttempts THEN " + FAILED + " ELSE " + PENDING + " END " +
+            "WHERE e.id = :id AND e.attempts = :attempts AND e.status = " + PENDING)
+    int markFailed(
+            @Param("id") Long id,
+            @Param("attempts") Integer attempts,
+            @Param("error") String error,
+            @Param("retryAt") LocalDateTime retryAt,
+            @Param("maxAttempts") int maxAttempts
+    );
+
+}
@@ -0,0 +1,12 @@
+package com.williammedina.forohub.domain.outbox.service;
+
+import com.williammedina.forohub.domain.outbox.entity.OutboxEventEntity;
+import com.williammedina.forohub.domain.reply.entity.ReplyEntity;
+import com.williammedina.forohub.domain.topic.entity.TopicEntity;
+import com.williammedina.forohub.domain.user.entity.UserEntity;
+
+public interface OutboxService {
+
+    void enqueue(OutboxEventEntity.Type type, TopicEntity topic, ReplyEntity reply, UserEntity actor);
+
+}
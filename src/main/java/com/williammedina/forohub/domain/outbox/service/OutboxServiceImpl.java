@@ -0,0 +1,48 @@
+package com.williammedina.forohub.domain.outbox.service;
+
+import com.williammedina.forohub.domain.outbox.entity.OutboxEventEntity;
+import com.williammedina.forohub.domain.outbox.repository.OutboxEventRepository;
+import com.williammedina.forohub.domain.reply.entity.ReplyEntity;
+import com.williammedina.forohub.domain.topic.entity.TopicEntity;
+import com.williammedina.forohub.domain.user.entity.UserEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    // Must join the transaction of the change being announced: the event is committed or rolled back with it
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(OutboxEventEntity.Type type, TopicEntity topic, ReplyEntity reply, UserEntity actor) {
+        Long topicId = topic != null ? topic.getId() : null;
+        Long replyId = reply != null ? reply.getId() : null;
+        Long actorId = actor != null ? actor.getId() : null;
+        LocalDateTime now = LocalDateTime.now();
+
+        for (OutboxEventEntity.Channel channel : OutboxEventEntity.Channel.values()) {
+            outboxEventRepository.enqueue(type.name(), channel.name(), topicId, replyId, actorId, idempotencyKey(type, channel, topic, reply), now);
+        }
+        log.debug("Outbox event {} enqueued for topic ID: {} - reply ID: {}", type, topicId, replyId);
+    }
+
+    // The versions tell repeated events apart (each edit or solution toggle bumps one of them), while a retried
+    // write of the same change produces the same key and is recorded only once
+    private String idempotencyKey(OutboxEventEntity.Type type, OutboxEventEntity.Channel channel, TopicEntity topic, ReplyEntity reply) {
+        return String.join(":",
+                type.name(),
+                channel.name(),
+                topic != null ? topic.getId() + "v" + topic.getVersion() : "-",
+                reply != null ? reply.getId() + "v" + reply.getVersion() : "-"
+        );
+    }
+}
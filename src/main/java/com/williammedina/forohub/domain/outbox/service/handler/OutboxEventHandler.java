@@ -0,0 +1,10 @@
+package com.williammedina.forohub.domain.outbox.service.handler;
+
+import com.williammedina.forohub.domain.outbox.entity.OutboxEventEntity;
+
+public interface OutboxEventHandler {
+
+    void handleNotification(OutboxEventEntity event);
+    void handleEmail(OutboxEventEntity event);
+
+}
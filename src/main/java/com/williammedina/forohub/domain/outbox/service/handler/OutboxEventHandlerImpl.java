@@ -0,0 +1,106 @@
+package com.williammedina.forohub.domain.outbox.service.handler;
+
+import com.williammedina.forohub.domain.email.EmailService;
+import com.williammedina.forohub.domain.notification.service.NotificationService;
+import com.williammedina.forohub.domain.outbox.entity.OutboxEventEntity;
+import com.williammedina.forohub.domain.reply.entity.ReplyEntity;
+import com.williammedina.forohub.domain.reply.repository.ReplyRepository;
+import com.williammedina.forohub.domain.topic.entity.TopicEntity;
+import com.williammedina.forohub.domain.topic.repository.TopicRepository;
+import com.williammedina.forohub.domain.user.entity.UserEntity;
+import com.williammedina.forohub.domain.user.repository.UserRepository;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Replays an outbox event through NotificationService or EmailService. Topics and replies are loaded with findById,
+ * so events about deleted content are still delivered.
+ */
+@Service
+public class OutboxEventHandlerImpl implements OutboxEventHandler {
+
+    private final NotificationService notificationService;
+    private final EmailService emailService;
+    private final TopicRepository topicRepository;
+    private final ReplyRepository replyRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate loadTransaction;
+
+    public OutboxEventHandlerImpl(
+            NotificationService notificationService,
+            EmailService emailService,
+            TopicRepository topicRepository,
+            ReplyRepository replyRepository,
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.notificationService = notificationService;
+        this.emailService = emailService;
+        this.topicRepository = topicRepository;
+        this.replyRepository = replyRepository;
+        this.userRepository = userRepository;
+        // Deliberately not read-only: with replica routing a read-only transaction may go to a replica that has not
+        // applied the write that produced this event yet, and the email would be built from stale or missing rows
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    // Runs in the worker transaction that marks the event as processed, so each notification is written exactly once
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void handleNotification(OutboxEventEntity event) {
+        Subject subject = load(event);
+        switch (event.getType()) {
+            case TOPIC_REPLY -> notificationService.notifyTopicReply(subject.topic(), subject.actor());
+            case TOPIC_SOLVED -> notificationService.notifyTopicSolved(subject.topic());
+            case TOPIC_EDITED -> notificationService.notifyTopicEdited(subject.topic());
+            case TOPIC_DELETED -> notificationService.notifyTopicDeleted(subject.topic());
+            case REPLY_SOLVED -> notificationService.notifyReplySolved(subject.reply(), subject.topic());
+            case REPLY_EDITED -> notificationService.notifyReplyEdited(subject.reply());
+            case REPLY_DELETED -> notificationService.notifyReplyDeleted(subject.reply());
+            case FOLLOWERS_TOPIC_REPLY -> notificationService.notifyFollowersTopicReply(subject.topic(), subject.actor());
+            case FOLLOWERS_TOPIC_SOLVED -> notificationService.notifyFollowersTopicSolved(subject.topic());
+        }
+    }
+
+    // The entities are loaded in a short transaction on the primary and the emails are sent after it, with no connection held
+    @Override
+    public void handleEmail(OutboxEventEntity event) {
+        Subject subject = loadTransaction.execute(status -> load(event));
+        switch (event.getType()) {
+            case TOPIC_REPLY -> emailService.notifyTopicReply(subject.topic(), subject.actor());
+            case TOPIC_SOLVED -> emailService.notifyTopicSolved(subject.topic());
+            case TOPIC_EDITED -> emailService.notifyTopicEdited(subject.topic());
+            case TOPIC_DELETED -> emailService.notifyTopicDeleted(subject.topic());
+            case REPLY_SOLVED -> emailService.notifyReplySolved(subject.reply(), subject.topic());
+            case REPLY_EDITED -> emailService.notifyReplyEdited(subject.reply());
+            case REPLY_DELETED -> emailService.notifyReplyDeleted(subject.reply());
+            case FOLLOWERS_TOPIC_REPLY -> emailService.notifyFollowersTopicReply(subject.topic(), subject.actor());
+            case FOLLOWERS_TOPIC_SOLVED -> emailService.notifyFollowersTopicSolved(subject.topic());
+        }
+    }
+
+    // Initializes everything the notification and email texts read, so they also work outside the transaction
+    private Subject load(OutboxEventEntity event) {
+        ReplyEntity reply = event.getReplyId() != null ? replyRepository.findById(event.getReplyId()).orElse(null) : null;
+        TopicEntity topic = event.getTopicId() != null ? topicRepository.findById(event.getTopicId()).orElse(null) : null;
+        UserEntity actor = event.getActorId() != null ? userRepository.findById(event.getActorId()).orElse(null) : null;
+
+        if (reply != null) {
+            Hibernate.initialize(reply.getUser());
+            Hibernate.initialize(reply.getTopic());
+            Hibernate.initialize(reply.getTopic().getCourse());
+        }
+        if (topic != null) {
+            Hibernate.initialize(topic.getUser());
+            Hibernate.initialize(topic.getCourse());
+        }
+        return new Subject(topic, reply, actor);
+    }
+
+    private record Subject(TopicEntity topic, ReplyEntity reply, UserEntity actor) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.williammedina.forohub.domain.reply.dto;
+
+// A reply waiting for the moderation worker, with the version its verdict applies to
+public record PendingReply(
+        Long replyId,
+        Long version,
+        String content
+) {}
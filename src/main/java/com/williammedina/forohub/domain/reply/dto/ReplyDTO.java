@@ -2,6 +2,7 @@ package com.williammedina.forohub.domain.reply.dto;
 
 import com.williammedina.forohub.domain.reply.entity.ReplyEntity;
 import com.williammedina.forohub.domain.user.dto.UserDTO;
+import com.williammedina.forohub.domain.contentvalidation.ModerationStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.LocalDateTime;
@@ -28,7 +29,13 @@ public record ReplyDTO(
         LocalDateTime createdAt,
 
         @Schema(description = "Fecha de la última edición", example = "2025-07-01T08:30:00")
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+
+        @Schema(description = "Versión de la respuesta. Se envía en el encabezado If-Match al actualizarla", example = "3")
+        Long version,
+
+        @Schema(description = "Estado de moderación. Las respuestas pendientes o rechazadas solo las ve su autor", example = "PUBLISHED")
+        ModerationStatus moderationStatus
 ) {
         public static ReplyDTO fromEntity(ReplyEntity reply) {
 
@@ -45,7 +52,9 @@ public record ReplyDTO(
                         author,
                         reply.getSolution(),
                         reply.getCreatedAt(),
-                        reply.getUpdatedAt()
+                        reply.getUpdatedAt(),
+                        reply.getVersion(),
+                        reply.getModerationStatus()
                 );
         }
 }
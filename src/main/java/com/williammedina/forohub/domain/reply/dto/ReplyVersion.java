@@ -0,0 +1,12 @@
+package com.williammedina.forohub.domain.reply.dto;
+
+import java.time.LocalDateTime;
+
+// Everything ReplyDTO is built from, reduced to timestamps and the solution flag that can be read without loading the reply
+public record ReplyVersion(
+        Long replyId,
+        LocalDateTime updatedAt,
+        LocalDateTime authorUpdatedAt,
+        Boolean solution,
+        Long version
+) {}
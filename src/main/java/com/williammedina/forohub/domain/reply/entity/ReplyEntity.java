@@ -1,17 +1,35 @@
 package com.williammedina.forohub.domain.reply.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.williammedina.forohub.domain.contentvalidation.ModerationStatus;
 import com.williammedina.forohub.domain.topic.entity.TopicEntity;
 import com.williammedina.forohub.domain.user.entity.UserEntity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Formula;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity(name = "Reply")
 @Table(name = "replies")
+@NamedEntityGraph(
+        name = ReplyEntity.WITH_AUTHOR,
+        attributeNodes = @NamedAttributeNode(value = "user", subgraph = "author"),
+        subgraphs = @NamedSubgraph(name = "author", attributeNodes = @NamedAttributeNode("profile"))
+)
+@NamedEntityGraph(
+        name = ReplyEntity.WITH_AUTHOR_AND_TOPIC,
+        attributeNodes = {
+                @NamedAttributeNode(value = "user", subgraph = "author"),
+                @NamedAttributeNode(value = "topic", subgraph = "topic")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "author", attributeNodes = @NamedAttributeNode("profile")),
+                @NamedSubgraph(name = "topic", attributeNodes = { @NamedAttributeNode("user"), @NamedAttributeNode("course") })
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,16 +38,19 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode(of = "id")
 public class ReplyEntity {
 
+    public static final String WITH_AUTHOR = "Reply.withAuthor";
+    public static final String WITH_AUTHOR_AND_TOPIC = "Reply.withAuthorAndTopic";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     @JsonIgnore
     private UserEntity user;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "topic_id", nullable = false)
     @JsonIgnore
     private TopicEntity topic;
@@ -37,7 +58,8 @@ public class ReplyEntity {
     @Column(nullable = false)
     private String content;
 
-    @Column(nullable = false)
+    // Derived from topics.solution_reply_id (see TopicRepository#markSolution); a primary key lookup per row
+    @Formula("EXISTS (SELECT 1 FROM topics t WHERE t.id = topic_id AND t.solution_reply_id = id)")
     private Boolean solution = false;
 
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -51,12 +73,24 @@ public class ReplyEntity {
     @Column(nullable = false)
     private Boolean isDeleted = false;
 
+    @Version
+    @Column(nullable = false)
+    private Long version = 0L;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "moderation_status", nullable = false)
+    private ModerationStatus moderationStatus = ModerationStatus.PUBLISHED;
+
     public ReplyEntity(UserEntity user, TopicEntity topic, String content) {
         this.user = user;
         this.topic = topic;
         this.content = content;
     }
 
+    public boolean isPublished() {
+        return this.moderationStatus == ModerationStatus.PUBLISHED;
+    }
+
     public void markAsDeleted() {
         this.isDeleted = true;
     }
@@ -1,29 +1,109 @@
 package com.williammedina.forohub.domain.reply.repository;
 
+import com.williammedina.forohub.domain.contentvalidation.ModerationStatus;
+import com.williammedina.forohub.domain.reply.dto.PendingReply;
+import com.williammedina.forohub.domain.reply.dto.ReplyVersion;
 import com.williammedina.forohub.domain.reply.entity.ReplyEntity;
 import com.williammedina.forohub.domain.user.entity.UserEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 
 public interface ReplyRepository extends JpaRepository<ReplyEntity, Long> {
 
+    String PUBLISHED = "com.williammedina.forohub.domain.contentvalidation.ModerationStatus.PUBLISHED";
+    String PENDING = "com.williammedina.forohub.domain.contentvalidation.ModerationStatus.PENDING";
+
     @Query("SELECT r FROM Reply r WHERE r.topic.isDeleted = false AND r.isDeleted = false AND r.topic.id = :topicId")
     List<ReplyEntity> findByTopicId(@Param("topicId") Long topicId);
 
     //@Query("SELECT r FROM Reply r WHERE r.user = :user ORDER BY r.createdAt DESC")
+    @EntityGraph(ReplyEntity.WITH_AUTHOR)
     @Query("SELECT r FROM Reply r WHERE r.user = :user AND r.topic.isDeleted = false AND r.isDeleted = false ORDER BY r.createdAt DESC")
     Page<ReplyEntity> findByUserSortedByCreationDate(UserEntity user, Pageable pageable);
 
+    // Keyset variant of findByUserSortedByCreationDate. A null cursor returns the first page
+    @EntityGraph(ReplyEntity.WITH_AUTHOR)
+    @Query("SELECT r FROM Reply r " +
+            "WHERE r.user = :user " +
+            "AND r.topic.isDeleted = false " +
+            "AND r.isDeleted = false " +
+            "AND (:cursorCreatedAt IS NULL OR r.createdAt < :cursorCreatedAt OR (r.createdAt = :cursorCreatedAt AND r.id < :cursorId)) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReplyEntity> findByUserAfter(
+            UserEntity user,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Limit limit
+    );
+
+    // Replies of a topic in creation order, oldest first. The solution is excluded because it is pinned on the first page
+    @EntityGraph(ReplyEntity.WITH_AUTHOR)
+    @Query("SELECT r FROM Reply r " +
+            "WHERE r.topic.id = :topicId " +
+            "AND r.isDeleted = false " +
+            "AND r.moderationStatus = " + PUBLISHED + " " +
+            "AND (:solutionReplyId IS NULL OR r.id <> :solutionReplyId) " +
+            "AND (:cursorCreatedAt IS NULL OR r.createdAt > :cursorCreatedAt OR (r.createdAt = :cursorCreatedAt AND r.id > :cursorId)) " +
+            "ORDER BY r.createdAt ASC, r.id ASC")
+    List<ReplyEntity> findByTopicAfter(
+            @Param("topicId") Long topicId,
+            @Param("solutionReplyId") Long solutionReplyId,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Limit limit
+    );
+
     @Query("SELECT COUNT(r) FROM Reply r WHERE r.user.id = :id AND r.topic.isDeleted = false AND r.isDeleted = false")
     long countByUserId(@Param("id") Long id);
 
+    // Version of the reply for conditional GETs. Applies the visibility of ReplyPermissionService.checkCanView, so an
+    // unpublished reply is not found instead of answering 304
+    @Query("SELECT new com.williammedina.forohub.domain.reply.dto.ReplyVersion(r.id, r.updatedAt, u.updatedAt, " +
+            "CASE WHEN t.solutionReplyId = r.id THEN true ELSE false END, r.version) " +
+            "FROM Reply r JOIN r.user u JOIN r.topic t WHERE r.id = :replyId AND t.isDeleted = false AND r.isDeleted = false " +
+            "AND (r.moderationStatus = " + PUBLISHED + " OR u.id = :viewerId OR :elevated = true)")
+    Optional<ReplyVersion> findVisibleVersionById(
+            @Param("replyId") Long replyId,
+            @Param("viewerId") Long viewerId,
+            @Param("elevated") boolean elevated
+    );
+
+    // Batch lookup (GET /api/reply?ids=). Unpublished replies are only returned to their author and to moderators
+    @EntityGraph(ReplyEntity.WITH_AUTHOR)
+    @Query("SELECT r FROM Reply r " +
+            "WHERE r.id IN :replyIds " +
+            "AND r.topic.isDeleted = false " +
+            "AND r.isDeleted = false " +
+            "AND (r.moderationStatus = " + PUBLISHED + " OR r.user.id = :viewerId OR :elevated = true)")
+    List<ReplyEntity> findVisibleByIdIn(
+            @Param("replyIds") Collection<Long> replyIds,
+            @Param("viewerId") Long viewerId,
+            @Param("elevated") boolean elevated
+    );
+
+    @EntityGraph(ReplyEntity.WITH_AUTHOR_AND_TOPIC)
     @Query("SELECT r FROM Reply r WHERE r.id = :replyId AND r.topic.isDeleted = false AND r.isDeleted = false")
     Optional<ReplyEntity> findByIdAndIsDeletedFalse(@Param("replyId") Long replyId);
+
+    // Moderation worker (content.moderation.mode=async), see TopicRepository#findPendingModeration
+    @Query("SELECT new com.williammedina.forohub.domain.reply.dto.PendingReply(r.id, r.version, r.content) " +
+            "FROM Reply r WHERE r.moderationStatus = " + PENDING + " AND r.isDeleted = false ORDER BY r.id")
+    List<PendingReply> findPendingModeration(Limit limit);
+
+    @Modifying
+    @Query("UPDATE Reply r SET r.moderationStatus = :result, r.version = r.version + 1 " +
+            "WHERE r.id = :replyId AND r.version = :version AND r.moderationStatus = " + PENDING)
+    int applyModeration(@Param("replyId") Long replyId, @Param("version") Long version, @Param("result") ModerationStatus result);
 }
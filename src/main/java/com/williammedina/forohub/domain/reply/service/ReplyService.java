@@ -1,20 +1,31 @@
 package com.williammedina.forohub.domain.reply.service;
 
+import com.williammedina.forohub.domain.contentvalidation.ModerationStatus;
 import com.williammedina.forohub.domain.reply.dto.CreateReplyDTO;
 import com.williammedina.forohub.domain.reply.dto.ReplyDTO;
 import com.williammedina.forohub.domain.reply.dto.UpdateReplyDTO;
+import com.williammedina.forohub.infrastructure.pagination.CursorPage;
+import com.williammedina.forohub.infrastructure.response.BatchResponse;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+import java.util.Set;
+
 
 public interface ReplyService {
 
     ReplyDTO createReply(@Valid CreateReplyDTO replyRequest);
     Page<ReplyDTO> getAllRepliesByUser(Pageable pageable);
-    ReplyDTO updateReply(@Valid UpdateReplyDTO replyRequest, Long replyId);
+    CursorPage<ReplyDTO> getAllRepliesByUserAfter(String after, int size);
+    CursorPage<ReplyDTO> getRepliesByTopic(Long topicId, String after, int size);
+    ReplyDTO updateReply(@Valid UpdateReplyDTO replyRequest, Long replyId, Set<Long> expectedVersions);
     void deleteReply(Long replyId);
     ReplyDTO getReplyById(Long replyId);
+    BatchResponse<ReplyDTO> getRepliesByIds(List<Long> replyIds);
+    String getReplyETag(Long replyId);
     ReplyDTO setCorrectReply(Long replyId);
+    void applyModerationResult(Long replyId, Long version, ModerationStatus result);
 
 }
@@ -1,5 +1,8 @@
 package com.williammedina.forohub.domain.reply.service;
 
+import com.williammedina.forohub.domain.contentvalidation.ContentModerationPolicy;
+import com.williammedina.forohub.domain.contentvalidation.ModerationStatus;
+import com.williammedina.forohub.domain.reply.dto.ReplyVersion;
 import com.williammedina.forohub.domain.reply.entity.ReplyEntity;
 import com.williammedina.forohub.domain.reply.repository.ReplyRepository;
 import com.williammedina.forohub.domain.reply.service.finder.ReplyFinder;
@@ -7,21 +10,35 @@ import com.williammedina.forohub.domain.reply.service.notifier.ReplyNotifier;
 import com.williammedina.forohub.domain.reply.service.permission.ReplyPermissionService;
 import com.williammedina.forohub.domain.reply.service.validator.ReplyValidator;
 import com.williammedina.forohub.domain.topic.entity.TopicEntity;
+import com.williammedina.forohub.domain.topic.repository.TopicRepository;
+import com.williammedina.forohub.domain.topic.service.cache.TopicListingChangedEvent;
 import com.williammedina.forohub.domain.reply.dto.CreateReplyDTO;
 import com.williammedina.forohub.domain.reply.dto.ReplyDTO;
 import com.williammedina.forohub.domain.reply.dto.UpdateReplyDTO;
 import com.williammedina.forohub.domain.topic.service.finder.TopicFinderImpl;
 import com.williammedina.forohub.domain.user.entity.UserEntity;
 import com.williammedina.forohub.domain.user.service.context.AuthenticatedUserProvider;
+import com.williammedina.forohub.infrastructure.exception.AppException;
+import com.williammedina.forohub.infrastructure.exception.VersionConflictException;
+import com.williammedina.forohub.infrastructure.pagination.Cursor;
+import com.williammedina.forohub.infrastructure.pagination.CursorPage;
+import com.williammedina.forohub.infrastructure.response.BatchResponse;
+import com.williammedina.forohub.infrastructure.response.ETags;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -30,30 +47,50 @@ public class ReplyServiceImpl implements ReplyService {
 
     private final AuthenticatedUserProvider authenticatedUserProvider;
     private final ReplyRepository replyRepository;
+    private final TopicRepository topicRepository;
     private final ReplyFinder replyFinder;
     private final TopicFinderImpl topicFinder;
     private final ReplyPermissionService replyPermissionService;
     private final ReplyValidator validator;
     private final ReplyNotifier notifier;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContentModerationPolicy moderationPolicy;
+    private final TransactionTemplate transactionTemplate;
 
 
+    // Not transactional: the AI moderation runs before the write transaction is opened, so no connection is held
+    // while waiting for the AI
     @Override
-    @Transactional
     public ReplyDTO createReply(CreateReplyDTO replyRequest) {
         UserEntity currentUser = authenticatedUserProvider.getAuthenticatedUser();
-        TopicEntity topic = topicFinder.findTopicById(replyRequest.topicId());
-        log.info("User ID: {} creating reply for topic ID: {}", currentUser.getId(), topic.getId());
+        validator.ensureTopicIsOpen(topicFinder.findTopicById(replyRequest.topicId()));
+        ModerationStatus moderationStatus = moderationPolicy.moderateNewContent(
+                () -> validator.ensureReplyContentIsValid(replyRequest.content()) // Validate the reply content using AI
+        );
 
-        validator.ensureTopicIsOpen(topic);
-        validator.ensureReplyContentIsValid(replyRequest.content()); // Validate the reply content using AI
+        return transactionTemplate.execute(transaction -> {
+            TopicEntity topic = topicFinder.findTopicById(replyRequest.topicId());
+            log.info("User ID: {} creating reply for topic ID: {}", currentUser.getId(), topic.getId());
+            validator.ensureTopicIsOpen(topic); // Checked again, the topic may have been closed during the moderation
 
-        ReplyEntity newReply = replyRepository.save(new ReplyEntity(currentUser, topic, replyRequest.content()));
-        log.info("Reply created with ID: {} by user ID: {}", newReply.getId(), currentUser.getId());
+            ReplyEntity reply = new ReplyEntity(currentUser, topic, replyRequest.content());
+            reply.setModerationStatus(moderationStatus);
+            ReplyEntity newReply = replyRepository.save(reply);
+            log.info("Reply created with ID: {} by user ID: {} - moderation: {}", newReply.getId(), currentUser.getId(), moderationStatus);
 
-        Hibernate.initialize(topic.getFollowedTopics());
-        notifier.notifyNewReply(topic, currentUser);
+            if (newReply.isPublished()) {
+                publishReply(newReply);
+            }
+            return ReplyDTO.fromEntity(newReply);
+        });
+    }
 
-        return ReplyDTO.fromEntity(newReply);
+    // Counted and announced only once published, so pending replies never show up in the topic
+    private void publishReply(ReplyEntity reply) {
+        Long topicId = reply.getTopic().getId();
+        topicRepository.incrementRepliesCount(topicId);
+        eventPublisher.publishEvent(TopicListingChangedEvent.contentChanged(topicId));
+        notifier.notifyNewReply(reply, reply.getUser());
     }
 
     @Override
@@ -65,18 +102,70 @@ public class ReplyServiceImpl implements ReplyService {
     }
 
     @Override
-    @Transactional
-    public ReplyDTO updateReply(UpdateReplyDTO replyRequest, Long replyId) {
+    @Transactional(readOnly = true)
+    public CursorPage<ReplyDTO> getAllRepliesByUserAfter(String after, int size) {
+        UserEntity currentUser = authenticatedUserProvider.getAuthenticatedUser();
+        log.debug("Fetching replies after cursor for user ID: {}", currentUser.getId());
+
+        Cursor cursor = Cursor.decode(after);
+        List<ReplyEntity> replies = replyRepository.findByUserAfter(currentUser, cursor.timestamp(), cursor.id(), CursorPage.limitFor(size));
+        return CursorPage.of(replies, size, ReplyDTO::fromEntity, reply -> new Cursor(reply.getCreatedAt(), reply.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ReplyDTO> getRepliesByTopic(Long topicId, String after, int size) {
+        log.debug("Fetching replies after cursor for topic ID: {} - size: {}", topicId, size);
+        Long solutionReplyId = topicFinder.findTopicById(topicId).getSolutionReplyId();
+
+        Cursor cursor = Cursor.decode(after);
+        List<ReplyEntity> replies = replyRepository.findByTopicAfter(topicId, solutionReplyId, cursor.timestamp(), cursor.id(), CursorPage.limitFor(size));
+        CursorPage<ReplyDTO> page = CursorPage.of(replies, size, ReplyDTO::fromEntity, reply -> new Cursor(reply.getCreatedAt(), reply.getId()));
+
+        // The solution is pinned on top of the first page, on top of the requested size, and never appears in later pages
+        if (Cursor.START.equals(cursor) && solutionReplyId != null) {
+            return replyRepository.findByIdAndIsDeletedFalse(solutionReplyId)
+                    .map(solution -> page.withFirst(ReplyDTO.fromEntity(solution)))
+                    .orElse(page);
+        }
+        return page;
+    }
+
+    // Not transactional: checked and moderated on the reply as read first, then written only if it is still that version
+    @Override
+    public ReplyDTO updateReply(UpdateReplyDTO replyRequest, Long replyId, Set<Long> expectedVersions) {
+        ReplyEntity checkedReply = replyFinder.findReplyById(replyId);
+        replyPermissionService.checkCanModify(checkedReply);
+        VersionConflictException.ensureMatches(expectedVersions, checkedReply.getVersion());
+
+        validator.ensureReplyContentIsValid(replyRequest.content()); // Validate the updated reply content using AI
+
+        try {
+            return transactionTemplate.execute(transaction -> updateCheckedReply(replyRequest, replyId, checkedReply.getVersion()));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // A concurrent write committed between the check and the flush; the transaction is already rolled back
+            throw new VersionConflictException(findVisibleVersion(replyId).version());
+        }
+    }
+
+    private ReplyDTO updateCheckedReply(UpdateReplyDTO replyRequest, Long replyId, Long checkedVersion) {
         ReplyEntity replyToUpdate = replyFinder.findReplyById(replyId);
         UserEntity currentUser = replyPermissionService.checkCanModify(replyToUpdate);
+        VersionConflictException.ensureMatches(checkedVersion, replyToUpdate.getVersion());
         log.info("User ID: {} updating reply ID: {}", currentUser.getId(), replyId);
 
-        validator.ensureReplyContentIsValid(replyRequest.content()); // Validate the updated reply content using AI
-
+        // The content passed the AI check above, so a pending or rejected reply is published (and counted) by the edit.
+        // The version bump makes a moderation result still in flight for the previous content be discarded
+        boolean wasPublished = replyToUpdate.isPublished();
         replyToUpdate.setContent(replyRequest.content());
-        ReplyEntity updatedReply = replyRepository.save(replyToUpdate);
+        replyToUpdate.setModerationStatus(ModerationStatus.PUBLISHED);
+        ReplyEntity updatedReply = replyRepository.saveAndFlush(replyToUpdate); // Flushed so the response carries the new version
 
-        notifier.notifyReplyUpdated(replyToUpdate, currentUser);
+        if (wasPublished) {
+            notifier.notifyReplyUpdated(replyToUpdate, currentUser);
+        } else {
+            publishReply(updatedReply);
+        }
 
         return ReplyDTO.fromEntity(updatedReply);
     }
@@ -89,7 +178,13 @@ public class ReplyServiceImpl implements ReplyService {
 
         replyPermissionService.checkCannotDeleteSolution(replyToDelete);
 
+        // Pending and rejected replies were never counted (and cannot be the solution)
+        if (replyToDelete.isPublished() && topicRepository.decrementRepliesCountUnlessSolution(replyToDelete.getTopic().getId(), replyId) == 0) {
+            log.warn("Reply ID: {} was marked as solution while being deleted", replyId);
+            throw new AppException("No puedes eliminar una respuesta marcada como solución", HttpStatus.CONFLICT);
+        }
         replyToDelete.markAsDeleted(); //replyRepository.delete(reply);
+        eventPublisher.publishEvent(TopicListingChangedEvent.contentChanged(replyToDelete.getTopic().getId()));
         log.info("Reply ID: {} marked as deleted by user ID: {}", replyId, currentUser.getId());
 
         notifier.notifyReplyDeleted(replyToDelete, currentUser);
@@ -100,9 +195,42 @@ public class ReplyServiceImpl implements ReplyService {
     public ReplyDTO getReplyById(Long replyId) {
         log.debug("Fetching reply ID: {}", replyId);
         ReplyEntity reply = replyFinder.findReplyById(replyId);
+        replyPermissionService.checkCanView(reply);
         return ReplyDTO.fromEntity(reply);
     }
 
+    // One IN query with the author graph; unknown, deleted or hidden IDs are reported as missing
+    @Override
+    @Transactional(readOnly = true)
+    public BatchResponse<ReplyDTO> getRepliesByIds(List<Long> replyIds) {
+        List<Long> ids = BatchResponse.requestedIds(replyIds);
+        log.debug("Fetching {} replies by ID", ids.size());
+        Optional<UserEntity> viewer = authenticatedUserProvider.findAuthenticatedUser();
+        List<ReplyDTO> replies = replyRepository.findVisibleByIdIn(
+                ids,
+                viewer.map(UserEntity::getId).orElse(null),
+                viewer.map(UserEntity::hasElevatedPermissions).orElse(false)
+        ).stream().map(ReplyDTO::fromEntity).toList();
+        return BatchResponse.of(ids, replies, ReplyDTO::id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getReplyETag(Long replyId) {
+        ReplyVersion version = findVisibleVersion(replyId);
+        return ETags.versioned(version.version(), version);
+    }
+
+    // Read for the caller: a reply it cannot see is not found, also in conditional requests
+    private ReplyVersion findVisibleVersion(Long replyId) {
+        Optional<UserEntity> viewer = authenticatedUserProvider.findAuthenticatedUser();
+        return replyFinder.findVisibleReplyVersion(
+                replyId,
+                viewer.map(UserEntity::getId).orElse(null),
+                viewer.map(UserEntity::hasElevatedPermissions).orElse(false)
+        );
+    }
+
     @Override
     @Transactional
     public ReplyDTO setCorrectReply(Long replyId) {
@@ -110,25 +238,42 @@ public class ReplyServiceImpl implements ReplyService {
         replyPermissionService.checkElevatedPermissionsForSolution(currentUser, replyId);
 
         ReplyEntity replyToSet = replyFinder.findReplyById(replyId);
+        TopicEntity topic = replyToSet.getTopic();
         log.info("User ID: {} changing state of reply ID: {}", currentUser.getId(), replyId);
-        List<ReplyEntity> replies = replyRepository.findByTopicId(replyToSet.getTopic().getId());
-
-        boolean isCurrentlySolution = replyToSet.getSolution();
-        replies.forEach(re -> re.setSolution(false)); // Deactivate all solutions
 
-        if (!isCurrentlySolution) {
-            replyToSet.setSolution(true);
-            replyToSet.getTopic().setStatus(TopicEntity.Status.CLOSED);
-            log.info("Reply ID: {} marked as solution for topic ID: {}", replyToSet.getId(), replyToSet.getTopic().getId());
+        // Decided by the database: unmarking only matches if this reply is the current solution, otherwise it is marked,
+        // replacing any previous solution in the same statement
+        if (topicRepository.unmarkSolution(topic.getId(), replyId, TopicEntity.Status.ACTIVE) > 0) {
+            replyToSet.setSolution(false);
+            log.info("Reply ID: {} unmarked as solution for topic ID: {}", replyToSet.getId(), topic.getId());
         } else {
-            replyToSet.getTopic().setStatus(TopicEntity.Status.ACTIVE);
-            log.info("Reply ID: {} unmarked as solution for topic ID: {}", replyToSet.getId(), replyToSet.getTopic().getId());
+            if (topicRepository.markSolution(topic.getId(), replyId, TopicEntity.Status.CLOSED) == 0) {
+                throw new AppException("La respuesta no se puede marcar como solución: fue eliminada o está pendiente de moderación.", HttpStatus.CONFLICT);
+            }
+            replyToSet.setSolution(true);
+            log.info("Reply ID: {} marked as solution for topic ID: {}", replyToSet.getId(), topic.getId());
         }
 
-        replyRepository.saveAll(replies);
+        Set<Long> courseIds = topic.getCourse() != null ? Set.of(topic.getCourse().getId()) : Set.of();
+        eventPublisher.publishEvent(TopicListingChangedEvent.membershipChanged(topic, courseIds, EnumSet.allOf(TopicEntity.Status.class)));
         notifier.notifyReplySolution(replyToSet);
 
         return ReplyDTO.fromEntity(replyToSet);
     }
 
+    @Override
+    @Transactional
+    public void applyModerationResult(Long replyId, Long version, ModerationStatus result) {
+        if (replyRepository.applyModeration(replyId, version, result) == 0) {
+            log.info("Moderation result for reply ID: {} discarded, the reply changed while it was moderated", replyId);
+            return;
+        }
+        log.info("Reply ID: {} moderated: {}", replyId, result);
+
+        if (result == ModerationStatus.PUBLISHED) {
+            ReplyEntity reply = replyFinder.findReplyById(replyId);
+            publishReply(reply);
+        }
+    }
+
 }
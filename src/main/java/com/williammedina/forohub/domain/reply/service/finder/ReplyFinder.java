@@ -1,9 +1,11 @@
 package com.williammedina.forohub.domain.reply.service.finder;
 
+import com.williammedina.forohub.domain.reply.dto.ReplyVersion;
 import com.williammedina.forohub.domain.reply.entity.ReplyEntity;
 
 public interface ReplyFinder {
 
     ReplyEntity findReplyById(Long replyId);
+    ReplyVersion findVisibleReplyVersion(Long replyId, Long viewerId, boolean elevated);
 
 }
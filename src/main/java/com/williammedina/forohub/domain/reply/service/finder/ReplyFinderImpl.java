@@ -1,5 +1,6 @@
 package com.williammedina.forohub.domain.reply.service.finder;
 
+import com.williammedina.forohub.domain.reply.dto.ReplyVersion;
 import com.williammedina.forohub.domain.reply.entity.ReplyEntity;
 import com.williammedina.forohub.domain.reply.repository.ReplyRepository;
 import com.williammedina.forohub.infrastructure.exception.AppException;
@@ -24,4 +25,13 @@ public class ReplyFinderImpl implements ReplyFinder{
                     return new AppException("Respuesta no encontrada", HttpStatus.NOT_FOUND);
                 });
     }
+
+    @Override
+    public ReplyVersion findVisibleReplyVersion(Long replyId, Long viewerId, boolean elevated) {
+        return replyRepository.findVisibleVersionById(replyId, viewerId, elevated)
+                .orElseThrow(() ->  {
+                    log.error("Reply not found with ID: {}", replyId);
+                    return new AppException("Respuesta no encontrada", HttpStatus.NOT_FOUND);
+                });
+    }
 }
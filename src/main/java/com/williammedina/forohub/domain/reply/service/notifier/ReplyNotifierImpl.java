@@ -1,7 +1,7 @@
 package com.williammedina.forohub.domain.reply.service.notifier;
 
-import com.williammedina.forohub.domain.email.EmailService;
-import com.williammedina.forohub.domain.notification.service.NotificationService;
+import com.williammedina.forohub.domain.outbox.entity.OutboxEventEntity;
+import com.williammedina.forohub.domain.outbox.service.OutboxService;
 import com.williammedina.forohub.domain.reply.entity.ReplyEntity;
 import com.williammedina.forohub.domain.topic.entity.TopicEntity;
 import com.williammedina.forohub.domain.user.entity.UserEntity;
@@ -9,33 +9,33 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+/**
+ * Records the notifications in the outbox within the caller's transaction; OutboxWorker delivers them after commit.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ReplyNotifierImpl implements ReplyNotifier {
 
-    private final NotificationService notificationService;
-    private final EmailService emailService;
+    private final OutboxService outboxService;
 
     @Override
-    public void notifyNewReply(TopicEntity topic, UserEntity editor) {
+    public void notifyNewReply(ReplyEntity reply, UserEntity editor) {
+        TopicEntity topic = reply.getTopic();
         if(!editor.equals(topic.getUser())) {
             log.debug("Notifying topic owner ID: {} about new reply", topic.getId());
-            notificationService.notifyTopicReply(topic, editor);
-            emailService.notifyTopicReply(topic, editor);
+            outboxService.enqueue(OutboxEventEntity.Type.TOPIC_REPLY, topic, reply, editor);
         }
 
         log.debug("Notifying followers of topic ID: {}", topic.getId());
-        notificationService.notifyFollowersTopicReply(topic, editor);
-        emailService.notifyFollowersTopicReply(topic, editor);
+        outboxService.enqueue(OutboxEventEntity.Type.FOLLOWERS_TOPIC_REPLY, topic, reply, editor);
     }
 
     @Override
     public void notifyReplyUpdated(ReplyEntity reply, UserEntity editor) {
         if(!editor.equals(reply.getUser())) {
             log.debug("Notifying reply owner ID: {}", reply.getId());
-            notificationService.notifyReplyEdited(reply);
-            emailService.notifyReplyEdited(reply);
+            outboxService.enqueue(OutboxEventEntity.Type.REPLY_EDITED, reply.getTopic(), reply, editor);
         }
     }
 
@@ -43,8 +43,7 @@ public class ReplyNotifierImpl implements ReplyNotifier {
     public void notifyReplyDeleted(ReplyEntity reply, UserEntity editor) {
         if(!editor.equals(reply.getUser())) {
             log.debug("Notifying reply owner ID: {} about deletion", reply.getId());
-            notificationService.notifyReplyDeleted(reply);
-            emailService.notifyReplyDeleted(reply);
+            outboxService.enqueue(OutboxEventEntity.Type.REPLY_DELETED, reply.getTopic(), reply, editor);
         }
     }
 
@@ -52,12 +51,9 @@ public class ReplyNotifierImpl implements ReplyNotifier {
     public void notifyReplySolution(ReplyEntity reply) {
         if(reply.getSolution()) {
             log.debug("Sending notifications for reply solution");
-            notificationService.notifyTopicSolved(reply.getTopic());
-            notificationService.notifyReplySolved(reply, reply.getTopic());
-            notificationService.notifyFollowersTopicSolved(reply.getTopic());
-            emailService.notifyTopicSolved(reply.getTopic());
-            emailService.notifyReplySolved(reply, reply.getTopic());
-            emailService.notifyFollowersTopicSolved(reply.getTopic());
+            outboxService.enqueue(OutboxEventEntity.Type.TOPIC_SOLVED, reply.getTopic(), reply, null);
+            outboxService.enqueue(OutboxEventEntity.Type.REPLY_SOLVED, reply.getTopic(), reply, null);
+            outboxService.enqueue(OutboxEventEntity.Type.FOLLOWERS_TOPIC_SOLVED, reply.getTopic(), reply, null);
         }
     }
 
@@ -6,6 +6,7 @@ import com.williammedina.forohub.domain.user.entity.UserEntity;
 public interface ReplyPermissionService {
 
     UserEntity checkCanModify(ReplyEntity reply);
+    void checkCanView(ReplyEntity reply);
     void checkElevatedPermissionsForSolution(UserEntity user, Long replyId);
     void checkCannotDeleteSolution(ReplyEntity reply);
 
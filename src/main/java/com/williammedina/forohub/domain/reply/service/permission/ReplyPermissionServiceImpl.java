@@ -28,6 +28,18 @@ public class ReplyPermissionServiceImpl implements ReplyPermissionService{
         return currentUser;
     }
 
+    // Replies waiting for or rejected by moderation are only shown to their author and to moderators
+    @Override
+    public void checkCanView(ReplyEntity reply) {
+        boolean canView = reply.isPublished() || authenticatedUserProvider.findAuthenticatedUser()
+                .map(user -> reply.getUser().equals(user) || user.hasElevatedPermissions())
+                .orElse(false);
+        if (!canView) {
+            log.warn("Reply ID: {} is not published ({})", reply.getId(), reply.getModerationStatus());
+            throw new AppException("Respuesta no encontrada", HttpStatus.NOT_FOUND);
+        }
+    }
+
     @Override
     public void checkElevatedPermissionsForSolution(UserEntity user, Long replyId) {
         if (!user.hasElevatedPermissions()) {
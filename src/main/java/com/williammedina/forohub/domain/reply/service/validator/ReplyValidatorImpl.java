@@ -30,5 +30,9 @@ public class ReplyValidatorImpl implements ReplyValidator{
             log.warn("Attempt to reply to closed topic ID: {}", topic.getId());
             throw new AppException("No se puede crear una respuesta. El tópico está cerrado.", HttpStatus.FORBIDDEN);
         }
+        if (!topic.isPublished()) {
+            log.warn("Attempt to reply to unpublished topic ID: {}", topic.getId());
+            throw new AppException("No se puede crear una respuesta. El tópico está pendiente de moderación.", HttpStatus.FORBIDDEN);
+        }
     }
 }
@@ -0,0 +1,9 @@
+package com.williammedina.forohub.domain.topic.dto;
+
+// A topic waiting for the moderation worker, with the version its verdict applies to
+public record PendingTopic(
+        Long topicId,
+        Long version,
+        String title,
+        String description
+) {}
@@ -1,5 +1,6 @@
 package com.williammedina.forohub.domain.topic.dto;
 
+import com.williammedina.forohub.domain.contentvalidation.ModerationStatus;
 import com.williammedina.forohub.domain.topic.entity.TopicEntity;
 import io.swagger.v3.oas.annotations.media.Schema;
 
@@ -36,7 +37,10 @@ public record TopicDTO(
         LocalDateTime createdAt,
 
         @Schema(description = "Fecha de última actualización del tópico", example = "2025-07-01T10:15:00")
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+
+        @Schema(description = "Estado de moderación. Los tópicos pendientes o rechazados solo aparecen en los listados de su autor", example = "PUBLISHED")
+        ModerationStatus moderationStatus
 ) {
         public static TopicDTO fromEntity(TopicEntity topic) {
                 return new TopicDTO(
@@ -46,10 +50,11 @@ public record TopicDTO(
                         topic.getCourse().getName(),
                         topic.getCourse().getCategory(),
                         topic.getUser().getUsername(),
-                        topic.getReplies().size(),
+                        topic.getRepliesCount(),
                         topic.getStatus(),
                         topic.getCreatedAt(),
-                        topic.getUpdatedAt()
+                        topic.getUpdatedAt(),
+                        topic.getModerationStatus()
                 );
         }
 
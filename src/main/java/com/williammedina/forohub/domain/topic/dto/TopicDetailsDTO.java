@@ -3,14 +3,14 @@ package com.williammedina.forohub.domain.topic.dto;
 import com.williammedina.forohub.domain.course.dto.CourseDTO;
 import com.williammedina.forohub.domain.reply.dto.ReplyDTO;
 import com.williammedina.forohub.domain.topic.entity.TopicEntity;
-import com.williammedina.forohub.domain.topicfollow.dto.TopicFollowerDTO;
 import com.williammedina.forohub.domain.user.dto.UserDTO;
+import com.williammedina.forohub.infrastructure.pagination.CursorPage;
+import com.williammedina.forohub.domain.contentvalidation.ModerationStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
-@Schema(description = "Detalle completo del tópico, incluyendo autor, respuestas y seguidores.")
+@Schema(description = "Detalle completo del tópico, incluyendo autor, la primera página de respuestas y el número de seguidores.")
 public record TopicDetailsDTO(
 
         @Schema(description = "ID del tópico", example = "12")
@@ -28,8 +28,8 @@ public record TopicDetailsDTO(
         @Schema(description = "Datos del autor del tópico", example = "William Medina")
         UserDTO author,
 
-        @Schema(description = "Lista de respuestas asociadas al tópico")
-        List<ReplyDTO> replies,
+        @Schema(description = "Primera página de respuestas del tópico, con la solución al inicio. Las siguientes se obtienen en GET /topic/{topicId}/replies con el cursor 'nextCursor'")
+        CursorPage<ReplyDTO> replies,
 
         @Schema(description = "Estado actual del tópico", example = "ACTIVE")
         TopicEntity.Status status,
@@ -40,19 +40,19 @@ public record TopicDetailsDTO(
         @Schema(description = "Fecha de última actualización del tópico", example = "2025-07-01T10:15:00")
         LocalDateTime updatedAt,
 
-        @Schema(description = "Lista de seguidores del tópico")
-        List<TopicFollowerDTO> followers
-) {
-        public static TopicDetailsDTO fromEntity(TopicEntity topic) {
+        @Schema(description = "Número de usuarios que siguen el tópico. La lista se obtiene en GET /topic/{topicId}/followers", example = "8")
+        Integer followersCount,
+
+        @Schema(description = "Indica si el usuario autenticado sigue el tópico. Es falso para usuarios anónimos", example = "true")
+        Boolean followedByMe,
 
-            List<ReplyDTO> replies = topic.getReplies().stream()
-                    .filter(response -> !response.getIsDeleted())
-                    .map(ReplyDTO::fromEntity)
-                    .toList();
+        @Schema(description = "Versión del tópico. Se envía en el encabezado If-Match al actualizarlo", example = "3")
+        Long version,
 
-            List<TopicFollowerDTO> followers = topic.getFollowedTopics().stream()
-                    .map(TopicFollowerDTO::fromEntity)
-                    .toList();
+        @Schema(description = "Estado de moderación. Los tópicos pendientes o rechazados solo los ve su autor", example = "PUBLISHED")
+        ModerationStatus moderationStatus
+) {
+        public static TopicDetailsDTO fromEntity(TopicEntity topic, CursorPage<ReplyDTO> replies, boolean followedByMe) {
 
             return new TopicDetailsDTO(
                     topic.getId(),
@@ -64,7 +64,10 @@ public record TopicDetailsDTO(
                     topic.getStatus(),
                     topic.getCreatedAt(),
                     topic.getUpdatedAt(),
-                    followers
+                    topic.getFollowersCount(),
+                    followedByMe,
+                    topic.getVersion(),
+                    topic.getModerationStatus()
             );
         }
 }
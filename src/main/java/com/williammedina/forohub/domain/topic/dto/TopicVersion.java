@@ -0,0 +1,20 @@
+package com.williammedina.forohub.domain.topic.dto;
+
+import com.williammedina.forohub.domain.topic.entity.TopicEntity;
+
+import java.time.LocalDateTime;
+
+// Everything TopicDetailsDTO is built from, reduced to timestamps and counters that can be read without loading the graph
+public record TopicVersion(
+        Long topicId,
+        LocalDateTime updatedAt,
+        LocalDateTime authorUpdatedAt,
+        Long repliesCount,
+        LocalDateTime lastReplyUpdatedAt,
+        LocalDateTime lastReplyAuthorUpdatedAt,
+        Integer followersCount,
+        TopicEntity.Status status,
+        Long solutionReplyId,
+        Long version,
+        Integer publishedRepliesCount
+) {}
@@ -0,0 +1,34 @@
+package com.williammedina.forohub.domain.topic.entity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public final class ContentHash {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private ContentHash() {
+    }
+
+    /**
+     * Hex SHA-256 of the normalized text: whitespace runs collapsed to one space, trimmed and lowercased,
+     * so "Error  404" and "error 404" are the same topic. Keep in sync with the backfill in V20.
+     */
+    public static String of(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        String normalized = WHITESPACE.matcher(text).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
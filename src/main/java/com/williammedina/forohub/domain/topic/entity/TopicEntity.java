@@ -1,5 +1,6 @@
 package com.williammedina.forohub.domain.topic.entity;
 
+import com.williammedina.forohub.domain.contentvalidation.ModerationStatus;
 import com.williammedina.forohub.domain.course.entity.CourseEntity;
 import com.williammedina.forohub.domain.reply.entity.ReplyEntity;
 import com.williammedina.forohub.domain.topicfollow.entity.TopicFollowEntity;
@@ -16,6 +17,14 @@ import java.util.List;
 
 @Entity(name = "Topic")
 @Table(name = "topics")
+@NamedEntityGraph(
+        name = TopicEntity.WITH_AUTHOR_AND_COURSE,
+        attributeNodes = {
+                @NamedAttributeNode(value = "user", subgraph = "author"),
+                @NamedAttributeNode("course")
+        },
+        subgraphs = @NamedSubgraph(name = "author", attributeNodes = @NamedAttributeNode("profile"))
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,11 +32,13 @@ import java.util.List;
 @EqualsAndHashCode(of = "id")
 public class TopicEntity {
 
+    public static final String WITH_AUTHOR_AND_COURSE = "Topic.withAuthorAndCourse";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private UserEntity user;
 
@@ -37,7 +48,7 @@ public class TopicEntity {
     @Column(nullable = false)
     private String description ;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id")
     private CourseEntity course;
 
@@ -56,6 +67,34 @@ public class TopicEntity {
     @Column(nullable = false)
     private Boolean isDeleted = false;
 
+    @Version
+    @Column(nullable = false)
+    private Long version = 0L;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "moderation_status", nullable = false)
+    private ModerationStatus moderationStatus = ModerationStatus.PUBLISHED;
+
+    @Column(name = "search_text")
+    private String searchText;
+
+    @Column(name = "title_hash")
+    private String titleHash;
+
+    @Column(name = "description_hash")
+    private String descriptionHash;
+
+    // Maintained with atomic UPDATE statements (see TopicRepository), never written from the entity
+    @Column(name = "replies_count", nullable = false, insertable = false, updatable = false)
+    private Integer repliesCount = 0;
+
+    @Column(name = "followers_count", nullable = false, insertable = false, updatable = false)
+    private Integer followersCount = 0;
+
+    // Maintained together with the status by the conditional UPDATE statements in TopicRepository
+    @Column(name = "solution_reply_id", insertable = false, updatable = false)
+    private Long solutionReplyId;
+
     @OneToMany(mappedBy = "topic", cascade = CascadeType.ALL, orphanRemoval = true)
     @SQLRestriction("is_deleted = false")
     private List<ReplyEntity> replies = new ArrayList<>();
@@ -75,10 +114,23 @@ public class TopicEntity {
         return this.status == Status.CLOSED;
     }
 
+    public boolean isPublished() {
+        return this.moderationStatus == ModerationStatus.PUBLISHED;
+    }
+
     public void markAsDeleted() {
         this.isDeleted = true;
     }
 
+    // Keeps the full-text search column and the duplicate-check hashes in sync with the fields they derive from
+    @PrePersist
+    @PreUpdate
+    public void refreshDerivedColumns() {
+        this.searchText = (course != null) ? title + " " + course.getCategory() : title;
+        this.titleHash = ContentHash.of(title);
+        this.descriptionHash = ContentHash.of(description);
+    }
+
     public enum Status {
         ACTIVE,
         CLOSED,
@@ -1,64 +1,266 @@
 package com.williammedina.forohub.domain.topic.repository;
 
+import com.williammedina.forohub.domain.contentvalidation.ModerationStatus;
+import com.williammedina.forohub.domain.topic.dto.PendingTopic;
+import com.williammedina.forohub.domain.topic.dto.TopicDTO;
+import com.williammedina.forohub.domain.topic.dto.TopicVersion;
 import com.williammedina.forohub.domain.topic.entity.TopicEntity;
 import com.williammedina.forohub.domain.user.entity.UserEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 public interface TopicRepository extends JpaRepository<TopicEntity, Long> {
 
+    // Listings are read as TopicDTO constructor projections in a single joined query, so no entity is hydrated or dirty-checked
+    String TOPIC_DTO_COLUMNS = "t.id, t.title, t.description, c.name, c.category, u.username, t.repliesCount, t.status, t.createdAt, t.updatedAt, t.moderationStatus";
+    // The author is LEFT JOINed (user_id is NOT NULL, so the rows are the same) to keep topics as the driving table:
+    // with an inner join the optimizer may start from users and sort everything instead of reading idx_topics_* in order
+    String SELECT_TOPIC_DTO = "SELECT new com.williammedina.forohub.domain.topic.dto.TopicDTO(" + TOPIC_DTO_COLUMNS + ") FROM Topic t LEFT JOIN t.user u LEFT JOIN t.course c ";
+    // Public listings leave out topics still waiting for (or rejected by) moderation; the author's own listings include them
+    String PUBLISHED = "com.williammedina.forohub.domain.contentvalidation.ModerationStatus.PUBLISHED";
+    String PENDING = "com.williammedina.forohub.domain.contentvalidation.ModerationStatus.PENDING";
+    String REJECTED = "com.williammedina.forohub.domain.contentvalidation.ModerationStatus.REJECTED";
+    String WHERE_PUBLISHED = "WHERE t.isDeleted = false AND t.moderationStatus = " + PUBLISHED + " ";
+
     // @Query("SELECT t FROM Topic t ORDER BY t.createdAt DESC")
-    @Query("SELECT t FROM Topic t WHERE t.isDeleted = false ORDER BY t.createdAt DESC")
-    Page<TopicEntity> findAllSortedByCreationDate(Pageable pageable);
+    @Query(SELECT_TOPIC_DTO + WHERE_PUBLISHED + "ORDER BY t.createdAt DESC")
+    Page<TopicDTO> findAllSortedByCreationDate(Pageable pageable);
+
+    // Keyset variant of findAllSortedByCreationDate. A null cursor returns the first page
+    @Query(SELECT_TOPIC_DTO +
+            WHERE_PUBLISHED +
+            "AND (:cursorCreatedAt IS NULL OR t.createdAt < :cursorCreatedAt OR (t.createdAt = :cursorCreatedAt AND t.id < :cursorId)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TopicDTO> findAllAfter(
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Limit limit
+    );
 
     // @Query("SELECT t FROM Topic t " + "LEFT JOIN t.course c " + "WHERE (:courseId IS NULL OR c.id = :courseId) " + "AND (:keyword IS NULL OR t.title LIKE CONCAT('%', :keyword, '%') OR c.category LIKE CONCAT('%', :keyword, '%')) " + "AND (:status IS NULL OR t.status = :status) " + "ORDER BY t.createdAt DESC")
-    @Query("SELECT t FROM Topic t " +
-            "LEFT JOIN t.course c " +
-            "WHERE t.isDeleted = false " +
+    @Query(SELECT_TOPIC_DTO +
+            WHERE_PUBLISHED +
             "AND (:courseId IS NULL OR c.id = :courseId) " +
             "AND (:keyword IS NULL OR t.title LIKE CONCAT('%', :keyword, '%') OR c.category LIKE CONCAT('%', :keyword, '%')) " +
             "AND (:status IS NULL OR t.status = :status) " +
             "ORDER BY t.createdAt DESC")
-    Page<TopicEntity> findByFilters(
+    Page<TopicDTO> findByFilters(
             @Param("courseId") Long courseId,
             @Param("keyword") String keyword,
             @Param("status") TopicEntity.Status status,
             Pageable pageable
     );
 
+    // Keyset variant of findByFilters. A null cursor returns the first page
+    @Query(SELECT_TOPIC_DTO +
+            WHERE_PUBLISHED +
+            "AND (:courseId IS NULL OR c.id = :courseId) " +
+            "AND (:keyword IS NULL OR t.title LIKE CONCAT('%', :keyword, '%') OR c.category LIKE CONCAT('%', :keyword, '%')) " +
+            "AND (:status IS NULL OR t.status = :status) " +
+            "AND (:cursorCreatedAt IS NULL OR t.createdAt < :cursorCreatedAt OR (t.createdAt = :cursorCreatedAt AND t.id < :cursorId)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TopicDTO> findByFiltersAfter(
+            @Param("courseId") Long courseId,
+            @Param("keyword") String keyword,
+            @Param("status") TopicEntity.Status status,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Limit limit
+    );
+
+    // Full-text variant of findByFilters, ordered by relevance. The query must be built with FullTextQuery
+    @Query(SELECT_TOPIC_DTO +
+            WHERE_PUBLISHED +
+            "AND match_against(t.searchText, :query) > 0 " +
+            "AND (:courseId IS NULL OR c.id = :courseId) " +
+            "AND (:status IS NULL OR t.status = :status) " +
+            "ORDER BY match_against(t.searchText, :query) DESC, t.createdAt DESC")
+    Page<TopicDTO> searchByFilters(
+            @Param("courseId") Long courseId,
+            @Param("query") String query,
+            @Param("status") TopicEntity.Status status,
+            Pageable pageable
+    );
+
     // @Query("SELECT t FROM Topic t " + "LEFT JOIN t.course c " + "WHERE (t.user = :user) " + "AND (:keyword IS NULL OR t.title LIKE CONCAT('%', :keyword, '%') OR c.category LIKE CONCAT('%', :keyword, '%')) " + "ORDER BY t.createdAt DESC")
-    @Query("SELECT t FROM Topic t " +
-            "LEFT JOIN t.course c " +
+    @Query(SELECT_TOPIC_DTO +
             "WHERE t.isDeleted = false " +
             "AND t.user = :user " +
             "AND (:keyword IS NULL OR t.title LIKE CONCAT('%', :keyword, '%') OR c.category LIKE CONCAT('%', :keyword, '%')) " +
             "ORDER BY t.createdAt DESC")
-    Page<TopicEntity> findByUserFilters(
+    Page<TopicDTO> findByUserFilters(
             UserEntity user,
             @Param("keyword") String keyword,
             Pageable pageable
     );
 
+    // Full-text variant of findByUserFilters, ordered by relevance. The query must be built with FullTextQuery
+    @Query(SELECT_TOPIC_DTO +
+            "WHERE t.isDeleted = false " +
+            "AND t.user = :user " +
+            "AND match_against(t.searchText, :query) > 0 " +
+            "ORDER BY match_against(t.searchText, :query) DESC, t.createdAt DESC")
+    Page<TopicDTO> searchByUserFilters(
+            UserEntity user,
+            @Param("query") String query,
+            Pageable pageable
+    );
+
     //@Query("SELECT t FROM Topic t WHERE t.user = :user ORDER BY t.createdAt DESC")
-    @Query("SELECT t FROM Topic t WHERE t.user = :user AND t.isDeleted = false ORDER BY t.createdAt DESC")
-    Page<TopicEntity> findByUserSortedByCreationDate(UserEntity user, Pageable pageable);
+    @Query(SELECT_TOPIC_DTO + "WHERE t.user = :user AND t.isDeleted = false ORDER BY t.createdAt DESC")
+    Page<TopicDTO> findByUserSortedByCreationDate(UserEntity user, Pageable pageable);
+
+    // Full-text variant of findByFiltersAfter. Relevance cannot be used as a stable keyset, so results keep the recency order
+    @Query(SELECT_TOPIC_DTO +
+            WHERE_PUBLISHED +
+            "AND match_against(t.searchText, :query) > 0 " +
+            "AND (:courseId IS NULL OR c.id = :courseId) " +
+            "AND (:status IS NULL OR t.status = :status) " +
+            "AND (:cursorCreatedAt IS NULL OR t.createdAt < :cursorCreatedAt OR (t.createdAt = :cursorCreatedAt AND t.id < :cursorId)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TopicDTO> searchByFiltersAfter(
+            @Param("courseId") Long courseId,
+            @Param("query") String query,
+            @Param("status") TopicEntity.Status status,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Limit limit
+    );
+
+    // Keyset variant of findByUserSortedByCreationDate and findByUserFilters. A null cursor returns the first page
+    @Query(SELECT_TOPIC_DTO +
+            "WHERE t.user = :user " +
+            "AND t.isDeleted = false " +
+            "AND (:keyword IS NULL OR t.title LIKE CONCAT('%', :keyword, '%') OR c.category LIKE CONCAT('%', :keyword, '%')) " +
+            "AND (:cursorCreatedAt IS NULL OR t.createdAt < :cursorCreatedAt OR (t.createdAt = :cursorCreatedAt AND t.id < :cursorId)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TopicDTO> findByUserFiltersAfter(
+            UserEntity user,
+            @Param("keyword") String keyword,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Limit limit
+    );
+
+    // Full-text variant of findByUserFiltersAfter. Relevance cannot be used as a stable keyset, so results keep the recency order
+    @Query(SELECT_TOPIC_DTO +
+            "WHERE t.user = :user " +
+            "AND t.isDeleted = false " +
+            "AND match_against(t.searchText, :query) > 0 " +
+            "AND (:cursorCreatedAt IS NULL OR t.createdAt < :cursorCreatedAt OR (t.createdAt = :cursorCreatedAt AND t.id < :cursorId)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TopicDTO> searchByUserFiltersAfter(
+            UserEntity user,
+            @Param("query") String query,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Limit limit
+    );
+
+    // Hashes must be built with ContentHash; the lookups are served by idx_topics_title_hash / idx_topics_description_hash
+    @Query("SELECT COUNT(t) > 0 FROM Topic t WHERE t.titleHash = :titleHash AND t.isDeleted = false AND t.moderationStatus <> " + REJECTED)
+    boolean existsByTitleHash(@Param("titleHash") String titleHash);
+
+    @Query("SELECT COUNT(t) > 0 FROM Topic t WHERE t.descriptionHash = :descriptionHash AND t.isDeleted = false AND t.moderationStatus <> " + REJECTED)
+    boolean existsByDescriptionHash(@Param("descriptionHash") String descriptionHash);
 
-    @Query("SELECT COUNT(t) > 0 FROM Topic t WHERE t.title = :title AND t.isDeleted = false")
-    boolean existsByTitle(@Param("title") String title);
+    @Query("SELECT t.titleHash FROM Topic t WHERE t.isDeleted = false AND t.titleHash IS NOT NULL")
+    Stream<String> streamTitleHashes();
 
-    @Query("SELECT COUNT(t) > 0 FROM Topic t WHERE t.description = :description AND t.isDeleted = false")
-    boolean existsByDescription(@Param("description") String description);
+    @Query("SELECT t.descriptionHash FROM Topic t WHERE t.isDeleted = false AND t.descriptionHash IS NOT NULL")
+    Stream<String> streamDescriptionHashes();
 
     @Query("SELECT COUNT(t) FROM Topic t WHERE t.user.id = :userId AND t.isDeleted = false")
     long countByUserId(@Param("userId") Long id);
 
+    // Version of the topic detail for conditional GETs; reply rows are reached through their topic_id index. Applies
+    // the visibility of TopicPermissionService.checkCanView, so an unpublished topic is not found instead of answering 304
+    @Query("SELECT new com.williammedina.forohub.domain.topic.dto.TopicVersion(t.id, t.updatedAt, u.updatedAt, " +
+            "(SELECT COUNT(r) FROM Reply r WHERE r.topic = t AND r.isDeleted = false), " +
+            "(SELECT MAX(r.updatedAt) FROM Reply r WHERE r.topic = t), " +
+            "(SELECT MAX(ru.updatedAt) FROM Reply r JOIN r.user ru WHERE r.topic = t AND r.isDeleted = false), " +
+            "t.followersCount, t.status, t.solutionReplyId, t.version, t.repliesCount) " +
+            "FROM Topic t JOIN t.user u WHERE t.id = :topicId AND t.isDeleted = false " +
+            "AND (t.moderationStatus = " + PUBLISHED + " OR u.id = :viewerId OR :elevated = true)")
+    Optional<TopicVersion> findVisibleVersionById(
+            @Param("topicId") Long topicId,
+            @Param("viewerId") Long viewerId,
+            @Param("elevated") boolean elevated
+    );
+
+    // Batch lookup (GET /api/topic?ids=). Unpublished topics are only returned to their author and to moderators
+    @Query(SELECT_TOPIC_DTO +
+            "WHERE t.id IN :topicIds AND t.isDeleted = false " +
+            "AND (t.moderationStatus = " + PUBLISHED + " OR u.id = :viewerId OR :elevated = true)")
+    List<TopicDTO> findVisibleByIdIn(
+            @Param("topicIds") Collection<Long> topicIds,
+            @Param("viewerId") Long viewerId,
+            @Param("elevated") boolean elevated
+    );
+
+    @EntityGraph(TopicEntity.WITH_AUTHOR_AND_COURSE)
     @Query("SELECT t FROM Topic t WHERE t.id = :topicId AND t.isDeleted = false")
     Optional<TopicEntity> findByIdAndNotDeleted(@Param("topicId") Long topicId);
 
+    @Modifying
+    @Query("UPDATE Topic t SET t.repliesCount = t.repliesCount + 1 WHERE t.id = :topicId")
+    int incrementRepliesCount(@Param("topicId") Long topicId);
+
+    @Modifying
+    @Query("UPDATE Topic t SET t.repliesCount = t.repliesCount - 1 WHERE t.id = :topicId AND t.repliesCount > 0")
+    int decrementRepliesCount(@Param("topicId") Long topicId);
+
+    // Matches no row if the reply became the solution after it was read, so a concurrent marking cannot leave
+    // a deleted reply as the solution
+    @Modifying
+    @Query("UPDATE Topic t SET t.repliesCount = CASE WHEN t.repliesCount > 0 THEN t.repliesCount - 1 ELSE 0 END " +
+            "WHERE t.id = :topicId AND (t.solutionReplyId IS NULL OR t.solutionReplyId <> :replyId)")
+    int decrementRepliesCountUnlessSolution(@Param("topicId") Long topicId, @Param("replyId") Long replyId);
+
+    @Modifying
+    @Query("UPDATE Topic t SET t.followersCount = t.followersCount + 1 WHERE t.id = :topicId")
+    int incrementFollowersCount(@Param("topicId") Long topicId);
+
+    @Modifying
+    @Query("UPDATE Topic t SET t.followersCount = t.followersCount - 1 WHERE t.id = :topicId AND t.followersCount > 0")
+    int decrementFollowersCount(@Param("topicId") Long topicId);
+
+    // Solution toggling: each statement changes the topic row only if it still matches, and InnoDB serializes
+    // concurrent statements on that row, so two moderators never interleave a read and a write. Both bump the topic
+    // version, so an edit based on the previous status is rejected
+    @Modifying
+    @Query("UPDATE Topic t SET t.solutionReplyId = :replyId, t.status = :status, t.version = t.version + 1 " +
+            "WHERE t.id = :topicId AND t.isDeleted = false AND (t.solutionReplyId IS NULL OR t.solutionReplyId <> :replyId) " +
+            "AND EXISTS (SELECT r.id FROM Reply r WHERE r.id = :replyId AND r.isDeleted = false AND r.moderationStatus = " + PUBLISHED + ")")
+    int markSolution(@Param("topicId") Long topicId, @Param("replyId") Long replyId, @Param("status") TopicEntity.Status status);
+
+    @Modifying
+    @Query("UPDATE Topic t SET t.solutionReplyId = NULL, t.status = :status, t.version = t.version + 1 " +
+            "WHERE t.id = :topicId AND t.solutionReplyId = :replyId")
+    int unmarkSolution(@Param("topicId") Long topicId, @Param("replyId") Long replyId, @Param("status") TopicEntity.Status status);
+
+    // Moderation worker (content.moderation.mode=async): pending topics are read without a transaction and the verdict
+    // is applied only if the topic is still the version that was moderated
+    @Query("SELECT new com.williammedina.forohub.domain.topic.dto.PendingTopic(t.id, t.version, t.title, t.description) " +
+            "FROM Topic t WHERE t.moderationStatus = " + PENDING + " AND t.isDeleted = false ORDER BY t.id")
+    List<PendingTopic> findPendingModeration(Limit limit);
+
+    @Modifying
+    @Query("UPDATE Topic t SET t.moderationStatus = :result, t.version = t.version + 1 " +
+            "WHERE t.id = :topicId AND t.version = :version AND t.moderationStatus = " + PENDING)
+    int applyModeration(@Param("topicId") Long topicId, @Param("version") Long version, @Param("result") ModerationStatus result);
+
 }
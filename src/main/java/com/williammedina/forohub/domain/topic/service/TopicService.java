@@ -1,21 +1,32 @@
 package com.williammedina.forohub.domain.topic.service;
 
+import com.williammedina.forohub.domain.contentvalidation.ModerationStatus;
 import com.williammedina.forohub.domain.topic.dto.InputTopicDTO;
 import com.williammedina.forohub.domain.topic.dto.TopicDTO;
 import com.williammedina.forohub.domain.topic.dto.TopicDetailsDTO;
 import com.williammedina.forohub.domain.topic.entity.TopicEntity;
+import com.williammedina.forohub.infrastructure.pagination.CursorPage;
+import com.williammedina.forohub.infrastructure.response.BatchResponse;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+import java.util.Set;
+
 
 public interface TopicService {
 
     TopicDTO createTopic(InputTopicDTO topicRequest);
     Page<TopicDTO> getAllTopics(Pageable pageable, Long courseId, String keyword, TopicEntity.Status status);
+    CursorPage<TopicDTO> getAllTopicsAfter(String after, int size, Long courseId, String keyword, TopicEntity.Status status);
     Page<TopicDTO> getAllTopicsByUser(Pageable pageable, String keyword);
+    CursorPage<TopicDTO> getAllTopicsByUserAfter(String after, int size, String keyword);
     TopicDetailsDTO getTopicById(Long topicId);
-    TopicDetailsDTO updateTopic(@Valid InputTopicDTO topicRequest, Long topicId);
+    BatchResponse<TopicDTO> getTopicsByIds(List<Long> topicIds);
+    String getTopicETag(Long topicId);
+    TopicDetailsDTO updateTopic(@Valid InputTopicDTO topicRequest, Long topicId, Set<Long> expectedVersions);
     void deleteTopic(Long topicId);
+    void applyModerationResult(Long topicId, Long version, ModerationStatus result);
 
 }
@@ -1,64 +1,173 @@
 package com.williammedina.forohub.domain.topic.service;
 
+import com.williammedina.forohub.domain.contentvalidation.ContentModerationPolicy;
+import com.williammedina.forohub.domain.contentvalidation.ModerationStatus;
 import com.williammedina.forohub.domain.course.entity.CourseEntity;
 import com.williammedina.forohub.domain.course.service.finder.CourseFinder;
+import com.williammedina.forohub.domain.reply.service.ReplyService;
 import com.williammedina.forohub.domain.topic.dto.InputTopicDTO;
 import com.williammedina.forohub.domain.topic.dto.TopicDTO;
 import com.williammedina.forohub.domain.topic.dto.TopicDetailsDTO;
+import com.williammedina.forohub.domain.topic.dto.TopicVersion;
+import com.williammedina.forohub.domain.topic.entity.ContentHash;
 import com.williammedina.forohub.domain.topic.entity.TopicEntity;
 import com.williammedina.forohub.domain.topic.repository.TopicRepository;
+import com.williammedina.forohub.domain.topic.service.cache.TopicListingCache;
+import com.williammedina.forohub.domain.topic.service.cache.TopicListingChangedEvent;
+import com.williammedina.forohub.domain.topic.service.cache.TopicListingKey;
 import com.williammedina.forohub.domain.topic.service.finder.TopicFinder;
 import com.williammedina.forohub.domain.topic.service.notifier.TopicNotifier;
 import com.williammedina.forohub.domain.topic.service.permission.TopicPermissionService;
+import com.williammedina.forohub.domain.topic.service.search.FullTextQuery;
 import com.williammedina.forohub.domain.topic.service.validator.TopicValidator;
+import com.williammedina.forohub.domain.topicfollow.service.TopicFollowService;
 import com.williammedina.forohub.domain.user.entity.UserEntity;
-import lombok.AllArgsConstructor;
+import com.williammedina.forohub.domain.user.service.context.AuthenticatedUserProvider;
+import com.williammedina.forohub.infrastructure.exception.VersionConflictException;
+import com.williammedina.forohub.infrastructure.pagination.Cursor;
+import com.williammedina.forohub.infrastructure.pagination.CursorPage;
+import com.williammedina.forohub.infrastructure.response.BatchResponse;
+import com.williammedina.forohub.infrastructure.response.ETags;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 @Slf4j
 @Service
-@AllArgsConstructor
 public class TopicServiceImpl implements TopicService {
 
+    private static final int DETAIL_REPLIES_PAGE_SIZE = 20;
+
     private final TopicRepository topicRepository;
     private final TopicFinder topicFinder;
     private final TopicValidator validator;
     private final TopicNotifier notifier;
     private final CourseFinder courseFinder;
     private final TopicPermissionService topicPermissionService;
+    private final ReplyService replyService;
+    private final TopicFollowService topicFollowService;
+    private final TopicListingCache topicListingCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContentModerationPolicy moderationPolicy;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AuthenticatedUserProvider authenticatedUserProvider;
+
+    public TopicServiceImpl(
+            TopicRepository topicRepository,
+            TopicFinder topicFinder,
+            TopicValidator validator,
+            TopicNotifier notifier,
+            CourseFinder courseFinder,
+            TopicPermissionService topicPermissionService,
+            ReplyService replyService,
+            TopicFollowService topicFollowService,
+            TopicListingCache topicListingCache,
+            ApplicationEventPublisher eventPublisher,
+            ContentModerationPolicy moderationPolicy,
+            PlatformTransactionManager transactionManager,
+            AuthenticatedUserProvider authenticatedUserProvider
+    ) {
+        this.topicRepository = topicRepository;
+        this.topicFinder = topicFinder;
+        this.validator = validator;
+        this.notifier = notifier;
+        this.courseFinder = courseFinder;
+        this.topicPermissionService = topicPermissionService;
+        this.replyService = replyService;
+        this.topicFollowService = topicFollowService;
+        this.topicListingCache = topicListingCache;
+        this.eventPublisher = eventPublisher;
+        this.moderationPolicy = moderationPolicy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.authenticatedUserProvider = authenticatedUserProvider;
+    }
 
+    // Not transactional: the duplicate checks and the AI moderation run before the write transaction is opened,
+    // so no connection is held while waiting for the AI
     @Override
-    @Transactional
     public TopicDTO createTopic(InputTopicDTO topicRequest) {
         UserEntity currentUser = topicPermissionService.getCurrentUser();
         log.info("Creating topic by user ID: {}", currentUser.getId());
 
-        validator.ensureTitleIsValid(topicRequest.title());
-        validator.ensureDescriptionIsValid(topicRequest.description());
+        validator.ensureTitleIsUnique(topicRequest.title());
+        validator.ensureDescriptionIsUnique(topicRequest.description());
+        ModerationStatus moderationStatus = moderationPolicy.moderateNewContent(() -> {
+            validator.ensureTitleIsApproved(topicRequest.title());
+            validator.ensureDescriptionIsApproved(topicRequest.description());
+        });
 
-        CourseEntity course = courseFinder.findCourseById(topicRequest.courseId());
+        return transactionTemplate.execute(transaction -> {
+            CourseEntity course = courseFinder.findCourseById(topicRequest.courseId());
 
-        TopicEntity createdTopic = topicRepository.save(new TopicEntity(currentUser, topicRequest.title(), topicRequest.description(), course));
-        log.info("Topic created with ID: {} for course ID: {} by user ID: {}", createdTopic.getId(), course.getId(), currentUser.getId());
+            TopicEntity newTopic = new TopicEntity(currentUser, topicRequest.title(), topicRequest.description(), course);
+            newTopic.setModerationStatus(moderationStatus);
+            TopicEntity createdTopic = topicRepository.save(newTopic);
+            log.info("Topic created with ID: {} for course ID: {} by user ID: {} - moderation: {}", createdTopic.getId(), course.getId(), currentUser.getId(), moderationStatus);
+            eventPublisher.publishEvent(TopicListingChangedEvent.membershipChanged(createdTopic));
 
-        return TopicDTO.fromEntity(createdTopic);
+            return TopicDTO.fromEntity(createdTopic);
+        });
     }
 
+    // Not transactional, so that a cache hit does not borrow a connection. A miss loads the page (content and count)
+    // in one read-only transaction, which replica routing sends to a replica
     @Override
-    @Transactional(readOnly = true)
     public Page<TopicDTO> getAllTopics(Pageable pageable, Long courseId, String keyword, TopicEntity.Status status) {
         log.debug("Fetching topics - page: {}, size: {}, courseId: {}, keyword: {}, status: {}",
                 pageable.getPageNumber(), pageable.getPageSize(), courseId, keyword, status);
 
+        TopicListingKey key = new TopicListingKey(pageable.getPageNumber(), pageable.getPageSize(), courseId, keyword, status);
+        return topicListingCache.get(key, () -> readOnlyTransaction.execute(transaction -> findTopics(pageable, courseId, keyword, status)));
+    }
+
+    private Page<TopicDTO> findTopics(Pageable pageable, Long courseId, String keyword, TopicEntity.Status status) {
         if (courseId != null || keyword != null || status != null) {
-            return topicRepository.findByFilters(courseId, keyword, status, pageable).map(TopicDTO::fromEntity);
+            Optional<String> fullTextQuery = FullTextQuery.from(keyword);
+            if (fullTextQuery.isPresent()) {
+                return topicRepository.searchByFilters(courseId, fullTextQuery.get(), status, pageable);
+            }
+            return topicRepository.findByFilters(courseId, keyword, status, pageable);
         }
-        return topicRepository.findAllSortedByCreationDate(pageable).map(TopicDTO::fromEntity);
+        return topicRepository.findAllSortedByCreationDate(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TopicDTO> getAllTopicsAfter(String after, int size, Long courseId, String keyword, TopicEntity.Status status) {
+        log.debug("Fetching topics after cursor - size: {}, courseId: {}, keyword: {}, status: {}", size, courseId, keyword, status);
+
+        Cursor cursor = Cursor.decode(after);
+        Limit limit = CursorPage.limitFor(size);
+        List<TopicDTO> topics;
+
+        if (courseId != null || keyword != null || status != null) {
+            Optional<String> fullTextQuery = FullTextQuery.from(keyword);
+            topics = fullTextQuery.isPresent()
+                    ? topicRepository.searchByFiltersAfter(courseId, fullTextQuery.get(), status, cursor.timestamp(), cursor.id(), limit)
+                    : topicRepository.findByFiltersAfter(courseId, keyword, status, cursor.timestamp(), cursor.id(), limit);
+        } else {
+            topics = topicRepository.findAllAfter(cursor.timestamp(), cursor.id(), limit);
+        }
+
+        return CursorPage.of(topics, size, topic -> new Cursor(topic.createdAt(), topic.id()));
     }
 
     @Override
@@ -68,9 +177,28 @@ public class TopicServiceImpl implements TopicService {
         log.debug("Fetching topics for user ID: {} - keyword: {}", currentUser.getId(), keyword);
 
         if (keyword != null ) {
-            return topicRepository.findByUserFilters(currentUser, keyword, pageable).map(TopicDTO::fromEntity);
+            Optional<String> fullTextQuery = FullTextQuery.from(keyword);
+            if (fullTextQuery.isPresent()) {
+                return topicRepository.searchByUserFilters(currentUser, fullTextQuery.get(), pageable);
+            }
+            return topicRepository.findByUserFilters(currentUser, keyword, pageable);
         }
-        return topicRepository.findByUserSortedByCreationDate(currentUser, pageable).map(TopicDTO::fromEntity);
+        return topicRepository.findByUserSortedByCreationDate(currentUser, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TopicDTO> getAllTopicsByUserAfter(String after, int size, String keyword) {
+        UserEntity currentUser = topicPermissionService.getCurrentUser();
+        log.debug("Fetching topics after cursor for user ID: {} - keyword: {}", currentUser.getId(), keyword);
+
+        Cursor cursor = Cursor.decode(after);
+        Limit limit = CursorPage.limitFor(size);
+        Optional<String> fullTextQuery = FullTextQuery.from(keyword);
+        List<TopicDTO> topics = fullTextQuery.isPresent()
+                ? topicRepository.searchByUserFiltersAfter(currentUser, fullTextQuery.get(), cursor.timestamp(), cursor.id(), limit)
+                : topicRepository.findByUserFiltersAfter(currentUser, keyword, cursor.timestamp(), cursor.id(), limit);
+        return CursorPage.of(topics, size, topic -> new Cursor(topic.createdAt(), topic.id()));
     }
 
     @Override
@@ -78,36 +206,99 @@ public class TopicServiceImpl implements TopicService {
     public TopicDetailsDTO getTopicById(Long topicId) {
         log.debug("Fetching topic details with ID: {}", topicId);
         TopicEntity topic = topicFinder.findTopicById(topicId);
-        return TopicDetailsDTO.fromEntity(topic);
+        topicPermissionService.checkCanView(topic);
+        return toDetails(topic);
     }
 
+    // One IN query over the listing projection; unknown, deleted or hidden IDs are reported as missing
     @Override
-    @Transactional
-    public TopicDetailsDTO updateTopic(InputTopicDTO topicRequest, Long topicId) {
-        TopicEntity topicToUpdate = topicFinder.findTopicById(topicId);
-        UserEntity currentUser = topicPermissionService.checkCanModify(topicToUpdate);
-        log.info("Updating topic ID: {} by user ID: {}", topicId, currentUser.getId());
+    @Transactional(readOnly = true)
+    public BatchResponse<TopicDTO> getTopicsByIds(List<Long> topicIds) {
+        List<Long> ids = BatchResponse.requestedIds(topicIds);
+        log.debug("Fetching {} topics by ID", ids.size());
+        Optional<UserEntity> viewer = authenticatedUserProvider.findAuthenticatedUser();
+        List<TopicDTO> topics = topicRepository.findVisibleByIdIn(
+                ids,
+                viewer.map(UserEntity::getId).orElse(null),
+                viewer.map(UserEntity::hasElevatedPermissions).orElse(false)
+        );
+        return BatchResponse.of(ids, topics, TopicDTO::id);
+    }
 
-        CourseEntity course = courseFinder.findCourseById(topicRequest.courseId());
+    // The detail carries the caller's follow flag, so it is part of the ETag as well
+    @Override
+    @Transactional(readOnly = true)
+    public String getTopicETag(Long topicId) {
+        return eTagOf(findVisibleVersion(topicId));
+    }
+
+    // Read for the caller: a topic it cannot see is not found, also in conditional requests
+    private TopicVersion findVisibleVersion(Long topicId) {
+        Optional<UserEntity> viewer = authenticatedUserProvider.findAuthenticatedUser();
+        return topicFinder.findVisibleTopicVersion(
+                topicId,
+                viewer.map(UserEntity::getId).orElse(null),
+                viewer.map(UserEntity::hasElevatedPermissions).orElse(false)
+        );
+    }
 
-        if (!topicRequest.title().equals(topicToUpdate.getTitle())) {
+    private String eTagOf(TopicVersion version) {
+        return ETags.versioned(version.version(), version, topicFollowService.isFollowedByCurrentUser(version.topicId()));
+    }
+
+    // Not transactional: the checks and the AI moderation run on the topic as read first, without holding a connection.
+    // The write then requires that same version, so a change made in between is reported as a conflict
+    @Override
+    public TopicDetailsDTO updateTopic(InputTopicDTO topicRequest, Long topicId, Set<Long> expectedVersions) {
+        TopicEntity checkedTopic = topicFinder.findTopicById(topicId);
+        topicPermissionService.checkCanModify(checkedTopic);
+        VersionConflictException.ensureMatches(expectedVersions, checkedTopic.getVersion());
+
+        // Compared by hash so that a case or whitespace-only edit is not reported as a duplicate of the topic itself
+        if (!ContentHash.of(topicRequest.title()).equals(checkedTopic.getTitleHash())) {
             validator.ensureTitleIsValid(topicRequest.title());
+        } else if (!checkedTopic.isPublished()) {
+            validator.ensureTitleIsApproved(topicRequest.title()); // Pending or rejected: the unchanged text was never approved
         }
 
-        if(!topicRequest.description().equals(topicToUpdate.getDescription())) {
+        if (!ContentHash.of(topicRequest.description()).equals(checkedTopic.getDescriptionHash())) {
             validator.ensureDescriptionIsValid(topicRequest.description());
+        } else if (!checkedTopic.isPublished()) {
+            validator.ensureDescriptionIsApproved(topicRequest.description());
         }
 
+        try {
+            return transactionTemplate.execute(transaction -> updateCheckedTopic(topicRequest, topicId, checkedTopic.getVersion()));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // A concurrent write committed between the check and the flush; the transaction is already rolled back
+            throw new VersionConflictException(findVisibleVersion(topicId).version());
+        }
+    }
+
+    private TopicDetailsDTO updateCheckedTopic(InputTopicDTO topicRequest, Long topicId, Long checkedVersion) {
+        TopicEntity topicToUpdate = topicFinder.findTopicById(topicId);
+        UserEntity currentUser = topicPermissionService.checkCanModify(topicToUpdate);
+        VersionConflictException.ensureMatches(checkedVersion, topicToUpdate.getVersion());
+        log.info("Updating topic ID: {} by user ID: {}", topicId, currentUser.getId());
+
+        CourseEntity course = courseFinder.findCourseById(topicRequest.courseId());
+        Long previousCourseId = topicToUpdate.getCourse() != null ? topicToUpdate.getCourse().getId() : null;
+
         topicToUpdate.setTitle(topicRequest.title());
         topicToUpdate.setDescription(topicRequest.description());
         topicToUpdate.setCourse(course);
+        // Both fields passed the AI check above, so a pending or rejected topic is published by the edit. The version
+        // bump makes a moderation result still in flight for the previous content be discarded
+        topicToUpdate.setModerationStatus(ModerationStatus.PUBLISHED);
 
-        TopicEntity updatedTopic = topicRepository.save(topicToUpdate);
+        TopicEntity updatedTopic = topicRepository.saveAndFlush(topicToUpdate); // Flushed so the response carries the new version
         log.info("Topic updated ID: {} by user ID: {}", updatedTopic.getId(), currentUser.getId());
+        Set<Long> courseIds = Stream.of(previousCourseId, course.getId()).filter(Objects::nonNull).collect(Collectors.toSet());
+        eventPublisher.publishEvent(TopicListingChangedEvent.membershipChanged(updatedTopic, courseIds, Set.of(updatedTopic.getStatus())));
 
         notifier.notifyTopicEdited(updatedTopic, currentUser);
 
-        return TopicDetailsDTO.fromEntity(updatedTopic);
+        return toDetails(updatedTopic);
     }
 
     @Override
@@ -117,8 +308,31 @@ public class TopicServiceImpl implements TopicService {
         UserEntity currentUser = topicPermissionService.checkCanModify(topicToDelete);
         topicToDelete.markAsDeleted(); //topicRepository.delete(topic);
         log.info("Topic marked as deleted - ID: {} by user ID: {}", topicId, currentUser.getId());
+        eventPublisher.publishEvent(TopicListingChangedEvent.membershipChanged(topicToDelete));
 
         notifier.notifyTopicDeleted(topicToDelete, currentUser);
     }
 
+    @Override
+    @Transactional
+    public void applyModerationResult(Long topicId, Long version, ModerationStatus result) {
+        if (topicRepository.applyModeration(topicId, version, result) == 0) {
+            log.info("Moderation result for topic ID: {} discarded, the topic changed while it was moderated", topicId);
+            return;
+        }
+        log.info("Topic ID: {} moderated: {}", topicId, result);
+
+        if (result == ModerationStatus.PUBLISHED) {
+            eventPublisher.publishEvent(TopicListingChangedEvent.membershipChanged(topicFinder.findTopicById(topicId)));
+        }
+    }
+
+    private TopicDetailsDTO toDetails(TopicEntity topic) {
+        return TopicDetailsDTO.fromEntity(
+                topic,
+                replyService.getRepliesByTopic(topic.getId(), null, DETAIL_REPLIES_PAGE_SIZE),
+                topicFollowService.isFollowedByCurrentUser(topic.getId())
+        );
+    }
+
 }
@@ -0,0 +1,13 @@
+package com.williammedina.forohub.domain.topic.service.cache;
+
+import com.williammedina.forohub.domain.topic.dto.TopicDTO;
+import org.springframework.data.domain.Page;
+
+import java.util.function.Supplier;
+
+public interface TopicListingCache {
+
+    Page<TopicDTO> get(TopicListingKey key, Supplier<Page<TopicDTO>> loader);
+    void evict(TopicListingChangedEvent event);
+
+}
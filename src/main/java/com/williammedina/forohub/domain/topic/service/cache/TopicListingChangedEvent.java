@@ -0,0 +1,32 @@
+package com.williammedina.forohub.domain.topic.service.cache;
+
+import com.williammedina.forohub.domain.topic.entity.TopicEntity;
+
+import java.util.Set;
+
+/**
+ * Published when a change affects the public topic listing. Cached pages that contain the topic are always evicted;
+ * when the topic entered or left a listing (create, delete, course or status change) the pages whose filters can match
+ * any of the given courses and statuses are evicted too, since the following rows shift.
+ */
+public record TopicListingChangedEvent(
+        Long topicId,
+        boolean membershipChanged,
+        Set<Long> courseIds,
+        Set<TopicEntity.Status> statuses
+) {
+
+    // Only the row itself changed (e.g. its replies count); the order of the listings is unaffected
+    public static TopicListingChangedEvent contentChanged(Long topicId) {
+        return new TopicListingChangedEvent(topicId, false, Set.of(), Set.of());
+    }
+
+    public static TopicListingChangedEvent membershipChanged(TopicEntity topic, Set<Long> courseIds, Set<TopicEntity.Status> statuses) {
+        return new TopicListingChangedEvent(topic.getId(), true, courseIds, statuses);
+    }
+
+    public static TopicListingChangedEvent membershipChanged(TopicEntity topic) {
+        Set<Long> courseIds = topic.getCourse() != null ? Set.of(topic.getCourse().getId()) : Set.of();
+        return membershipChanged(topic, courseIds, Set.of(topic.getStatus()));
+    }
+}
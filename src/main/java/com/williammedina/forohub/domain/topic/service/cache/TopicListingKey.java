@@ -0,0 +1,19 @@
+package com.williammedina.forohub.domain.topic.service.cache;
+
+import com.williammedina.forohub.domain.topic.entity.TopicEntity;
+
+public record TopicListingKey(
+        int page,
+        int size,
+        Long courseId,
+        String keyword,
+        TopicEntity.Status status
+) {
+
+    // Whether a topic in one of these courses/statuses could appear in this listing. Keyword matching is not
+    // re-evaluated here, so keyword listings are treated as matching
+    public boolean mayInclude(TopicListingChangedEvent event) {
+        return (courseId == null || event.courseIds().contains(courseId))
+                && (status == null || event.statuses().contains(status));
+    }
+}
@@ -0,0 +1,13 @@
+package com.williammedina.forohub.domain.topic.service.duplicate;
+
+/**
+ * In-memory pre-check for the duplicate title/description validation. A {@code false} answer means the hash
+ * is certainly not used by any topic, so the database lookup can be skipped; {@code true} means "maybe".
+ */
+public interface TopicDuplicateFilter {
+
+    boolean mightContainTitle(String titleHash);
+    boolean mightContainDescription(String descriptionHash);
+    void add(String titleHash, String descriptionHash);
+
+}
@@ -1,9 +1,11 @@
 package com.williammedina.forohub.domain.topic.service.finder;
 
+import com.williammedina.forohub.domain.topic.dto.TopicVersion;
 import com.williammedina.forohub.domain.topic.entity.TopicEntity;
 
 public interface TopicFinder {
 
     TopicEntity findTopicById(Long topicId);
+    TopicVersion findVisibleTopicVersion(Long topicId, Long viewerId, boolean elevated);
 
 }
@@ -1,5 +1,6 @@
 package com.williammedina.forohub.domain.topic.service.finder;
 
+import com.williammedina.forohub.domain.topic.dto.TopicVersion;
 import com.williammedina.forohub.domain.topic.entity.TopicEntity;
 import com.williammedina.forohub.domain.topic.repository.TopicRepository;
 import com.williammedina.forohub.infrastructure.exception.AppException;
@@ -23,4 +24,13 @@ public class TopicFinderImpl implements TopicFinder {
                     return new AppException("Tópico no encontrado", HttpStatus.NOT_FOUND);
                 });
     }
+
+    @Override
+    public TopicVersion findVisibleTopicVersion(Long topicId, Long viewerId, boolean elevated) {
+        return topicRepository.findVisibleVersionById(topicId, viewerId, elevated)
+                .orElseThrow(() -> {
+                    log.warn("Topic not found with ID: {}", topicId);
+                    return new AppException("Tópico no encontrado", HttpStatus.NOT_FOUND);
+                });
+    }
 }
@@ -1,27 +1,28 @@
 package com.williammedina.forohub.domain.topic.service.notifier;
 
-import com.williammedina.forohub.domain.email.EmailService;
-import com.williammedina.forohub.domain.notification.service.NotificationService;
+import com.williammedina.forohub.domain.outbox.entity.OutboxEventEntity;
+import com.williammedina.forohub.domain.outbox.service.OutboxService;
 import com.williammedina.forohub.domain.topic.entity.TopicEntity;
 import com.williammedina.forohub.domain.user.entity.UserEntity;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+/**
+ * Records the notifications in the outbox within the caller's transaction; OutboxWorker delivers them after commit.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TopicNotifierImpl implements TopicNotifier {
 
-    private final NotificationService notificationService;
-    private final EmailService emailService;
+    private final OutboxService outboxService;
 
     @Override
     public void notifyTopicEdited(TopicEntity topic, UserEntity editor) {
         if(!editor.equals(topic.getUser())) {
             log.debug("Notifying topic owner ID: {} about update", topic.getId());
-            notificationService.notifyTopicEdited(topic);
-            emailService.notifyTopicEdited(topic);
+            outboxService.enqueue(OutboxEventEntity.Type.TOPIC_EDITED, topic, null, editor);
         }
     }
 
@@ -29,8 +30,7 @@ public class TopicNotifierImpl implements TopicNotifier {
     public void notifyTopicDeleted(TopicEntity topic, UserEntity editor) {
         if(!editor.equals(topic.getUser())) {
             log.debug("Notifying topic owner ID: {} about deletion", topic.getId());
-            notificationService.notifyTopicDeleted(topic);
-            emailService.notifyTopicDeleted(topic);
+            outboxService.enqueue(OutboxEventEntity.Type.TOPIC_DELETED, topic, null, editor);
         }
     }
 }
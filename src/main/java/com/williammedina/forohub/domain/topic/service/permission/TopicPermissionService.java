@@ -7,5 +7,6 @@ public interface TopicPermissionService {
 
     UserEntity getCurrentUser();
     UserEntity checkCanModify(TopicEntity topic);
+    void checkCanView(TopicEntity topic);
 
 }
@@ -30,4 +30,16 @@ public class TopicPermissionServiceImpl implements TopicPermissionService {
         }
         return currentUser;
     }
+
+    // Topics waiting for or rejected by moderation are only shown to their author and to moderators
+    @Override
+    public void checkCanView(TopicEntity topic) {
+        boolean canView = topic.isPublished() || authenticatedUserProvider.findAuthenticatedUser()
+                .map(user -> topic.getUser().equals(user) || user.hasElevatedPermissions())
+                .orElse(false);
+        if (!canView) {
+            log.warn("Topic ID: {} is not published ({})", topic.getId(), topic.getModerationStatus());
+            throw new AppException("Tópico no encontrado", HttpStatus.NOT_FOUND);
+        }
+    }
 }
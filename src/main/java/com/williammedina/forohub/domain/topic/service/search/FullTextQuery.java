@@ -0,0 +1,36 @@
+package com.williammedina.forohub.domain.topic.service.search;
+
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public final class FullTextQuery {
+
+    // InnoDB does not index tokens shorter than innodb_ft_min_token_size (3 by default)
+    private static final int MIN_TOKEN_LENGTH = 3;
+    private static final int MAX_TERMS = 10;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private FullTextQuery() {
+    }
+
+    /**
+     * Builds a boolean-mode full-text query where every term is required and matched as a prefix,
+     * e.g. "Spring Boot" becomes "+Spring* +Boot*". Boolean operators typed by the user are dropped.
+     * Returns empty when no term is long enough to be indexed, so callers can fall back to the LIKE search.
+     */
+    public static Optional<String> from(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return Optional.empty();
+        }
+
+        String query = TOKEN_SEPARATOR.splitAsStream(keyword.strip())
+                .filter(token -> token.length() >= MIN_TOKEN_LENGTH)
+                .distinct()
+                .limit(MAX_TERMS)
+                .map(token -> "+" + token + "*")
+                .collect(Collectors.joining(" "));
+
+        return query.isEmpty() ? Optional.empty() : Optional.of(query);
+    }
+}
@@ -4,5 +4,9 @@ public interface TopicValidator {
 
     void ensureTitleIsValid(String title);
     void ensureDescriptionIsValid(String description);
+    void ensureTitleIsUnique(String title);
+    void ensureDescriptionIsUnique(String description);
+    void ensureTitleIsApproved(String title);
+    void ensureDescriptionIsApproved(String description);
 
 }
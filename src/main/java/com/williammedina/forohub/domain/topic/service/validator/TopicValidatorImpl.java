@@ -1,7 +1,9 @@
 package com.williammedina.forohub.domain.topic.service.validator;
 
 import com.williammedina.forohub.domain.contentvalidation.ContentValidationService;
+import com.williammedina.forohub.domain.topic.entity.ContentHash;
 import com.williammedina.forohub.domain.topic.repository.TopicRepository;
+import com.williammedina.forohub.domain.topic.service.duplicate.TopicDuplicateFilter;
 import com.williammedina.forohub.infrastructure.exception.AppException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,14 +17,40 @@ public class TopicValidatorImpl implements TopicValidator {
 
     private final TopicRepository topicRepository;
     private final ContentValidationService contentValidationService;
+    private final TopicDuplicateFilter duplicateFilter;
 
     @Override
     public void ensureTitleIsValid(String title) {
-        if (topicRepository.existsByTitle(title)) {
+        ensureTitleIsUnique(title);
+        ensureTitleIsApproved(title);
+    }
+
+    @Override
+    public void ensureDescriptionIsValid(String description) {
+        ensureDescriptionIsUnique(description);
+        ensureDescriptionIsApproved(description);
+    }
+
+    @Override
+    public void ensureTitleIsUnique(String title) {
+        String titleHash = ContentHash.of(title);
+        if (duplicateFilter.mightContainTitle(titleHash) && topicRepository.existsByTitleHash(titleHash)) {
             log.warn("Topic already exists with title: {}", title);
             throw new AppException("El título ya existe.", HttpStatus.CONFLICT);
         }
+    }
+
+    @Override
+    public void ensureDescriptionIsUnique(String description) {
+        String descriptionHash = ContentHash.of(description);
+        if (duplicateFilter.mightContainDescription(descriptionHash) && topicRepository.existsByDescriptionHash(descriptionHash)) {
+            log.warn("Topic already exists with description: {}", description);
+            throw new AppException("La descripción ya existe.", HttpStatus.CONFLICT);
+        }
+    }
 
+    @Override
+    public void ensureTitleIsApproved(String title) {
         String result = contentValidationService.validateContent(title);
         if (!"approved".equals(result)) {
             log.warn("Title content not approved: {}", result);
@@ -31,12 +59,7 @@ public class TopicValidatorImpl implements TopicValidator {
     }
 
     @Override
-    public void ensureDescriptionIsValid(String description) {
-        if (topicRepository.existsByDescription(description)) {
-            log.warn("Topic already exists with description: {}", description);
-            throw new AppException("La descripción ya existe.", HttpStatus.CONFLICT);
-        }
-
+    public void ensureDescriptionIsApproved(String description) {
         String result = contentValidationService.validateContent(description);
         if (!"approved".equals(result)) {
             log.warn("Description content not approved: {}", result);
@@ -0,0 +1,7 @@
+package com.williammedina.forohub.domain.topicfollow.dto;
+
+import java.time.LocalDateTime;
+
+// Internal projection used to fan notifications and emails out to the followers of a topic
+public record FollowerContact(Long userId, String email, LocalDateTime followedAt) {
+}
@@ -1,6 +1,8 @@
 package com.williammedina.forohub.domain.topicfollow.dto;
 
+import com.williammedina.forohub.domain.contentvalidation.ModerationStatus;
 import com.williammedina.forohub.domain.topic.dto.TopicDTO;
+import com.williammedina.forohub.domain.topic.entity.TopicEntity;
 import com.williammedina.forohub.domain.topicfollow.entity.TopicFollowEntity;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.annotation.Nullable;
@@ -16,6 +18,13 @@ public record TopicFollowDetailsDTO(
         LocalDateTime followedAt
 ) {
 
+    // Flat constructor used by the JPQL constructor projections in TopicFollowRepository
+    public TopicFollowDetailsDTO(Long id, String title, String description, String course, String category, String author,
+                                 Integer repliesCount, TopicEntity.Status status, LocalDateTime createdAt, LocalDateTime updatedAt,
+                                 ModerationStatus moderationStatus, LocalDateTime followedAt) {
+        this(new TopicDTO(id, title, description, course, category, author, repliesCount, status, createdAt, updatedAt, moderationStatus), followedAt);
+    }
+
     public static TopicFollowDetailsDTO fromEntity(TopicFollowEntity topicFollow) {
 
         return new TopicFollowDetailsDTO(
@@ -15,6 +15,11 @@ public record TopicFollowerDTO(
         LocalDateTime followedAt
 ) {
 
+    // Flat constructor used by the JPQL constructor projection in TopicFollowRepository
+    public TopicFollowerDTO(Long userId, String username, String profile, LocalDateTime followedAt) {
+        this(new UserDTO(userId, username, profile), followedAt);
+    }
+
     public static TopicFollowerDTO fromEntity(TopicFollowEntity topicFollow) {
         return new TopicFollowerDTO(
                 UserDTO.fromEntity(topicFollow.getUser()),
@@ -1,13 +1,23 @@
 package com.williammedina.forohub.domain.topicfollow.repository;
 
+import com.williammedina.forohub.domain.topic.repository.TopicRepository;
+import com.williammedina.forohub.domain.topicfollow.dto.FollowerContact;
+import com.williammedina.forohub.domain.topicfollow.dto.TopicFollowDetailsDTO;
+import com.williammedina.forohub.domain.topicfollow.dto.TopicFollowerDTO;
 import com.williammedina.forohub.domain.topicfollow.entity.TopicFollowEntity;
 import com.williammedina.forohub.domain.user.entity.UserEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 public interface TopicFollowRepository extends JpaRepository<TopicFollowEntity, Long> {
 
     @Query("SELECT CASE WHEN COUNT(t) > 0 THEN true ELSE false END FROM TopicFollow t " +
@@ -15,27 +25,106 @@ public interface TopicFollowRepository extends JpaRepository<TopicFollowEntity,
             "AND t.topic.isDeleted = false")
     boolean existsByUserIdAndTopicId(@Param("userId") Long userId, @Param("topicId") Long topicId);
 
-    void deleteByUserIdAndTopicId(Long userId, Long topicId);
+    // Returns the number of rows removed, so that the followers counter is only decremented for an actual unfollow
+    @Modifying
+    @Query("DELETE FROM TopicFollow f WHERE f.user.id = :userId AND f.topic.id = :topicId")
+    int deleteByUserIdAndTopicId(@Param("userId") Long userId, @Param("topicId") Long topicId);
 
     @Query("SELECT COUNT(t) FROM TopicFollow t " +
             "WHERE t.user.id = :id AND t.topic.isDeleted = false")
     long countByUserId(@Param("id") Long id);
 
+    // Listings are read as flat TopicFollowDetailsDTO constructor projections, reusing the TopicDTO columns
+    String SELECT_TOPIC_FOLLOW_DTO = "SELECT new com.williammedina.forohub.domain.topicfollow.dto.TopicFollowDetailsDTO(" +
+            TopicRepository.TOPIC_DTO_COLUMNS + ", f.followedAt) " +
+            "FROM TopicFollow f JOIN f.topic t JOIN t.user u LEFT JOIN t.course c ";
+
     // @Query("SELECT t FROM TopicFollow t " + "LEFT JOIN t.topic.course c " + "WHERE t.user = :user " + "AND (:keyword IS NULL OR (t.topic.title LIKE CONCAT('%', :keyword, '%') OR c.category LIKE CONCAT('%', :keyword, '%'))) " + "ORDER BY t.followedAt DESC")
-    @Query("SELECT t FROM TopicFollow t " +
-            "LEFT JOIN t.topic.course c " +
-            "WHERE t.user = :user " +
-            "AND (:keyword IS NULL OR (t.topic.title LIKE CONCAT('%', :keyword, '%') OR c.category LIKE CONCAT('%', :keyword, '%'))) " +
-            "AND t.topic.isDeleted = false " +
-            "ORDER BY t.followedAt DESC")
-    Page<TopicFollowEntity> findByUserFilters(
+    @Query(SELECT_TOPIC_FOLLOW_DTO +
+            "WHERE f.user = :user " +
+            "AND (:keyword IS NULL OR (t.title LIKE CONCAT('%', :keyword, '%') OR c.category LIKE CONCAT('%', :keyword, '%'))) " +
+            "AND t.isDeleted = false " +
+            "ORDER BY f.followedAt DESC")
+    Page<TopicFollowDetailsDTO> findByUserFilters(
             UserEntity user,
             @Param("keyword") String keyword,
             Pageable pageable
     );
 
+    // Full-text variant of findByUserFilters, ordered by relevance. The query must be built with FullTextQuery
+    @Query(SELECT_TOPIC_FOLLOW_DTO +
+            "WHERE f.user = :user " +
+            "AND t.isDeleted = false " +
+            "AND match_against(t.searchText, :query) > 0 " +
+            "ORDER BY match_against(t.searchText, :query) DESC, f.followedAt DESC")
+    Page<TopicFollowDetailsDTO> searchByUserFilters(
+            UserEntity user,
+            @Param("query") String query,
+            Pageable pageable
+    );
+
     //@Query("SELECT t FROM TopicFollow t WHERE t.user = :user ORDER BY t.followedAt DESC")
-    @Query("SELECT t FROM TopicFollow t " + "WHERE t.user = :user " + "AND t.topic.isDeleted = false " + "ORDER BY t.followedAt DESC")
-    Page<TopicFollowEntity> findByUserSortedByCreationDate(UserEntity user, Pageable pageable);
+    @Query(SELECT_TOPIC_FOLLOW_DTO + "WHERE f.user = :user " + "AND t.isDeleted = false " + "ORDER BY f.followedAt DESC")
+    Page<TopicFollowDetailsDTO> findByUserSortedByCreationDate(UserEntity user, Pageable pageable);
+
+    // Keyset variant of findByUserSortedByCreationDate and findByUserFilters. A null cursor returns the first page.
+    // A user follows a topic at most once, so the topic id breaks ties between follows made in the same second
+    @Query(SELECT_TOPIC_FOLLOW_DTO +
+            "WHERE f.user = :user " +
+            "AND t.isDeleted = false " +
+            "AND (:keyword IS NULL OR (t.title LIKE CONCAT('%', :keyword, '%') OR c.category LIKE CONCAT('%', :keyword, '%'))) " +
+            "AND (:cursorFollowedAt IS NULL OR f.followedAt < :cursorFollowedAt OR (f.followedAt = :cursorFollowedAt AND t.id < :cursorTopicId)) " +
+            "ORDER BY f.followedAt DESC, t.id DESC")
+    List<TopicFollowDetailsDTO> findByUserFiltersAfter(
+            UserEntity user,
+            @Param("keyword") String keyword,
+            @Param("cursorFollowedAt") LocalDateTime cursorFollowedAt,
+            @Param("cursorTopicId") Long cursorTopicId,
+            Limit limit
+    );
+
+    // Full-text variant of findByUserFiltersAfter. Relevance cannot be used as a stable keyset, so results keep the follow order
+    @Query(SELECT_TOPIC_FOLLOW_DTO +
+            "WHERE f.user = :user " +
+            "AND t.isDeleted = false " +
+            "AND match_against(t.searchText, :query) > 0 " +
+            "AND (:cursorFollowedAt IS NULL OR f.followedAt < :cursorFollowedAt OR (f.followedAt = :cursorFollowedAt AND t.id < :cursorTopicId)) " +
+            "ORDER BY f.followedAt DESC, t.id DESC")
+    List<TopicFollowDetailsDTO> searchByUserFiltersAfter(
+            UserEntity user,
+            @Param("query") String query,
+            @Param("cursorFollowedAt") LocalDateTime cursorFollowedAt,
+            @Param("cursorTopicId") Long cursorTopicId,
+            Limit limit
+    );
+
+    // Followers of a topic, most recent first. A user follows a topic at most once, so the user id breaks ties
+    @Query("SELECT new com.williammedina.forohub.domain.topicfollow.dto.TopicFollowerDTO(u.id, u.username, p.name, f.followedAt) " +
+            "FROM TopicFollow f JOIN f.user u JOIN u.profile p " +
+            "WHERE f.topic.id = :topicId " +
+            "AND (:cursorFollowedAt IS NULL OR f.followedAt < :cursorFollowedAt OR (f.followedAt = :cursorFollowedAt AND u.id < :cursorUserId)) " +
+            "ORDER BY f.followedAt DESC, u.id DESC")
+    List<TopicFollowerDTO> findFollowersByTopicAfter(
+            @Param("topicId") Long topicId,
+            @Param("cursorFollowedAt") LocalDateTime cursorFollowedAt,
+            @Param("cursorUserId") Long cursorUserId,
+            Limit limit
+    );
+
+    // Fan-out walk over the followers of a topic, in chunks, on the same index as findFollowersByTopicAfter.
+    // excludedUserIds must not be empty (callers always exclude at least the topic owner)
+    @Query("SELECT new com.williammedina.forohub.domain.topicfollow.dto.FollowerContact(u.id, u.email, f.followedAt) " +
+            "FROM TopicFollow f JOIN f.user u " +
+            "WHERE f.topic.id = :topicId " +
+            "AND u.id NOT IN :excludedUserIds " +
+            "AND (:cursorFollowedAt IS NULL OR f.followedAt < :cursorFollowedAt OR (f.followedAt = :cursorFollowedAt AND u.id < :cursorUserId)) " +
+            "ORDER BY f.followedAt DESC, u.id DESC")
+    List<FollowerContact> findFollowerContactsAfter(
+            @Param("topicId") Long topicId,
+            @Param("excludedUserIds") Collection<Long> excludedUserIds,
+            @Param("cursorFollowedAt") LocalDateTime cursorFollowedAt,
+            @Param("cursorUserId") Long cursorUserId,
+            Limit limit
+    );
 
 }
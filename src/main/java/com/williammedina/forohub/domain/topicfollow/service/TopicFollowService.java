@@ -1,13 +1,24 @@
 package com.williammedina.forohub.domain.topicfollow.service;
 
+import com.williammedina.forohub.domain.topicfollow.dto.FollowerContact;
 import com.williammedina.forohub.domain.topicfollow.dto.TopicFollowDetailsDTO;
+import com.williammedina.forohub.domain.topicfollow.dto.TopicFollowerDTO;
+import com.williammedina.forohub.infrastructure.pagination.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
 
 public interface TopicFollowService {
 
     TopicFollowDetailsDTO toggleFollowTopic(Long topicId);
     Page<TopicFollowDetailsDTO> getFollowedTopicsByUser(Pageable pageable, String keyword);
+    CursorPage<TopicFollowDetailsDTO> getFollowedTopicsByUserAfter(String after, int size, String keyword);
+    CursorPage<TopicFollowerDTO> getFollowersByTopic(Long topicId, String after, int size);
+    boolean isFollowedByCurrentUser(Long topicId);
+    void forEachFollowerChunk(Long topicId, Collection<Long> excludedUserIds, Consumer<List<FollowerContact>> chunkConsumer);
 
 }
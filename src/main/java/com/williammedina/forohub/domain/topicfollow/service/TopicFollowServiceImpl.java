@@ -1,22 +1,34 @@
 package com.williammedina.forohub.domain.topicfollow.service;
 
 import com.williammedina.forohub.domain.topic.entity.TopicEntity;
+import com.williammedina.forohub.domain.topic.repository.TopicRepository;
 import com.williammedina.forohub.domain.topic.dto.TopicDTO;
 import com.williammedina.forohub.domain.topic.service.finder.TopicFinder;
+import com.williammedina.forohub.domain.topic.service.search.FullTextQuery;
+import com.williammedina.forohub.domain.topicfollow.dto.FollowerContact;
 import com.williammedina.forohub.domain.topicfollow.dto.TopicFollowDetailsDTO;
+import com.williammedina.forohub.domain.topicfollow.dto.TopicFollowerDTO;
 import com.williammedina.forohub.domain.topicfollow.entity.TopicFollowEntity;
 import com.williammedina.forohub.domain.topicfollow.repository.TopicFollowRepository;
 import com.williammedina.forohub.domain.user.entity.UserEntity;
 import com.williammedina.forohub.domain.user.service.context.AuthenticatedUserProvider;
 import com.williammedina.forohub.infrastructure.exception.AppException;
+import com.williammedina.forohub.infrastructure.pagination.Cursor;
+import com.williammedina.forohub.infrastructure.pagination.CursorPage;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
 @Slf4j
 @Service
 @AllArgsConstructor
@@ -24,8 +36,11 @@ public class TopicFollowServiceImpl implements TopicFollowService {
 
     private final AuthenticatedUserProvider authenticatedUserProvider;
     private final TopicFollowRepository topicFollowRepository;
+    private final TopicRepository topicRepository;
     private final TopicFinder topicFinder;
 
+    private static final int FOLLOWER_CHUNK_SIZE = 500;
+
     @Override
     @Transactional
     public TopicFollowDetailsDTO toggleFollowTopic(Long topicId) {
@@ -40,12 +55,15 @@ public class TopicFollowServiceImpl implements TopicFollowService {
         boolean alreadyFollowing = topicFollowRepository.existsByUserIdAndTopicId(currentUser.getId(), topic.getId());
 
         if (alreadyFollowing) {
-            topicFollowRepository.deleteByUserIdAndTopicId(currentUser.getId(), topicId);
+            if (topicFollowRepository.deleteByUserIdAndTopicId(currentUser.getId(), topicId) > 0) {
+                topicRepository.decrementFollowersCount(topicId);
+            }
             log.info("User ID: {} unfollowed topic ID: {}", currentUser.getId(), topicId);
             return new TopicFollowDetailsDTO(TopicDTO.fromEntity(topic), null);
         }
 
         TopicFollowEntity newFollow = topicFollowRepository.save(new TopicFollowEntity(currentUser, topic));
+        topicRepository.incrementFollowersCount(topicId);
         log.info("User ID: {} followed topic ID: {}", currentUser.getId(), topicId);
         return new TopicFollowDetailsDTO(TopicDTO.fromEntity(newFollow.getTopic()), newFollow.getFollowedAt());
 
@@ -58,9 +76,64 @@ public class TopicFollowServiceImpl implements TopicFollowService {
         log.debug("Fetching followed topics for user ID: {}", currentUser.getId());
 
         if (keyword != null ) {
-            return topicFollowRepository.findByUserFilters(currentUser, keyword, pageable).map(TopicFollowDetailsDTO::fromEntity);
+            Optional<String> fullTextQuery = FullTextQuery.from(keyword);
+            if (fullTextQuery.isPresent()) {
+                return topicFollowRepository.searchByUserFilters(currentUser, fullTextQuery.get(), pageable);
+            }
+            return topicFollowRepository.findByUserFilters(currentUser, keyword, pageable);
         }
-        return topicFollowRepository.findByUserSortedByCreationDate(currentUser, pageable).map(TopicFollowDetailsDTO::fromEntity);
+        return topicFollowRepository.findByUserSortedByCreationDate(currentUser, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TopicFollowDetailsDTO> getFollowedTopicsByUserAfter(String after, int size, String keyword) {
+        UserEntity currentUser = authenticatedUserProvider.getAuthenticatedUser();
+        log.debug("Fetching followed topics after cursor for user ID: {} - keyword: {}", currentUser.getId(), keyword);
+
+        Cursor cursor = Cursor.decode(after);
+        Limit limit = CursorPage.limitFor(size);
+        Optional<String> fullTextQuery = FullTextQuery.from(keyword);
+        List<TopicFollowDetailsDTO> follows = fullTextQuery.isPresent()
+                ? topicFollowRepository.searchByUserFiltersAfter(currentUser, fullTextQuery.get(), cursor.timestamp(), cursor.id(), limit)
+                : topicFollowRepository.findByUserFiltersAfter(currentUser, keyword, cursor.timestamp(), cursor.id(), limit);
+        return CursorPage.of(follows, size, follow -> new Cursor(follow.followedAt(), follow.topic().id()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TopicFollowerDTO> getFollowersByTopic(Long topicId, String after, int size) {
+        log.debug("Fetching followers after cursor for topic ID: {} - size: {}", topicId, size);
+        topicFinder.findTopicById(topicId);
+
+        Cursor cursor = Cursor.decode(after);
+        List<TopicFollowerDTO> followers = topicFollowRepository.findFollowersByTopicAfter(topicId, cursor.timestamp(), cursor.id(), CursorPage.limitFor(size));
+        return CursorPage.of(followers, size, follower -> new Cursor(follower.followedAt(), follower.user().id()));
+    }
+
+    // Answered from the unique (user_id, topic_id) index; anonymous callers never follow
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isFollowedByCurrentUser(Long topicId) {
+        return authenticatedUserProvider.findAuthenticatedUser()
+                .map(user -> topicFollowRepository.existsByUserIdAndTopicId(user.getId(), topicId))
+                .orElse(false);
+    }
+
+    // Keyset walk, so memory stays bounded by the chunk size whatever the number of followers. Not transactional:
+    // it joins the caller's transaction if there is one, otherwise each chunk is a short read of its own
+    @Override
+    public void forEachFollowerChunk(Long topicId, Collection<Long> excludedUserIds, Consumer<List<FollowerContact>> chunkConsumer) {
+        Cursor cursor = Cursor.START;
+        List<FollowerContact> chunk;
+        do {
+            chunk = topicFollowRepository.findFollowerContactsAfter(topicId, excludedUserIds, cursor.timestamp(), cursor.id(), Limit.of(FOLLOWER_CHUNK_SIZE));
+            if (!chunk.isEmpty()) {
+                chunkConsumer.accept(chunk);
+                FollowerContact last = chunk.getLast();
+                cursor = new Cursor(last.followedAt(), last.userId());
+            }
+        } while (chunk.size() == FOLLOWER_CHUNK_SIZE);
     }
 
 }
@@ -17,6 +17,7 @@ import java.util.*;
 
 @Entity(name = "User")
 @Table(name = "users")
+@NamedEntityGraph(name = UserEntity.WITH_PROFILE, attributeNodes = @NamedAttributeNode("profile"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,6 +26,8 @@ import java.util.*;
 @EqualsAndHashCode(of = "id")
 public class UserEntity implements UserDetails {
 
+    public static final String WITH_PROFILE = "User.withProfile";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -64,7 +67,7 @@ public class UserEntity implements UserDetails {
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<TopicFollowEntity> followedTopics = new ArrayList<>();
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "profile_id")
     private ProfileEntity profile;
 
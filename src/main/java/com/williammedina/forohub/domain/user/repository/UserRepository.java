@@ -1,17 +1,25 @@
 package com.williammedina.forohub.domain.user.repository;
 
 import com.williammedina.forohub.domain.user.entity.UserEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
     Optional<UserEntity> findByUsername(String username);
+
+    @EntityGraph(UserEntity.WITH_PROFILE)
     Optional<UserEntity> findByEmailOrUsername(String email, String username);
+
     Optional<UserEntity> findByEmail(String email);
 
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
 
     Optional<UserEntity> findByToken(String token);
+
+    // Used to build the authenticated principal, which outlives the persistence context of the request
+    @EntityGraph(UserEntity.WITH_PROFILE)
+    Optional<UserEntity> findWithProfileById(Long id);
 }
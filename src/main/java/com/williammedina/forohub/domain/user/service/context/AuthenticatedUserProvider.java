@@ -2,8 +2,12 @@ package com.williammedina.forohub.domain.user.service.context;
 
 import com.williammedina.forohub.domain.user.entity.UserEntity;
 
+import java.util.Optional;
+
 public interface AuthenticatedUserProvider {
 
     UserEntity getAuthenticatedUser();
+    // Empty for anonymous callers of public endpoints
+    Optional<UserEntity> findAuthenticatedUser();
 
 }
@@ -0,0 +1,64 @@
+package com.williammedina.forohub.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.williammedina.forohub.domain.topic.dto.TopicDTO;
+import com.williammedina.forohub.domain.topic.service.cache.TopicListingCache;
+import com.williammedina.forohub.domain.topic.service.cache.TopicListingChangedEvent;
+import com.williammedina.forohub.domain.topic.service.cache.TopicListingKey;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Caches the first pages of GET /api/topic. Entries are evicted after the writing transaction completes
+ * (see TopicListingChangedEvent); the TTL only bounds the staleness left by a read racing that commit.
+ * Hit/miss counters are published as the cache.* metrics with the tag cache=topicListings.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(value = "topic.listing-cache.enabled", havingValue = "true")
+public class CaffeineTopicListingCache implements TopicListingCache {
+
+    public static final String CACHE_NAME = "topicListings";
+
+    private static final int MAX_CACHED_PAGES = 5;
+    private static final int MAX_CACHED_PAGE_SIZE = 50;
+    private static final long MAX_ENTRIES = 1_000;
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+
+    private final Cache<TopicListingKey, Page<TopicDTO>> cache = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterWrite(TIME_TO_LIVE)
+            .recordStats()
+            .build();
+
+    public CaffeineTopicListingCache(MeterRegistry meterRegistry) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Page<TopicDTO> get(TopicListingKey key, Supplier<Page<TopicDTO>> loader) {
+        if (key.page() >= MAX_CACHED_PAGES || key.size() > MAX_CACHED_PAGE_SIZE) {
+            return loader.get();
+        }
+        return cache.get(key, k -> loader.get());
+    }
+
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void evict(TopicListingChangedEvent event) {
+        cache.asMap().entrySet().removeIf(entry ->
+                (event.membershipChanged() && entry.getKey().mayInclude(event))
+                        || entry.getValue().getContent().stream().anyMatch(topic -> topic.id().equals(event.topicId())));
+        log.debug("Topic listing cache evicted for topic ID: {} - size: {}", event.topicId(), cache.estimatedSize());
+    }
+}
@@ -0,0 +1,26 @@
+package com.williammedina.forohub.infrastructure.cache;
+
+import com.williammedina.forohub.domain.topic.dto.TopicDTO;
+import com.williammedina.forohub.domain.topic.service.cache.TopicListingCache;
+import com.williammedina.forohub.domain.topic.service.cache.TopicListingChangedEvent;
+import com.williammedina.forohub.domain.topic.service.cache.TopicListingKey;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Supplier;
+
+@Service
+@ConditionalOnProperty(value = "topic.listing-cache.enabled", havingValue = "false", matchIfMissing = true)
+public class DisabledTopicListingCache implements TopicListingCache {
+
+    @Override
+    public Page<TopicDTO> get(TopicListingKey key, Supplier<Page<TopicDTO>> loader) {
+        return loader.get();
+    }
+
+    @Override
+    public void evict(TopicListingChangedEvent event) {
+    }
+
+}
@@ -1,11 +1,14 @@
 package com.williammedina.forohub.infrastructure.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
@@ -21,4 +24,25 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    // Delivers outbox events. Saturation slows the poll down (the caller runs the event) instead of dropping events
+    @Bean
+    public Executor outboxExecutor(@Value("${outbox.worker-threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(100);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("OutboxWorker-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Writes to the notification streams. A slow client blocks its write, so each drain runs on its own virtual thread
+    @Bean
+    public Executor notificationStreamExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("NotificationStream-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
 }
@@ -0,0 +1,69 @@
+package com.williammedina.forohub.infrastructure.contentvalidation;
+
+import com.williammedina.forohub.domain.contentvalidation.ContentValidationService;
+import com.williammedina.forohub.domain.contentvalidation.ModerationStatus;
+import com.williammedina.forohub.domain.reply.dto.PendingReply;
+import com.williammedina.forohub.domain.reply.repository.ReplyRepository;
+import com.williammedina.forohub.domain.reply.service.ReplyService;
+import com.williammedina.forohub.domain.topic.dto.PendingTopic;
+import com.williammedina.forohub.domain.topic.repository.TopicRepository;
+import com.williammedina.forohub.domain.topic.service.TopicService;
+import com.williammedina.forohub.infrastructure.exception.AppException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Publishes or rejects the content stored as PENDING by DeferredContentModerationPolicy. Runs without a transaction:
+ * pending rows are read in one short query, the AI is called with no connection held, and each verdict is applied
+ * in its own short transaction, only if the content was not edited in the meantime.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "content.moderation.mode", havingValue = "async")
+public class ContentModerationWorker {
+
+    private static final int BATCH_SIZE = 20;
+
+    private final TopicRepository topicRepository;
+    private final ReplyRepository replyRepository;
+    private final TopicService topicService;
+    private final ReplyService replyService;
+    private final ContentValidationService contentValidationService;
+
+    @Scheduled(fixedDelayString = "${content.moderation.poll-delay-ms:5000}")
+    public void moderatePendingContent() {
+        for (PendingTopic topic : topicRepository.findPendingModeration(Limit.of(BATCH_SIZE))) {
+            moderate(topic.title(), topic.description())
+                    .ifPresent(result -> topicService.applyModerationResult(topic.topicId(), topic.version(), result));
+        }
+
+        for (PendingReply reply : replyRepository.findPendingModeration(Limit.of(BATCH_SIZE))) {
+            moderate(reply.content())
+                    .ifPresent(result -> replyService.applyModerationResult(reply.replyId(), reply.version(), result));
+        }
+    }
+
+    // Empty when the AI could not be reached: the content stays pending and is retried on the next run
+    private Optional<ModerationStatus> moderate(String... contents) {
+        try {
+            for (String content : contents) {
+                String result = contentValidationService.validateContent(content);
+                if (!"approved".equals(result)) {
+                    log.warn("Content not approved by moderation: {}", result);
+                    return Optional.of(ModerationStatus.REJECTED);
+                }
+            }
+            return Optional.of(ModerationStatus.PUBLISHED);
+        } catch (AppException e) {
+            log.warn("Moderation postponed: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.williammedina.forohub.infrastructure.contentvalidation;
+
+import com.williammedina.forohub.domain.contentvalidation.ContentModerationPolicy;
+import com.williammedina.forohub.domain.contentvalidation.ModerationStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+// New content is stored as PENDING without waiting for the AI; ContentModerationWorker publishes or rejects it
+@Service
+@ConditionalOnProperty(value = "content.moderation.mode", havingValue = "async")
+public class DeferredContentModerationPolicy implements ContentModerationPolicy {
+
+    @Override
+    public ModerationStatus moderateNewContent(Runnable moderation) {
+        return ModerationStatus.PENDING;
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.williammedina.forohub.infrastructure.contentvalidation;
+
+import com.williammedina.forohub.domain.contentvalidation.ContentModerationPolicy;
+import com.williammedina.forohub.domain.contentvalidation.ModerationStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+@Service
+@ConditionalOnProperty(value = "content.moderation.mode", havingValue = "sync", matchIfMissing = true)
+public class SynchronousContentModerationPolicy implements ContentModerationPolicy {
+
+    @Override
+    public ModerationStatus moderateNewContent(Runnable moderation) {
+        moderation.run();
+        return ModerationStatus.PUBLISHED;
+    }
+
+}
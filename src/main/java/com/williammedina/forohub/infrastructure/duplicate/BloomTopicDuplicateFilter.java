@@ -0,0 +1,75 @@
+package com.williammedina.forohub.infrastructure.duplicate;
+
+import com.williammedina.forohub.domain.topic.repository.TopicRepository;
+import com.williammedina.forohub.domain.topic.service.duplicate.TopicDuplicateFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filters over the title and description hashes of every topic, loaded at startup and fed by
+ * TopicDuplicateFilterListener afterwards. Until the load finishes every check answers "maybe".
+ * Only valid for a single instance: topics created by another node never reach this filter.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "topic.duplicate-filter.enabled", havingValue = "true")
+public class BloomTopicDuplicateFilter implements TopicDuplicateFilter {
+
+    // ~1.2 MB for both filters; past this size the false positive rate grows, which only costs extra queries
+    private static final int EXPECTED_TOPICS = 500_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final TopicRepository topicRepository;
+
+    private final HashBloomFilter titles = new HashBloomFilter(EXPECTED_TOPICS, FALSE_POSITIVE_RATE);
+    private final HashBloomFilter descriptions = new HashBloomFilter(EXPECTED_TOPICS, FALSE_POSITIVE_RATE);
+    private volatile boolean loaded = false;
+
+    @Override
+    public boolean mightContainTitle(String titleHash) {
+        return !loaded || titles.mightContain(titleHash);
+    }
+
+    @Override
+    public boolean mightContainDescription(String descriptionHash) {
+        return !loaded || descriptions.mightContain(descriptionHash);
+    }
+
+    @Override
+    public void add(String titleHash, String descriptionHash) {
+        if (titleHash != null) {
+            titles.put(titleHash);
+        }
+        if (descriptionHash != null) {
+            descriptions.put(descriptionHash);
+        }
+    }
+
+    // Topics saved while loading are added by the listener into the same filters, so none are lost
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        AtomicLong count = new AtomicLong();
+        try (Stream<String> titleHashes = topicRepository.streamTitleHashes()) {
+            titleHashes.forEach(hash -> {
+                titles.put(hash);
+                count.incrementAndGet();
+            });
+        }
+        try (Stream<String> descriptionHashes = topicRepository.streamDescriptionHashes()) {
+            descriptionHashes.forEach(descriptions::put);
+        }
+
+        loaded = true;
+        log.info("Topic duplicate filter loaded with {} topics", count.get());
+    }
+}
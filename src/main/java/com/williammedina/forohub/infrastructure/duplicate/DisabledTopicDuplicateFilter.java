@@ -0,0 +1,26 @@
+package com.williammedina.forohub.infrastructure.duplicate;
+
+import com.williammedina.forohub.domain.topic.service.duplicate.TopicDuplicateFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+// Every check goes to the database; required when several instances write topics
+@Service
+@ConditionalOnProperty(value = "topic.duplicate-filter.enabled", havingValue = "false", matchIfMissing = true)
+public class DisabledTopicDuplicateFilter implements TopicDuplicateFilter {
+
+    @Override
+    public boolean mightContainTitle(String titleHash) {
+        return true;
+    }
+
+    @Override
+    public boolean mightContainDescription(String descriptionHash) {
+        return true;
+    }
+
+    @Override
+    public void add(String titleHash, String descriptionHash) {
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.williammedina.forohub.infrastructure.duplicate;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over hex SHA-256 hashes. The hash is already uniformly distributed,
+ * so the bit positions are derived from it directly (double hashing on its first 128 bits).
+ */
+class HashBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashFunctions;
+
+    HashBloomFilter(int expectedInsertions, double falsePositiveRate) {
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray((int) ((bits + 63) / 64));
+        this.bitCount = words.length() * 64L;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    void put(String hexHash) {
+        long h1 = Long.parseUnsignedLong(hexHash, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(hexHash, 16, 32, 16);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = words.get(word)) & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    boolean mightContain(String hexHash) {
+        long h1 = Long.parseUnsignedLong(hexHash, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(hexHash, 16, 32, 16);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
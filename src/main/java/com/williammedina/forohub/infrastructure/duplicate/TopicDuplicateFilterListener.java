@@ -0,0 +1,60 @@
+package com.williammedina.forohub.infrastructure.duplicate;
+
+import com.williammedina.forohub.domain.topic.entity.TopicEntity;
+import com.williammedina.forohub.domain.topic.service.duplicate.TopicDuplicateFilter;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds every topic written through JPA into the duplicate filter, whichever service or test saved it.
+ * Registered as a Hibernate event listener so the entity does not depend on the filter.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "topic.duplicate-filter.enabled", havingValue = "true")
+public class TopicDuplicateFilterListener implements PostInsertEventListener, PostUpdateEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final TopicDuplicateFilter duplicateFilter;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        addHashes(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        addHashes(event.getEntity());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void addHashes(Object entity) {
+        if (entity instanceof TopicEntity topic) {
+            duplicateFilter.add(topic.getTitleHash(), topic.getDescriptionHash());
+        }
+    }
+}
@@ -1,37 +1,85 @@
 package com.williammedina.forohub.infrastructure.email;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+/**
+ * Builds the HTML of every email from templates/email_template.html. The template is read and split into literal
+ * and slot segments once at startup, so each email is a single pass into a pre-sized StringBuilder instead of a
+ * classpath read and one full copy per placeholder. The title, button label, footer and URL are plain text and
+ * are escaped; the message is HTML written by EmailServiceImpl, which escapes the user values it embeds.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class EmailContentBuilder {
 
+    private static final String TEMPLATE = "email_template.html";
+    private static final Pattern SLOT = Pattern.compile("\\{(TITLE|MESSAGE|FOOTER|BUTTON_SECTION)}");
+
+    private static final String BUTTON_START = "<a href=\"";
+    private static final String BUTTON_MIDDLE = "\" style=\"display: inline-block; background-color: #03dac5; color: #121212; padding: 10px 20px; text-decoration: none; border-radius: 5px; font-weight: bold; max-width: 100%; text-align: center;\">";
+    private static final String BUTTON_END = "</a>";
+
+    private enum Slot { TITLE, MESSAGE, FOOTER, BUTTON_SECTION }
+
+    // literals[i] is written before slots[i]; the last literal closes the template
+    private final String[] literals;
+    private final Slot[] slots;
+    private final int literalsLength;
+
+    public EmailContentBuilder() {
+        String template = loadTemplate(TEMPLATE);
+        List<String> literalList = new ArrayList<>();
+        List<Slot> slotList = new ArrayList<>();
+        Matcher matcher = SLOT.matcher(template);
+        int start = 0;
+        while (matcher.find()) {
+            literalList.add(template.substring(start, matcher.start()));
+            slotList.add(Slot.valueOf(matcher.group(1)));
+            start = matcher.end();
+        }
+        literalList.add(template.substring(start));
+
+        this.literals = literalList.toArray(String[]::new);
+        this.slots = slotList.toArray(Slot[]::new);
+        this.literalsLength = literalList.stream().mapToInt(String::length).sum();
+    }
+
     public String buildEmailContent(String title, String message, String buttonLabel, String url, String footer) {
-        String template = loadTemplate("email_template.html")
-                .replace("{TITLE}", title)
-                .replace("{MESSAGE}", message)
-                .replace("{FOOTER}", footer);
+        String escapedTitle = HtmlUtils.htmlEscape(title, "UTF-8");
+        String escapedFooter = HtmlUtils.htmlEscape(footer, "UTF-8");
 
-        // Check if buttonLabel and url are null
+        // The button is left out when there is no label or URL
         String buttonSection = (buttonLabel != null && url != null)
-                ? "<a href=\"" + url + "\" style=\"display: inline-block; background-color: #03dac5; color: #121212; padding: 10px 20px; text-decoration: none; border-radius: 5px; font-weight: bold; max-width: 100%; text-align: center;\">"
-                + buttonLabel + "</a>"
+                ? BUTTON_START + HtmlUtils.htmlEscape(url, "UTF-8") + BUTTON_MIDDLE + HtmlUtils.htmlEscape(buttonLabel, "UTF-8") + BUTTON_END
                 : "";
 
-        return template.replace("{BUTTON_SECTION}", buttonSection);
+        StringBuilder html = new StringBuilder(literalsLength + 2 * escapedTitle.length() + message.length() + escapedFooter.length() + buttonSection.length());
+        for (int i = 0; i < slots.length; i++) {
+            html.append(literals[i]);
+            html.append(switch (slots[i]) {
+                case TITLE -> escapedTitle;
+                case MESSAGE -> message;
+                case FOOTER -> escapedFooter;
+                case BUTTON_SECTION -> buttonSection;
+            });
+        }
+        return html.append(literals[slots.length]).toString();
     }
 
-    // Loads a template file from the file system
+    // Loads a template file from the classpath
     private String loadTemplate(String fileName) {
         try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("templates/" + fileName)) {
             if (inputStream == null) {
@@ -3,13 +3,15 @@ package com.williammedina.forohub.infrastructure.email;
 import com.williammedina.forohub.domain.email.EmailService;
 import com.williammedina.forohub.domain.reply.entity.ReplyEntity;
 import com.williammedina.forohub.domain.topic.entity.TopicEntity;
-import com.williammedina.forohub.domain.topicfollow.entity.TopicFollowEntity;
+import com.williammedina.forohub.domain.topicfollow.service.TopicFollowService;
 import com.williammedina.forohub.domain.user.entity.UserEntity;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.List;
 
 
 @Slf4j
@@ -18,6 +20,7 @@ import org.springframework.stereotype.Service;
 public class EmailServiceImpl implements EmailService {
 
     private final EmailSender emailSender;
+    private final TopicFollowService topicFollowService;
 
     @Value("${frontend.url:http://localhost:5173}")
     private String frontendUrl;
@@ -27,7 +30,7 @@ public class EmailServiceImpl implements EmailService {
         String subject = "Confirmación de cuenta";
         String url = frontendUrl + "/confirm-account/" + user.getToken();
         String title = "¡Bienvenido a Foro Hub!";
-        String message = "Hola <b style='color: #03dac5;'>" + user.getUsername() + "</b>, para completar tu registro, haz clic en el siguiente enlace para confirmar tu cuenta:";
+        String message = "Hola " + highlight(user.getUsername()) + ", para completar tu registro, haz clic en el siguiente enlace para confirmar tu cuenta:";
         String buttonLabel = "Confirmar Cuenta";
         String footer = "Si no solicitaste este email, puedes ignorarlo.";
 
@@ -41,7 +44,7 @@ public class EmailServiceImpl implements EmailService {
         String subject = "Restablecimiento de password";
         String url = frontendUrl + "/reset-password/" + user.getToken();
         String title = "Restablecimiento de Password";
-        String message = "Hola <b style='color: #03dac5;'>" + user.getUsername() + "</b>, has solicitado restablecer tu password. Haz clic en el siguiente enlace para crear un nuevo password:";
+        String message = "Hola " + highlight(user.getUsername()) + ", has solicitado restablecer tu password. Haz clic en el siguiente enlace para crear un nuevo password:";
         String buttonLabel = "Restablecer Password";
         String footer = "Si no solicitaste este email, puedes ignorarlo.";
 
@@ -51,11 +54,10 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
-    @Async
     public void notifyTopicReply(TopicEntity topic, UserEntity user) {
         String subject = "Nueva respuesta a tu tópico";
-        String actionMessage = "<b style='color: #03dac5;'>" + user.getUsername() + "</b> respondió a tu tópico ";
-        String topicDetails = "<b style='color: #03dac5;'>" + topic.getTitle() + "</b> del curso: <b>" + topic.getCourse().getName() + "</b>.";
+        String actionMessage = highlight(user.getUsername()) + " respondió a tu tópico ";
+        String topicDetails = highlight(topic.getTitle()) + " del curso: " + bold(topic.getCourse().getName()) + ".";
         String url = frontendUrl + "/topic/" + topic.getId();
         String footer = "Gracias por ser parte de ForoHub.";
 
@@ -65,10 +67,9 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
-    @Async
     public void notifyTopicSolved(TopicEntity topic) {
         String subject = "Tu tópico ha sido marcado como solucionado";
-        String actionMessage = "Tu tópico <b style='color: #03dac5;'>" + topic.getTitle() + "</b> del curso: <b>" + topic.getCourse().getName() + "</b> ha sido marcado como solucionado.";
+        String actionMessage = "Tu tópico " + highlight(topic.getTitle()) + " del curso: " + bold(topic.getCourse().getName()) + " ha sido marcado como solucionado.";
         String url = frontendUrl + "/topic/" + topic.getId();
         String footer = "Gracias por ser parte de ForoHub.";
 
@@ -76,10 +77,9 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
-    @Async
     public void notifyTopicEdited(TopicEntity topic) {
         String subject = "Tu tópico ha sido editado";
-        String actionMessage = "Se ha realizado cambios en tu tópico titulado <b style='color: #03dac5;'>\"" + topic.getTitle() + "</b> del curso: <b>" + topic.getCourse().getName() + "</b>. Puedes revisar los detalles haciendo clic en el siguiente botón.";
+        String actionMessage = "Se ha realizado cambios en tu tópico titulado " + highlight(topic.getTitle()) + " del curso: " + bold(topic.getCourse().getName()) + ". Puedes revisar los detalles haciendo clic en el siguiente botón.";
         String url = frontendUrl + "/topic/" + topic.getId();
         String footer = "Gracias por ser parte de ForoHub.";
 
@@ -87,20 +87,18 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
-    @Async
     public void notifyTopicDeleted(TopicEntity topic) {
         String subject = "Tu tópico ha sido eliminado";
-        String actionMessage = "Lamentamos informarte que tu tópico titulado <b style='color: #03dac5;'>" + topic.getTitle() + "</b> del curso: <b>" + topic.getCourse().getName() + "</b> ha sido eliminado. Si tienes alguna pregunta o inquietud, por favor contacta a nuestro equipo de soporte para más detalles.";
+        String actionMessage = "Lamentamos informarte que tu tópico titulado " + highlight(topic.getTitle()) + " del curso: " + bold(topic.getCourse().getName()) + " ha sido eliminado. Si tienes alguna pregunta o inquietud, por favor contacta a nuestro equipo de soporte para más detalles.";
         String footer = "Gracias por ser parte de ForoHub.";
 
         emailSender.sendEmail(topic.getUser().getEmail(), subject, subject, actionMessage, null, null, footer);
     }
 
     @Override
-    @Async
     public void notifyReplySolved(ReplyEntity reply, TopicEntity topic) {
         String subject = "Tu respuesta ha sido marcada como solución";
-        String actionMessage = "Tu respuesta en el tópico <b style='color: #03dac5;'>" + reply.getTopic().getTitle() + "</b> del curso: <b>" + topic.getCourse().getName() + "</b> ha sido marcada como solución.";
+        String actionMessage = "Tu respuesta en el tópico " + highlight(reply.getTopic().getTitle()) + " del curso: " + bold(topic.getCourse().getName()) + " ha sido marcada como solución.";
 
         String url = frontendUrl + "/topic/" + topic.getId();
         String footer = "Gracias por ser parte de ForoHub.";
@@ -109,10 +107,9 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
-    @Async
     public void notifyReplyEdited(ReplyEntity reply) {
         String subject = "Tu respuesta ha sido editada";
-        String actionMessage = "Se ha realizado cambios en tu respuesta del tópico <b style='color: #03dac5;'>\"" + reply.getTopic().getTitle() + "</b> del curso: <b>" + reply.getTopic().getCourse().getName() + "</b>. Puedes revisar los detalles haciendo clic en el siguiente botón.";
+        String actionMessage = "Se ha realizado cambios en tu respuesta del tópico " + highlight(reply.getTopic().getTitle()) + " del curso: " + bold(reply.getTopic().getCourse().getName()) + ". Puedes revisar los detalles haciendo clic en el siguiente botón.";
         String url = frontendUrl + "/topic/" + reply.getTopic().getId();
         String footer = "Gracias por ser parte de ForoHub.";
 
@@ -120,41 +117,45 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
-    @Async
     public void notifyReplyDeleted(ReplyEntity reply) {
         String subject = "Tu respuesta ha sido eliminada";
-        String actionMessage = "Lamentamos informarte que tu respuesta del tópico <b style='color: #03dac5;'>" + reply.getTopic().getTitle() + "</b> del curso: <b>" + reply.getTopic().getCourse().getName() + "</b> ha sido eliminada. Si tienes alguna pregunta o inquietud, por favor contacta a nuestro equipo de soporte para más detalles.";
+        String actionMessage = "Lamentamos informarte que tu respuesta del tópico " + highlight(reply.getTopic().getTitle()) + " del curso: " + bold(reply.getTopic().getCourse().getName()) + " ha sido eliminada. Si tienes alguna pregunta o inquietud, por favor contacta a nuestro equipo de soporte para más detalles.";
         String footer = "Gracias por ser parte de ForoHub.";
 
         emailSender.sendEmail(reply.getUser().getEmail(), subject, subject, actionMessage, null, null, footer);
     }
 
     @Override
-    @Async
     public void notifyFollowersTopicReply(TopicEntity topic, UserEntity user) {
         String subject = "Nueva respuesta en un tópico que sigues";
-        String actionMessage = "Se ha añadido una nueva respuesta al tópico <b style='color: #03dac5;'>" + topic.getTitle() + "</b> del curso: <b>" + topic.getCourse().getName() + "</b> que sigues.";
+        String actionMessage = "Se ha añadido una nueva respuesta al tópico " + highlight(topic.getTitle()) + " del curso: " + bold(topic.getCourse().getName()) + " que sigues.";
         String url = frontendUrl + "/topic/" + topic.getId();
         String footer = "Gracias por ser parte de ForoHub.";
 
-        for (TopicFollowEntity follower : topic.getFollowedTopics()) {
-            if (!follower.getUser().getUsername().equals(user.getUsername())) {
-                emailSender.sendEmail(follower.getUser().getEmail(), subject, subject, actionMessage, "Ver Tópico", url, footer);
-            }
-        }
+        topicFollowService.forEachFollowerChunk(topic.getId(), List.of(topic.getUser().getId(), user.getId()), followers -> followers.forEach(follower ->
+                emailSender.sendEmail(follower.email(), subject, subject, actionMessage, "Ver Tópico", url, footer)
+        ));
     }
 
     @Override
-    @Async
     public void notifyFollowersTopicSolved(TopicEntity topic) {
         String subject = "Un tópico que sigues ha sido marcado como solucionado";
-        String actionMessage = "El tópico <b style='color: #03dac5;'>" + topic.getTitle() + "</b> del curso: <b>" + topic.getCourse().getName() + "</b> que sigues ha sido marcado como solucionado.";
+        String actionMessage = "El tópico " + highlight(topic.getTitle()) + " del curso: " + bold(topic.getCourse().getName()) + " que sigues ha sido marcado como solucionado.";
         String url = frontendUrl + "/topic/" + topic.getId();
         String footer = "Gracias por ser parte de ForoHub.";
 
-        for (TopicFollowEntity follower : topic.getFollowedTopics()) {
-            emailSender.sendEmail(follower.getUser().getEmail(), subject, subject, actionMessage, "Ver Tópico", url, footer);
-        }
+        topicFollowService.forEachFollowerChunk(topic.getId(), List.of(topic.getUser().getId()), followers -> followers.forEach(follower ->
+                emailSender.sendEmail(follower.email(), subject, subject, actionMessage, "Ver Tópico", url, footer)
+        ));
+    }
+
+    // User-provided values (usernames, topic titles, course names) are escaped before they go into the email HTML
+    private static String highlight(String value) {
+        return "<b style='color: #03dac5;'>" + HtmlUtils.htmlEscape(value, "UTF-8") + "</b>";
+    }
+
+    private static String bold(String value) {
+        return "<b>" + HtmlUtils.htmlEscape(value, "UTF-8") + "</b>";
     }
 
-}
\ No newline at end of file
+}
@@ -34,4 +34,7 @@ public class ApiErrorResponse {
 
     @Schema(description = "Ruta del endpoint donde ocurrió el error", example = "/api/endpoint")
     private String path;
+
+    @Schema(description = "Versión actual del recurso cuando la petición falla por un conflicto de concurrencia", example = "4")
+    private Long currentVersion;
 }
@@ -4,6 +4,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -47,6 +48,20 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<ApiErrorResponse> handleVersionConflict(VersionConflictException ex, HttpServletRequest request) {
+        log.warn("Version conflict on {} - current version: {}", request.getRequestURI(), ex.getCurrentVersion());
+        ApiErrorResponse response = buildError(HttpStatus.CONFLICT, ex.getMessage(), request.getRequestURI(), null);
+        response.setCurrentVersion(ex.getCurrentVersion());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    // Any other versioned UPDATE that matched no row; the updates that know the current version report it themselves
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiErrorResponse> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex, HttpServletRequest request) {
+        return handleVersionConflict(new VersionConflictException(null), request);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiErrorResponse> handleGeneric(Exception ex, HttpServletRequest request) {
         log.error("Unexpected error", ex);
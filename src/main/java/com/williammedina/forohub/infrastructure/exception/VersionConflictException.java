@@ -0,0 +1,31 @@
+package com.williammedina.forohub.infrastructure.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.util.Set;
+
+// The client wrote against an outdated version; currentVersion lets it reload or retry without another request
+@Getter
+public class VersionConflictException extends AppException {
+
+    private final Long currentVersion;
+
+    public VersionConflictException(Long currentVersion) {
+        super("El recurso fue modificado por otro usuario. Vuelve a cargarlo e intenta de nuevo.", HttpStatus.CONFLICT);
+        this.currentVersion = currentVersion;
+    }
+
+    public static void ensureMatches(Long expectedVersion, Long currentVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new VersionConflictException(currentVersion);
+        }
+    }
+
+    // If-Match may list several versions; null means the write is unconditional
+    public static void ensureMatches(Set<Long> expectedVersions, Long currentVersion) {
+        if (expectedVersions != null && !expectedVersions.contains(currentVersion)) {
+            throw new VersionConflictException(currentVersion);
+        }
+    }
+}
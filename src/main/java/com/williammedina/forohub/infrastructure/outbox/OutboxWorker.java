@@ -0,0 +1,118 @@
+package com.williammedina.forohub.infrastructure.outbox;
+
+import com.williammedina.forohub.domain.outbox.entity.OutboxEventEntity;
+import com.williammedina.forohub.domain.outbox.repository.OutboxEventRepository;
+import com.williammedina.forohub.domain.outbox.service.handler.OutboxEventHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Delivers the events recorded by OutboxService once their transaction has committed. Each poll claims a batch of due
+ * events with SELECT ... FOR UPDATE SKIP LOCKED and a lease, so several instances can share the table, and processes
+ * them on the outbox pool. In-app notifications are written in the same transaction that marks the event processed
+ * (exactly once); emails are sent before marking it, so a crash in between resends them (at least once).
+ * Failed events are retried with exponential backoff until MAX_ATTEMPTS, then left as FAILED.
+ */
+@Slf4j
+@Service
+public class OutboxWorker {
+
+    static final int BATCH_SIZE = 50;
+    static final int MAX_ATTEMPTS = 5;
+    private static final Duration LEASE = Duration.ofMinutes(5);
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(30);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxEventHandler outboxEventHandler;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor outboxExecutor;
+
+    public OutboxWorker(
+            OutboxEventRepository outboxEventRepository,
+            OutboxEventHandler outboxEventHandler,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("outboxExecutor") Executor outboxExecutor
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxEventHandler = outboxEventHandler;
+        this.transactionTemplate = transactionTemplate;
+        this.outboxExecutor = outboxExecutor;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-delay-ms:1000}")
+    public void poll() {
+        // Keeps draining while full batches come back, so a burst does not wait one poll delay per batch
+        while (processBatch(outboxExecutor) == BATCH_SIZE) {
+            log.debug("Outbox batch full, polling again");
+        }
+    }
+
+    /**
+     * Claims and processes one batch of due events on the given executor, returning how many were claimed.
+     */
+    public int processBatch(Executor executor) {
+        List<OutboxEventEntity> events = transactionTemplate.execute(status -> claim());
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        log.debug("Processing {} outbox events", events.size());
+        CompletableFuture.allOf(events.stream()
+                .map(event -> CompletableFuture.runAsync(() -> process(event), executor))
+                .toArray(CompletableFuture[]::new)
+        ).join();
+        return events.size();
+    }
+
+    private List<OutboxEventEntity> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = outboxEventRepository.lockDueEventIds(now, BATCH_SIZE);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        outboxEventRepository.lease(ids, now.plus(LEASE));
+        return outboxEventRepository.findAllById(ids);
+    }
+
+    private void process(OutboxEventEntity event) {
+        try {
+            if (event.getChannel() == OutboxEventEntity.Channel.NOTIFICATION) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (outboxEventRepository.markProcessed(event.getId(), event.getAttempts(), LocalDateTime.now()) == 1) {
+                        outboxEventHandler.handleNotification(event);
+                    }
+                });
+            } else {
+                outboxEventHandler.handleEmail(event);
+                transactionTemplate.executeWithoutResult(status ->
+                        outboxEventRepository.markProcessed(event.getId(), event.getAttempts(), LocalDateTime.now())
+                );
+            }
+        } catch (RuntimeException e) {
+            log.warn("Outbox event ID: {} ({} {}) failed on attempt {}: {}", event.getId(), event.getType(), event.getChannel(), event.getAttempts(), e.getMessage());
+            markFailed(event, e);
+        }
+    }
+
+    private void markFailed(OutboxEventEntity event, RuntimeException error) {
+        String message = String.valueOf(error.getMessage());
+        LocalDateTime retryAt = LocalDateTime.now().plus(BASE_BACKOFF.multipliedBy(1L << Math.min(event.getAttempts() - 1, 10)));
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.markFailed(
+                event.getId(),
+                event.getAttempts(),
+                message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message,
+                retryAt,
+                MAX_ATTEMPTS
+        ));
+    }
+}
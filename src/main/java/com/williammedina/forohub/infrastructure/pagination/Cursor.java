@@ -0,0 +1,44 @@
+package com.williammedina.forohub.infrastructure.pagination;
+
+import com.williammedina.forohub.infrastructure.exception.AppException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position of the last row returned, encoded as an opaque token for the {@code after} parameter.
+ * Listings are ordered by {@code (timestamp DESC, id DESC)} (the replies of a topic ascending), so the id breaks ties
+ * between rows created in the same second.
+ * {@link #START} (both fields null) requests the first page.
+ */
+public record Cursor(LocalDateTime timestamp, Long id) {
+
+    public static final Cursor START = new Cursor(null, null);
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.strip()), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            return new Cursor(
+                    LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    Long.parseLong(raw.substring(separatorIndex + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new AppException("El cursor de paginación no es válido.", HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.williammedina.forohub.infrastructure.pagination;
+
+import com.williammedina.forohub.infrastructure.exception.AppException;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Schema(description = "Página de resultados obtenida mediante paginación por cursor")
+public record CursorPage<T>(
+
+        @Schema(description = "Elementos de la página actual")
+        List<T> content,
+
+        @Schema(description = "Cursor que se debe enviar en el parámetro 'after' para obtener la siguiente página. Es nulo si no hay más resultados.", example = "MjAyNS0wNy0zMVQxNTowMDowMHw0Mg")
+        String nextCursor,
+
+        @Schema(description = "Indica si existen más resultados después de esta página", example = "true")
+        boolean hasNext
+) {
+
+    public static final int MAX_SIZE = 100;
+
+    // One extra row is fetched to know whether a next page exists
+    public static Limit limitFor(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new AppException("El tamaño de página debe estar entre 1 y " + MAX_SIZE + ".", HttpStatus.BAD_REQUEST);
+        }
+        return Limit.of(size + 1);
+    }
+
+    /**
+     * Builds a page from rows fetched with {@link #limitFor(int)}: the extra row only signals
+     * that a next page exists, which avoids the COUNT query of offset pagination.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, T> mapper, Function<E, Cursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.getLast()).encode() : null;
+        return new CursorPage<>(pageRows.stream().map(mapper).toList(), nextCursor, hasNext);
+    }
+
+    // For rows that are already projected into the response type
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, Cursor> cursorOf) {
+        return of(rows, size, Function.identity(), cursorOf);
+    }
+
+    // Adds an element pinned before the keyset rows; it does not move the cursor
+    public CursorPage<T> withFirst(T pinned) {
+        return new CursorPage<>(Stream.concat(Stream.of(pinned), content.stream()).toList(), nextCursor, hasNext);
+    }
+}
@@ -0,0 +1,24 @@
+package com.williammedina.forohub.infrastructure.persistence;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the MySQL/MariaDB full-text operator as a JPQL function, so repositories can filter
+ * and rank by relevance without falling back to native queries:
+ * {@code match_against(t.searchText, :query)} renders {@code MATCH(...) AGAINST(... IN BOOLEAN MODE)}.
+ */
+public class FullTextFunctionContributor implements FunctionContributor {
+
+    public static final String MATCH_AGAINST = "match_against";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                MATCH_AGAINST,
+                "match(?1) against(?2 in boolean mode)",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE)
+        );
+    }
+}
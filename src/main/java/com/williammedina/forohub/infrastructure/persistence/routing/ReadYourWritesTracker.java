@@ -0,0 +1,66 @@
+package com.williammedina.forohub.infrastructure.persistence.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Decides when a read-only transaction must still go to the primary: inside a write request (its checks must see
+ * the latest rows) and, for a short window after a user's write request, for that user's reads, so that replica
+ * lag never hides their own changes. The window should exceed the usual replica lag.
+ */
+public class ReadYourWritesTracker implements HandlerInterceptor {
+
+    private static final Set<String> SAFE_METHODS = Set.of(HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name());
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public boolean isPrimaryRequired() {
+        Optional<HttpServletRequest> request = currentRequest();
+        if (request.isEmpty()) {
+            return false;
+        }
+        return !SAFE_METHODS.contains(request.get().getMethod())
+                || currentUsername().map(username -> recentWriters.getIfPresent(username) != null).orElse(false);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            currentUsername().ifPresent(username -> recentWriters.put(username, Boolean.TRUE));
+        }
+    }
+
+    private Optional<HttpServletRequest> currentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? Optional.of(attributes.getRequest())
+                : Optional.empty();
+    }
+
+    private Optional<String> currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return Optional.empty();
+        }
+        return Optional.of(authentication.getName());
+    }
+}
@@ -0,0 +1,15 @@
+package com.williammedina.forohub.infrastructure.persistence.routing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@RequiredArgsConstructor
+public class ReplicaHealthMonitor {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-delay-ms:10000}")
+    public void checkReplicas() {
+        routingDataSource.checkReplicas();
+    }
+}
@@ -0,0 +1,83 @@
+package com.williammedina.forohub.infrastructure.persistence.routing;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Replaces the auto-configured DataSource when read replicas are configured. Replica pools copy the settings of the
+ * primary pool (spring.datasource.hikari.*) and are opened read-only. Flyway and every read-write transaction keep
+ * using the primary.
+ */
+@Configuration
+@ConditionalOnProperty(value = "datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(@Value("${datasource.replicas.read-your-writes-window:5s}") Duration window) {
+        return new ReadYourWritesTracker(window);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            @Value("${datasource.replicas.urls}") List<String> replicaUrls,
+            ReadYourWritesTracker readYourWritesTracker
+    ) {
+        List<String> urls = replicaUrls.stream().map(String::trim).filter(url -> !url.isEmpty()).toList();
+        List<DataSource> replicas = IntStream.range(0, urls.size())
+                .mapToObj(i -> (DataSource) replicaPool(primaryDataSource, urls.get(i), i))
+                .toList();
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWritesTracker::isPrimaryRequired);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new ReplicaHealthMonitor(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public WebMvcConfigurer readYourWritesInterceptor(ReadYourWritesTracker readYourWritesTracker) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(readYourWritesTracker);
+            }
+        };
+    }
+
+    private HikariDataSource replicaPool(HikariDataSource primary, String url, int index) {
+        HikariConfig config = new HikariConfig();
+        primary.copyStateTo(config);
+        config.setJdbcUrl(url);
+        config.setPoolName("replica-" + index);
+        config.setReadOnly(true);
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,126 @@
+package com.williammedina.forohub.infrastructure.persistence.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * Sends read-only transactions to a healthy replica (round robin) and everything else to the primary. Must be used
+ * behind a LazyConnectionDataSourceProxy, so that the connection is only requested once the transaction's read-only
+ * flag is known. A replica that fails to hand out a connection is marked down and the read falls back to the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas;
+    private final BooleanSupplier primaryRequired;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources, BooleanSupplier primaryRequired) {
+        this.replicas = IntStream.range(0, replicaDataSources.size())
+                .mapToObj(i -> new Replica("replica-" + i, replicaDataSources.get(i)))
+                .toList();
+        this.primaryRequired = primaryRequired;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.key(), replica.dataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || primaryRequired.getAsBoolean()) {
+            return PRIMARY;
+        }
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (replica.healthy) {
+                return replica.key();
+            }
+        }
+        return PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        try {
+            return resolveTarget(key).getConnection();
+        } catch (SQLException e) {
+            if (PRIMARY.equals(key)) {
+                throw e;
+            }
+            markDown(key, e);
+            return resolveTarget(PRIMARY).getConnection();
+        }
+    }
+
+    // Called periodically by ReplicaHealthMonitor; a replica is used again as soon as it hands out a valid connection
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource().getConnection()) {
+                healthy = connection.isValid(2);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                log.warn("Read replica {} is now {}", replica.key(), healthy ? "up" : "down");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    // Replica pools are created by ReplicaRoutingConfig rather than registered as beans, so they are closed here
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private DataSource resolveTarget(Object key) {
+        return (DataSource) getResolvedDataSources().get(key);
+    }
+
+    private void markDown(Object key, SQLException e) {
+        replicas.stream().filter(replica -> replica.key().equals(key)).forEach(replica -> replica.healthy = false);
+        log.warn("Read replica {} is down, reading from the primary until the next health check: {}", key, e.getMessage());
+    }
+
+    private static final class Replica {
+
+        private final String key;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+
+        private String key() {
+            return key;
+        }
+
+        private DataSource dataSource() {
+            return dataSource;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.williammedina.forohub.infrastructure.response;
+
+import com.williammedina.forohub.infrastructure.exception.AppException;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.HttpStatus;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Schema(description = "Resultado de una consulta por lote de IDs.")
+public record BatchResponse<T>(
+
+        @Schema(description = "Elementos encontrados, en el mismo orden de los IDs solicitados")
+        List<T> items,
+
+        @Schema(description = "IDs solicitados que no existen o no están visibles para el usuario", example = "[7, 12]")
+        List<Long> missingIds
+) {
+
+    public static final int MAX_IDS = 50;
+
+    // Drops nulls and repeated IDs, keeping the order in which they were requested
+    public static List<Long> requestedIds(List<Long> ids) {
+        List<Long> requested = ids == null ? List.of() : List.copyOf(ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+        if (requested.isEmpty() || requested.size() > MAX_IDS) {
+            throw new AppException("Debes indicar entre 1 y " + MAX_IDS + " IDs por consulta.", HttpStatus.BAD_REQUEST);
+        }
+        return requested;
+    }
+
+    public static <T> BatchResponse<T> of(List<Long> requestedIds, Collection<T> found, Function<T, Long> idOf) {
+        Map<Long, T> byId = found.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        return new BatchResponse<>(
+                requestedIds.stream().filter(byId::containsKey).map(byId::get).toList(),
+                requestedIds.stream().filter(id -> !byId.containsKey(id)).toList()
+        );
+    }
+}
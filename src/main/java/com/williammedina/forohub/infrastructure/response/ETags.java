@@ -0,0 +1,76 @@
+package com.williammedina.forohub.infrastructure.response;
+
+import com.williammedina.forohub.infrastructure.exception.AppException;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public final class ETags {
+
+    // The version field itself ("3") or an ETag built by versioned() ("3-<hash>")
+    private static final Pattern VERSION = Pattern.compile("(\\d{1,18})(-[0-9a-f]{32})?");
+
+    private ETags() {
+    }
+
+    /**
+     * Strong (quoted) ETag derived from the given version components, e.g. a version record read with a single query.
+     * Components must have a stable string form; records qualify.
+     */
+    public static String of(Object... parts) {
+        String version = Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("|"));
+        return "\"" + DigestUtils.md5DigestAsHex(version.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Like of(), prefixed with the entity version. The hash changes with everything the representation shows (reply
+     * count, followers, author...), so If-None-Match revalidates it, while If-Match only needs the prefix: a write is
+     * not rejected because of a new reply or follower since the GET.
+     */
+    public static String versioned(Long version, Object... parts) {
+        return "\"" + version + "-" + of(parts).replace("\"", "") + "\"";
+    }
+
+    /**
+     * Entity versions accepted by an If-Match header on a write: a comma-separated list of entity-tags (RFC 9110),
+     * each one an ETag built by versioned() or the version field itself, e.g. "3". The write goes ahead when the current
+     * version is one of them. Tags of another form can never match and only count towards a conflict. The W/ prefix
+     * is tolerated because proxies that compress the response weaken the ETag. Returns null when the header is absent
+     * or "*", meaning the write is unconditional.
+     */
+    public static Set<Long> expectedVersions(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        int position = 0;
+        int length = ifMatch.length();
+        while (position < length) {
+            char current = ifMatch.charAt(position);
+            if (current == ',' || current == ' ' || current == '\t') {
+                position++;
+                continue;
+            }
+            if (ifMatch.startsWith("W/", position)) {
+                position += 2;
+            }
+            int closingQuote = position < length && ifMatch.charAt(position) == '"' ? ifMatch.indexOf('"', position + 1) : -1;
+            if (closingQuote < 0) {
+                throw new AppException("El encabezado If-Match debe contener el ETag o la versión del recurso entre comillas.", HttpStatus.BAD_REQUEST);
+            }
+            Matcher version = VERSION.matcher(ifMatch.substring(position + 1, closingQuote));
+            if (version.matches()) {
+                versions.add(Long.parseLong(version.group(1)));
+            }
+            position = closingQuote + 1;
+        }
+        return versions;
+    }
+}
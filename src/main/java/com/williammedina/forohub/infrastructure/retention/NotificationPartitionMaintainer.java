@@ -0,0 +1,97 @@
+package com.williammedina.forohub.infrastructure.retention;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Maintains the monthly RANGE partitions of notifications created by db/optional/notifications_partitioning.sql:
+ * creates the partitions of the coming months out of p_future and drops every partition whose rows are all older than
+ * partition-max-age, read or not. Dropping a partition is a metadata operation, unlike deleting its rows.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(value = "notifications.retention.partitioned", havingValue = "true")
+public class NotificationPartitionMaintainer {
+
+    static final String FUTURE_PARTITION = "p_future";
+    private static final int MONTHS_AHEAD = 2;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration partitionMaxAge;
+
+    public NotificationPartitionMaintainer(
+            JdbcTemplate jdbcTemplate,
+            @Value("${notifications.retention.partition-max-age:365d}") Duration partitionMaxAge
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionMaxAge = partitionMaxAge;
+    }
+
+    /**
+     * Creates the upcoming partitions and drops the expired ones, returning the number of rows dropped.
+     */
+    public long maintain() {
+        createUpcomingPartitions();
+        return dropExpiredPartitions();
+    }
+
+    private void createUpcomingPartitions() {
+        long highestBound = partitions().stream().mapToLong(Partition::upperBound).max().orElse(0);
+        for (int i = 0; i <= MONTHS_AHEAD; i++) {
+            YearMonth month = YearMonth.now().plusMonths(i);
+            String bound = month.plusMonths(1).atDay(1) + " 00:00:00";
+            if (epochSecondsOf(bound) <= highestBound) {
+                continue;
+            }
+
+            String name = "p%04d%02d".formatted(month.getYear(), month.getMonthValue());
+            jdbcTemplate.execute("ALTER TABLE notifications REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO (" +
+                    "PARTITION " + name + " VALUES LESS THAN (UNIX_TIMESTAMP('" + bound + "')), " +
+                    "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE)");
+            highestBound = epochSecondsOf(bound);
+            log.info("Notification partition {} created", name);
+        }
+    }
+
+    private long dropExpiredPartitions() {
+        long cutoff = jdbcTemplate.queryForObject("SELECT UNIX_TIMESTAMP(?)", Long.class, LocalDateTime.now().minus(partitionMaxAge));
+        long dropped = 0;
+        for (Partition partition : partitions()) {
+            if (partition.upperBound() > cutoff) {
+                continue;
+            }
+            Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications PARTITION (" + partition.name() + ")", Long.class);
+            jdbcTemplate.execute("ALTER TABLE notifications DROP PARTITION " + partition.name());
+            dropped += rows != null ? rows : 0;
+            log.info("Notification partition {} dropped ({} rows)", partition.name(), rows);
+        }
+        return dropped;
+    }
+
+    // Bounded partitions only: p_future (MAXVALUE) is never dropped
+    private List<Partition> partitions() {
+        return jdbcTemplate.query(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'notifications' " +
+                        "AND PARTITION_NAME IS NOT NULL AND PARTITION_DESCRIPTION <> 'MAXVALUE' " +
+                        "ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, rowNum) -> new Partition(rs.getString(1), Long.parseLong(rs.getString(2)))
+        );
+    }
+
+    // Evaluated by the database, like the partition bounds, so both use the same time zone
+    private long epochSecondsOf(String dateTime) {
+        return jdbcTemplate.queryForObject("SELECT UNIX_TIMESTAMP(?)", Long.class, dateTime);
+    }
+
+    private record Partition(String name, long upperBound) {
+    }
+}
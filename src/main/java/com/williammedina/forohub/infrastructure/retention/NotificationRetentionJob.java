@@ -0,0 +1,100 @@
+package com.williammedina.forohub.infrastructure.retention;
+
+import com.williammedina.forohub.domain.notification.repository.NotificationRepository;
+import com.williammedina.forohub.infrastructure.pagination.Cursor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.IntSupplier;
+
+/**
+ * Applies the notification retention policy: read notifications older than read-max-age are deleted and each user
+ * keeps at most max-unread-per-user unread notifications (the least recent by created_at are deleted). Rows are deleted in chunks of
+ * chunk-size, each in its own transaction, so no lock is held for long. When the table is partitioned by month
+ * (see db/optional/notifications_partitioning.sql) whole partitions past partition-max-age are dropped as well.
+ * Published as the metrics notifications.retention.deleted (tag rule) and notifications.retention.duration.
+ * Opt-in (notifications.retention.enabled=true), since it deletes unread notifications as well.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(value = "notifications.retention.enabled", havingValue = "true")
+public class NotificationRetentionJob {
+
+    public static final String DELETED_METRIC = "notifications.retention.deleted";
+    public static final String DURATION_METRIC = "notifications.retention.duration";
+
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Optional<NotificationPartitionMaintainer> partitionMaintainer;
+    private final MeterRegistry meterRegistry;
+    private final Duration readMaxAge;
+    private final int maxUnreadPerUser;
+    private final int chunkSize;
+
+    public NotificationRetentionJob(
+            NotificationRepository notificationRepository,
+            TransactionTemplate transactionTemplate,
+            Optional<NotificationPartitionMaintainer> partitionMaintainer,
+            MeterRegistry meterRegistry,
+            @Value("${notifications.retention.read-max-age:90d}") Duration readMaxAge,
+            @Value("${notifications.retention.max-unread-per-user:1000}") int maxUnreadPerUser,
+            @Value("${notifications.retention.chunk-size:1000}") int chunkSize
+    ) {
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.partitionMaintainer = partitionMaintainer;
+        this.meterRegistry = meterRegistry;
+        this.readMaxAge = readMaxAge;
+        this.maxUnreadPerUser = maxUnreadPerUser;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${notifications.retention.cron:0 30 3 * * *}")
+    public void applyRetention() {
+        meterRegistry.timer(DURATION_METRIC).record(() -> {
+            partitionMaintainer.ifPresent(maintainer -> record("partition_expired", maintainer.maintain()));
+            record("read_expired", deleteExpiredRead());
+            record("unread_cap", deleteUnreadOverCap());
+        });
+    }
+
+    private long deleteExpiredRead() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(readMaxAge);
+        return deleteInChunks(() -> notificationRepository.deleteReadCreatedBefore(cutoff, chunkSize));
+    }
+
+    private long deleteUnreadOverCap() {
+        long deleted = 0;
+        for (Long userId : notificationRepository.findUserIdsWithUnreadOver(maxUnreadPerUser)) {
+            Optional<Cursor> boundary = notificationRepository.findUnreadPositionsByUserId(userId, PageRequest.of(maxUnreadPerUser, 1)).stream().findFirst();
+            if (boundary.isPresent()) {
+                deleted += deleteInChunks(() -> notificationRepository.deleteUnreadUpTo(userId, boundary.get().timestamp(), boundary.get().id(), chunkSize));
+            }
+        }
+        return deleted;
+    }
+
+    private long deleteInChunks(IntSupplier deleteChunk) {
+        long deleted = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> deleteChunk.getAsInt());
+            deleted += chunk;
+        } while (chunk == chunkSize);
+        return deleted;
+    }
+
+    private void record(String rule, long deleted) {
+        meterRegistry.counter(DELETED_METRIC, "rule", rule).increment(deleted);
+        log.info("Notification retention ({}): {} notifications deleted", rule, deleted);
+    }
+}
@@ -12,6 +12,8 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -31,6 +33,16 @@ public class AuthService implements UserDetailsService, AuthenticatedUserProvide
         throw new IllegalStateException("El usuario autenticado no es válido.");
     }
 
+    @Override
+    public Optional<UserEntity> findAuthenticatedUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication != null && authentication.getPrincipal() instanceof UserEntity user) {
+            return Optional.of(user);
+        }
+        return Optional.empty();
+    }
+
     @Override
     public UserDetails loadUserByUsername(String identifier) {
         return userRepository.findByEmailOrUsername(identifier, identifier)
@@ -1,5 +1,6 @@
 package com.williammedina.forohub.infrastructure.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -43,6 +44,9 @@ public class SecurityConfigurations {
             new PublicEndpoint("/api/auth/confirm-account/{token}", HttpMethod.GET),
             new PublicEndpoint("/api/topic", HttpMethod.GET),
             new PublicEndpoint("/api/topic/{topicId}", HttpMethod.GET),
+            new PublicEndpoint("/api/topic/{topicId}/replies", HttpMethod.GET),
+            new PublicEndpoint("/api/topic/{topicId}/followers", HttpMethod.GET),
+            new PublicEndpoint("/api/reply", HttpMethod.GET),
             new PublicEndpoint("/api/reply/{replyId}", HttpMethod.GET),
             new PublicEndpoint("/api/course", HttpMethod.GET),
             new PublicEndpoint("/api/docs", HttpMethod.GET),
@@ -59,6 +63,8 @@ public class SecurityConfigurations {
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> {
+                    // Streams (GET /api/notify/stream) are authorized when opened; their async dispatch carries no token
+                    auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
                     PUBLIC_ENDPOINTS.forEach(endpoint ->
                             auth.requestMatchers(endpoint.method(), endpoint.url()).permitAll()
                     );
@@ -75,7 +81,8 @@ public class SecurityConfigurations {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Collections.singletonList(frontendUrl));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "If-None-Match", "If-Match"));
+        configuration.setExposedHeaders(List.of("ETag"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -10,6 +10,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -32,8 +33,32 @@ public class SecurityFilter extends OncePerRequestFilter {
 
     private static final List<PublicEndpoint> PUBLIC_ENDPOINTS = SecurityConfigurations.PUBLIC_ENDPOINTS;
 
+    // Public endpoints whose response depends on the caller (own pending content, followedByMe). On any other public
+    // endpoint a Bearer token is ignored, so that it does not cost a user lookup on the primary
+    private static final List<PublicEndpoint> PERSONALIZED_ENDPOINTS = List.of(
+            new PublicEndpoint("/api/topic/{topicId}", HttpMethod.GET),
+            new PublicEndpoint("/api/reply/{replyId}", HttpMethod.GET)
+    );
+
+    // Personalized only when called as a batch lookup (ids=), not as the public listing
+    private static final List<PublicEndpoint> BATCH_LOOKUP_ENDPOINTS = List.of(
+            new PublicEndpoint("/api/topic", HttpMethod.GET),
+            new PublicEndpoint("/api/reply", HttpMethod.GET)
+    );
+
     private boolean isPublicUrl(String requestUri, String requestMethod) {
-        return PUBLIC_ENDPOINTS.stream().anyMatch(endpoint -> {
+        return matches(PUBLIC_ENDPOINTS, requestUri, requestMethod);
+    }
+
+    private boolean isPersonalized(HttpServletRequest request) {
+        String requestUri = request.getRequestURI();
+        String requestMethod = request.getMethod();
+        return matches(PERSONALIZED_ENDPOINTS, requestUri, requestMethod)
+                || (matches(BATCH_LOOKUP_ENDPOINTS, requestUri, requestMethod) && request.getParameter("ids") != null);
+    }
+
+    private boolean matches(List<PublicEndpoint> endpoints, String requestUri, String requestMethod) {
+        return endpoints.stream().anyMatch(endpoint -> {
             String uriPattern = endpoint.url()
                     .replace("{token}", "[^/]+")
                     .replace("{topicId}", "[^/]+")
@@ -50,14 +75,17 @@ public class SecurityFilter extends OncePerRequestFilter {
         String requestUri = request.getRequestURI();
         String requestMethod = request.getMethod();
 
+        // Leer el access token desde el header "Authorization"
+        String authHeader = request.getHeader("Authorization");
+
         if (isPublicUrl(requestUri, requestMethod)) {
+            if (isPersonalized(request)) {
+                authenticateOptionally(authHeader);
+            }
             filterChain.doFilter(request, response);
             return;
         }
 
-        // Leer el access token desde el header "Authorization"
-        String authHeader = request.getHeader("Authorization");
-
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             log.warn("Missing or malformed Authorization header in request: {} {}", requestMethod, requestUri);
             sendUnauthorizedResponse(request, response, "Token inválido o ausente.");
@@ -77,6 +105,19 @@ public class SecurityFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Public endpoints are served anonymously when the token is missing or invalid; a valid one only personalizes the response
+    private void authenticateOptionally(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return;
+        }
+
+        try {
+            authenticateUser(authHeader.replace("Bearer ", ""));
+        } catch (JWTVerificationException | UsernameNotFoundException | IllegalArgumentException e) {
+            log.debug("Ignoring invalid token on public endpoint: {}", e.getMessage());
+        }
+    }
+
     private void authenticateUser(String token) {
         String userId = tokenService.getSubjectFromToken(token);
         if (userId == null) {
@@ -84,7 +125,7 @@ public class SecurityFilter extends OncePerRequestFilter {
             throw new JWTVerificationException("Token inválido.");
         }
 
-        var user = userRepository.findById(Long.valueOf(userId))
+        var user = userRepository.findWithProfileById(Long.valueOf(userId))
                 .orElseThrow(() -> {
                     log.error("User with ID {} not found in the database.", userId);
                     return new UsernameNotFoundException("Usuario no encontrado");
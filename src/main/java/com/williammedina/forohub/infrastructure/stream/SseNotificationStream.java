@@ -0,0 +1,198 @@
+package com.williammedina.forohub.infrastructure.stream;
+
+import com.williammedina.forohub.domain.notification.service.stream.NotificationCreatedEvent;
+import com.williammedina.forohub.domain.notification.service.stream.NotificationStream;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process registry of the open GET /api/notify/stream connections, so it only reaches the clients connected to
+ * this instance. Each connection has a bounded queue drained on the stream executor: publishing never blocks on a slow
+ * client, events beyond MAX_PENDING_EVENTS are dropped and a client still stalled at the next heartbeat is
+ * disconnected (it reconnects and resynchronizes with GET /api/notify?since=). Published as the metrics
+ * notifications.stream.connections and notifications.stream.dropped (tag reason).
+ */
+@Slf4j
+@Service
+public class SseNotificationStream implements NotificationStream {
+
+    public static final String CONNECTIONS_METRIC = "notifications.stream.connections";
+    public static final String DROPPED_METRIC = "notifications.stream.dropped";
+
+    static final int MAX_CONNECTIONS_PER_USER = 5;
+    static final int MAX_PENDING_EVENTS = 100;
+
+    private final Map<Long, Queue<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Executor streamExecutor;
+    private final Duration timeout;
+    private final Counter droppedQueueFull;
+    private final Counter droppedDisconnected;
+
+    public SseNotificationStream(
+            MeterRegistry meterRegistry,
+            @Qualifier("notificationStreamExecutor") Executor streamExecutor,
+            @Value("${notifications.stream.timeout:30m}") Duration timeout
+    ) {
+        this.streamExecutor = streamExecutor;
+        this.timeout = timeout;
+        meterRegistry.gauge(CONNECTIONS_METRIC, connectionCount);
+        this.droppedQueueFull = meterRegistry.counter(DROPPED_METRIC, "reason", "queue_full");
+        this.droppedDisconnected = meterRegistry.counter(DROPPED_METRIC, "reason", "disconnected");
+    }
+
+    @Override
+    public SseEmitter register(Long userId) {
+        Connection connection = new Connection(userId, new SseEmitter(timeout.toMillis()));
+        connection.emitter.onCompletion(() -> remove(connection));
+        connection.emitter.onError(error -> remove(connection));
+
+        connections.compute(userId, (id, userConnections) -> {
+            Queue<Connection> queue = userConnections != null ? userConnections : new ConcurrentLinkedQueue<>();
+            queue.add(connection);
+            return queue;
+        });
+        connectionCount.incrementAndGet();
+        log.debug("Notification stream opened for user ID: {}", userId);
+
+        // The oldest connections of the user are closed beyond the limit (e.g. tabs that were never closed cleanly)
+        Queue<Connection> userConnections = connections.get(userId);
+        while (userConnections != null && userConnections.size() > MAX_CONNECTIONS_PER_USER) {
+            Connection oldest = userConnections.poll();
+            if (oldest != null) {
+                close(oldest);
+            }
+        }
+
+        // Flushes the response headers right away, so proxies and clients see the stream as open
+        connection.offer(SseEmitter.event().comment("connected").build());
+        return connection.emitter;
+    }
+
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void publish(NotificationCreatedEvent event) {
+        for (Long userId : event.userIds()) {
+            Queue<Connection> userConnections = connections.get(userId);
+            if (userConnections == null) {
+                continue;
+            }
+            for (Connection connection : userConnections) {
+                SseEmitter.SseEventBuilder message = SseEmitter.event().name("notification").data(event.notification());
+                if (event.notification().id() != null) {
+                    message.id(event.notification().id().toString());
+                }
+                if (!connection.offer(message.build())) {
+                    droppedQueueFull.increment();
+                }
+            }
+        }
+    }
+
+    // Keeps idle connections open through proxies and disconnects the clients that stopped reading
+    @Scheduled(fixedDelayString = "${notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        connections.values().forEach(userConnections -> userConnections.forEach(connection -> {
+            if (!connection.offer(SseEmitter.event().comment("heartbeat").build())) {
+                log.debug("Notification stream of user ID: {} is not being read, closing it", connection.userId);
+                close(connection);
+            }
+        }));
+    }
+
+    private void close(Connection connection) {
+        remove(connection);
+        connection.emitter.complete();
+    }
+
+    private void remove(Connection connection) {
+        if (!connection.closed.compareAndSet(false, true)) {
+            return;
+        }
+        connections.computeIfPresent(connection.userId, (id, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+        connectionCount.decrementAndGet();
+        droppedDisconnected.increment(connection.pendingCount.getAndSet(0));
+        log.debug("Notification stream closed for user ID: {}", connection.userId);
+    }
+
+    private final class Connection {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<Set<DataWithMediaType>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        // False when the queue is full: the client is not keeping up
+        private boolean offer(Set<DataWithMediaType> message) {
+            if (closed.get()) {
+                return true;
+            }
+            if (pendingCount.incrementAndGet() > MAX_PENDING_EVENTS) {
+                pendingCount.decrementAndGet();
+                return false;
+            }
+            pending.add(message);
+            scheduleDrain();
+            return true;
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    streamExecutor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false); // Retried on the next offer
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> message;
+                while (!closed.get() && (message = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    emitter.send(message);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Notification stream of user ID: {} failed: {}", userId, e.getMessage());
+                close(this);
+            } finally {
+                draining.set(false);
+                if (!closed.get() && !pending.isEmpty()) {
+                    scheduleDrain();
+                }
+            }
+        }
+    }
+}
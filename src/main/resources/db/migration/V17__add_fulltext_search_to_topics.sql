@@ -0,0 +1,13 @@
+-- Searchable text (title + course category) with an accent-insensitive collation,
+-- so that 'topico' matches 'tópico' regardless of the table's default charset
+ALTER TABLE topics
+    ADD COLUMN search_text VARCHAR(500) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NULL;
+
+-- Backfill existing topics
+UPDATE topics t
+LEFT JOIN courses c ON c.id = t.course_id
+SET t.search_text = CONCAT_WS(' ', t.title, c.category);
+
+-- Full-text index used by the keyword search
+ALTER TABLE topics
+    ADD FULLTEXT INDEX ft_topics_search_text (search_text);
@@ -0,0 +1,11 @@
+-- Denormalized counter of non-deleted replies, maintained by the application on reply create/delete
+ALTER TABLE topics
+    ADD COLUMN replies_count INT NOT NULL DEFAULT 0;
+
+-- Backfill existing topics
+UPDATE topics t
+SET t.replies_count = (
+    SELECT COUNT(*)
+    FROM replies r
+    WHERE r.topic_id = t.id AND r.is_deleted = FALSE
+);
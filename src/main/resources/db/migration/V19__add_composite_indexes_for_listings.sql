@@ -0,0 +1,27 @@
+-- Composite indexes matched to the listing queries: equality filters first, then the sort column,
+-- so that the rows come out of the index already ordered and the LIMIT stops the scan early.
+-- InnoDB appends the primary key to every secondary index, which also covers the id tie-breaker.
+
+-- GET /topic
+CREATE INDEX idx_topics_deleted_created ON topics (is_deleted, created_at);
+
+-- GET /topic?courseId=&status=
+CREATE INDEX idx_topics_course_status_deleted_created ON topics (course_id, status, is_deleted, created_at);
+
+-- GET /topic/user/topics and the user topic counter
+CREATE INDEX idx_topics_user_deleted_created ON topics (user_id, is_deleted, created_at);
+
+-- Replies of a topic
+CREATE INDEX idx_replies_topic_deleted ON replies (topic_id, is_deleted);
+
+-- GET /reply/user/replies and the user reply counter
+CREATE INDEX idx_replies_user_deleted_created ON replies (user_id, is_deleted, created_at);
+
+-- GET /topic/user/followed-topics (the keyset cursor breaks ties on topic_id)
+CREATE INDEX idx_topic_followers_user_followed ON topic_followers (user_id, followed_at, topic_id);
+
+-- GET /notify
+CREATE INDEX idx_notifications_user_created ON notifications (user_id, created_at);
+
+-- Active refresh tokens of a user
+CREATE INDEX idx_refresh_tokens_user_revoked_expires ON refresh_tokens (user_id, revoked, expires_at);
@@ -0,0 +1,14 @@
+-- SHA-256 (hex) of the normalized title and description, used by the duplicate checks instead of comparing
+-- the TEXT column itself. Normalization must match ContentHash: collapse whitespace, trim and lowercase.
+ALTER TABLE topics
+    ADD COLUMN title_hash CHAR(64) CHARACTER SET ascii NULL,
+    ADD COLUMN description_hash CHAR(64) CHARACTER SET ascii NULL;
+
+-- Backfill existing topics (hashing the UTF-8 bytes, as the application does)
+UPDATE topics t
+SET t.title_hash = SHA2(LOWER(TRIM(REGEXP_REPLACE(CONVERT(t.title USING utf8mb4), '[[:space:]]+', ' '))), 256),
+    t.description_hash = SHA2(LOWER(TRIM(REGEXP_REPLACE(CONVERT(t.description USING utf8mb4), '[[:space:]]+', ' '))), 256);
+
+-- Not unique: soft-deleted topics may share a hash with a live one
+CREATE INDEX idx_topics_title_hash ON topics (title_hash, is_deleted);
+CREATE INDEX idx_topics_description_hash ON topics (description_hash, is_deleted);
@@ -0,0 +1,6 @@
+-- GET /topic/{topicId}/replies walks a topic's replies in creation order with a keyset cursor,
+-- so the sort column is appended to the topic index to avoid a filesort on long threads.
+-- The new index also covers the topic_id foreign key, which lets the old one be dropped.
+CREATE INDEX idx_replies_topic_deleted_created ON replies (topic_id, is_deleted, created_at);
+
+DROP INDEX idx_replies_topic_deleted ON replies;
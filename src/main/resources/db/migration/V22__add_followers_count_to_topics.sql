@@ -0,0 +1,14 @@
+-- Denormalized counter of followers, maintained by the application on follow/unfollow
+ALTER TABLE topics
+    ADD COLUMN followers_count INT NOT NULL DEFAULT 0;
+
+-- Backfill existing topics
+UPDATE topics t
+SET t.followers_count = (
+    SELECT COUNT(*)
+    FROM topic_followers f
+    WHERE f.topic_id = t.id
+);
+
+-- GET /topic/{topicId}/followers (the keyset cursor breaks ties on user_id)
+CREATE INDEX idx_topic_followers_topic_followed ON topic_followers (topic_id, followed_at, user_id);
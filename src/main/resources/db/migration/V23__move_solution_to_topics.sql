@@ -0,0 +1,16 @@
+-- The accepted answer becomes a single column on the topic, so toggling it is one conditional UPDATE of the
+-- topic row instead of rewriting every reply. replies.solution is derived from it from now on.
+ALTER TABLE topics
+    ADD COLUMN solution_reply_id BIGINT NULL,
+    ADD CONSTRAINT fk_topics_solution_reply FOREIGN KEY (solution_reply_id) REFERENCES replies(id) ON DELETE SET NULL;
+
+-- Backfill from the old flag; if a topic somehow had several solutions the latest one wins
+UPDATE topics t
+SET t.solution_reply_id = (
+    SELECT MAX(r.id)
+    FROM replies r
+    WHERE r.topic_id = t.id AND r.solution = TRUE AND r.is_deleted = FALSE
+);
+
+ALTER TABLE replies
+    DROP COLUMN solution;
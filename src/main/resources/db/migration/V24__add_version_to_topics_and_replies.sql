@@ -0,0 +1,7 @@
+-- Optimistic locking: every entity UPDATE checks and increments the version read with the row,
+-- so concurrent edits fail with 409 instead of overwriting each other
+ALTER TABLE topics
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE replies
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
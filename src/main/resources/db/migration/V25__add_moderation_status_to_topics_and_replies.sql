@@ -0,0 +1,11 @@
+-- Content stored while the moderation worker has not reviewed it yet (content.moderation.mode=async) is PENDING
+-- and hidden from public listings; existing content is already moderated
+ALTER TABLE topics
+    ADD COLUMN moderation_status ENUM('PENDING', 'PUBLISHED', 'REJECTED') NOT NULL DEFAULT 'PUBLISHED';
+
+ALTER TABLE replies
+    ADD COLUMN moderation_status ENUM('PENDING', 'PUBLISHED', 'REJECTED') NOT NULL DEFAULT 'PUBLISHED';
+
+-- Lets the worker read the pending rows without scanning the tables
+CREATE INDEX idx_topics_moderation_status ON topics (moderation_status, id);
+CREATE INDEX idx_replies_moderation_status ON replies (moderation_status, id);
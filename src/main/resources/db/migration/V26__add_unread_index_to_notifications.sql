@@ -0,0 +1,2 @@
+-- GET /notify/unread-count: the count is answered from this index alone, without reading the notification rows
+CREATE INDEX idx_notifications_user_read ON notifications (user_id, is_read);
@@ -0,0 +1,22 @@
+-- Transactional outbox: notifications and emails are recorded in the same transaction as the change that causes
+-- them and delivered afterwards by the outbox worker. One row per event and channel, so an email failure never
+-- replays the in-app notification
+CREATE TABLE outbox_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(40) NOT NULL,
+    channel ENUM('NOTIFICATION', 'EMAIL') NOT NULL,
+    topic_id BIGINT NULL,
+    reply_id BIGINT NULL,
+    actor_id BIGINT NULL,
+    idempotency_key VARCHAR(191) NOT NULL,
+    status ENUM('PENDING', 'PROCESSED', 'FAILED') NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    available_at DATETIME(6) NOT NULL,
+    last_error VARCHAR(500) NULL,
+    created_at DATETIME(6) NOT NULL,
+    processed_at DATETIME(6) NULL,
+    CONSTRAINT uk_outbox_events_idempotency_key UNIQUE (idempotency_key)
+);
+
+-- Worker poll: pending events that are due, oldest first
+CREATE INDEX idx_outbox_events_status_available ON outbox_events (status, available_at, id);
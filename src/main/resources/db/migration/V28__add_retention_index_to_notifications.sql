@@ -0,0 +1,2 @@
+-- Notification retention job: read notifications past the retention age are found and deleted in chunks from this index
+CREATE INDEX idx_notifications_read_created ON notifications (is_read, created_at);
@@ -0,0 +1,10 @@
+-- Coalesced notifications: while a notification is unread, unread_key holds "topic:type:subtype" and the unique key
+-- turns a repeated event for the same user into an update of that row (event_count + 1, last actor, latest message).
+-- Marking it as read clears unread_key (NULLs never collide), so the next event starts a new row.
+-- Rows created before this migration have no key and are not coalesced.
+ALTER TABLE notifications
+    ADD COLUMN event_count INT NOT NULL DEFAULT 1,
+    ADD COLUMN last_actor_id BIGINT NULL,
+    ADD COLUMN unread_key VARCHAR(64) NULL;
+
+CREATE UNIQUE INDEX uk_notifications_user_unread_key ON notifications (user_id, unread_key);
@@ -0,0 +1,8 @@
+-- Parametric notifications: new rows store only their template; the title and message are rendered when read from the
+-- template and the current topic, course and actor (see NotificationRenderer), so they are no longer copied into
+-- every recipient's row and follow topic renames. Rows created before this migration keep their stored text.
+-- Notifications about deleted topics now keep topic_id too (topics are soft-deleted), to render the topic title.
+ALTER TABLE notifications
+    ADD COLUMN template VARCHAR(40) NULL,
+    MODIFY title VARCHAR(255) NULL,
+    MODIFY message TEXT NULL;
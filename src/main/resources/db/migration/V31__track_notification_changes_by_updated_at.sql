@@ -0,0 +1,8 @@
+-- GET /api/notify?since= compares against updated_at, which every write of a notification moves forward (a new event
+-- coalesced into an unread row keeps its id). Microsecond precision keeps consecutive events apart.
+UPDATE notifications SET updated_at = created_at WHERE updated_at IS NULL;
+
+ALTER TABLE notifications
+    MODIFY updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+
+CREATE INDEX idx_notifications_user_updated ON notifications (user_id, updated_at);
@@ -0,0 +1,31 @@
+-- Optional: RANGE-partitions notifications by month of created_at, so that old notifications are removed by dropping
+-- whole partitions (notifications.retention.partitioned=true) instead of deleting rows.
+--
+-- Not a Flyway migration: run it manually during a maintenance window (it rebuilds the table) and only on MySQL or
+-- MariaDB. Partitioned InnoDB tables cannot have foreign keys and every unique key must include the partition column,
+-- so the script:
+--   * drops the foreign keys to users, topics and replies. The application never hard-deletes those rows, so their
+--     ON DELETE actions never fire; notifications of rows deleted by hand must then be deleted by hand as well;
+--   * turns the primary key into (id, created_at);
+--   * replaces the unique key used to coalesce unread notifications (V29) with a plain index. Without it the upserts
+--     always insert, so notifications are no longer coalesced: partitioning trades that for cheap expiry.
+-- The first partition holds everything up to the month the script is run; adjust its bound before running it.
+-- NotificationPartitionMaintainer then adds the coming months out of p_future and drops expired partitions.
+
+ALTER TABLE notifications DROP FOREIGN KEY fk_notifications_user;
+ALTER TABLE notifications DROP FOREIGN KEY fk_notifications_topic;
+ALTER TABLE notifications DROP FOREIGN KEY fk_notifications_reply;
+
+DROP INDEX uk_notifications_user_unread_key ON notifications;
+CREATE INDEX idx_notifications_user_unread_key ON notifications (user_id, unread_key);
+
+ALTER TABLE notifications
+    MODIFY created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, created_at);
+
+ALTER TABLE notifications
+    PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+        PARTITION p_initial VALUES LESS THAN (UNIX_TIMESTAMP('2026-11-01 00:00:00')),
+        PARTITION p_future VALUES LESS THAN MAXVALUE
+    );
@@ -10,6 +10,7 @@ import org.springframework.boot.test.autoconfigure.json.AutoConfigureJsonTesters
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.context.ActiveProfiles;
@@ -47,6 +48,22 @@ class CourseControllerTest {
         assertThat(responseBody).contains("Course 2");
     }
 
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería devolver HTTP 304 cuando la lista de cursos no ha cambiado")
+    void getAllCourses_NotModified() throws Exception {
+        String eTag = mvc.perform(get("/api/course"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        var mvcResponse = mvc.perform(get("/api/course").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andReturn().getResponse();
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+
+        createCourse("Course 3", "Description 3");
+        mvcResponse = mvc.perform(get("/api/course").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andReturn().getResponse();
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
     private void createCourse(String name, String category) {
         courseRepository.save(new CourseEntity(name, category));
     }
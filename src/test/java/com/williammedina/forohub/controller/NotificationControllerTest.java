@@ -1,5 +1,6 @@
 package com.williammedina.forohub.controller;
 
+import com.jayway.jsonpath.JsonPath;
 import com.williammedina.forohub.config.TestConfig;
 import com.williammedina.forohub.config.TestUtil;
 import com.williammedina.forohub.domain.course.entity.CourseEntity;
@@ -18,12 +19,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
-
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -70,6 +72,53 @@ class NotificationControllerTest {
         assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
     }
 
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería devolver solo las notificaciones modificadas después de la fecha indicada en 'since'")
+    void getNewNotificationsByUser_Since() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        NotificationEntity seen = createNotification("William", "Seen notification");
+        createNotification("William", "New notification");
+        var mvcResponse = mvc.perform(
+                testUtil.withAuth(get("/api/notify").param("since", seen.getUpdatedAt().toString()), user)
+        ).andReturn().getResponse();
+
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(JsonPath.<List<String>>read(mvcResponse.getContentAsString(), "$.content[*].title")).containsExactly("New notification");
+        assertThat(JsonPath.<Boolean>read(mvcResponse.getContentAsString(), "$.hasNext")).isFalse();
+    }
+
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería abrir el canal de notificaciones en tiempo real")
+    void streamNotifications_OpensEventStream() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        var mvcResult = mvc.perform(
+                testUtil.withAuth(get("/api/notify/stream").accept(MediaType.TEXT_EVENT_STREAM), user)
+        ).andReturn();
+
+        assertThat(mvcResult.getResponse().getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(mvcResult.getRequest().isAsyncStarted()).isTrue();
+    }
+
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería devolver la cantidad de notificaciones sin leer del usuario")
+    void getUnreadCount_Success() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        long unreadBefore = notificationRepository.countUnreadByUserId(user.getId());
+        createNotification("William", "Unread notification");
+        NotificationEntity read = createNotification("William", "Read notification");
+        read.markAsRead();
+        createNotification("Admin", "Another user's notification");
+        var mvcResponse = mvc.perform(
+                testUtil.withAuth(get("/api/notify/unread-count"), user)
+        ).andReturn().getResponse();
+
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(JsonPath.<Integer>read(mvcResponse.getContentAsString(), "$.unreadCount")).isEqualTo((int) unreadBefore + 1);
+    }
+
     @Test
     @WithUserDetails("William")
     @DisplayName("Debería devolver HTTP 204 cuando la notificación se elimina exitosamente")
@@ -157,6 +206,55 @@ class NotificationControllerTest {
         assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
     }
 
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería marcar como leídas todas las notificaciones del usuario en una sola operación")
+    void markNotificationsAsRead_All() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        createNotification("William", "Notification 1");
+        createNotification("William", "Notification 2");
+        NotificationEntity otherUserNotification = createNotification("Admin", "Admin notification");
+        var mvcResponse = mvc.perform(
+                testUtil.withAuth(patch("/api/notify/read").param("all", "true"), user)
+        ).andReturn().getResponse();
+
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(JsonPath.<Integer>read(mvcResponse.getContentAsString(), "$.affected")).isGreaterThanOrEqualTo(2);
+        assertThat(JsonPath.<Integer>read(mvcResponse.getContentAsString(), "$.unreadCount")).isZero();
+        assertThat(notificationRepository.countUnreadByUserId(otherUserNotification.getUser().getId())).isPositive();
+    }
+
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería eliminar solo las notificaciones indicadas que pertenecen al usuario")
+    void deleteNotifications_Ids_IgnoresOtherUsers() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        NotificationEntity own = createNotification("William", "Own notification");
+        NotificationEntity kept = createNotification("William", "Kept notification");
+        NotificationEntity otherUserNotification = createNotification("Admin", "Admin notification");
+        var mvcResponse = mvc.perform(
+                testUtil.withAuth(delete("/api/notify").param("ids", own.getId() + "," + otherUserNotification.getId()), user)
+        ).andReturn().getResponse();
+
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(JsonPath.<Integer>read(mvcResponse.getContentAsString(), "$.affected")).isEqualTo(1);
+        assertThat(notificationRepository.findById(own.getId())).isEmpty();
+        assertThat(notificationRepository.findById(kept.getId())).isPresent();
+        assertThat(notificationRepository.findById(otherUserNotification.getId())).isPresent();
+    }
+
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería devolver HTTP 400 cuando no se indica exactamente una opción de selección")
+    void deleteNotifications_InvalidSelection() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        var mvcResponse = mvc.perform(
+                testUtil.withAuth(delete("/api/notify").param("all", "true").param("ids", "1"), user)
+        ).andReturn().getResponse();
+
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+    }
+
     public NotificationEntity createNotification(String username, String title) {
         UserEntity user = testUtil.getAuthenticatedUser(username);
         Optional<CourseEntity> course = courseRepository.findById(1L);
@@ -1,17 +1,27 @@
 package com.williammedina.forohub.controller;
 
+import com.jayway.jsonpath.JsonPath;
 import com.williammedina.forohub.config.TestConfig;
 import com.williammedina.forohub.config.TestUtil;
+import com.williammedina.forohub.domain.contentvalidation.ModerationStatus;
 import com.williammedina.forohub.domain.course.entity.CourseEntity;
 import com.williammedina.forohub.domain.course.repository.CourseRepository;
+import com.williammedina.forohub.domain.notification.entity.NotificationEntity;
+import com.williammedina.forohub.domain.notification.repository.NotificationRepository;
+import com.williammedina.forohub.domain.outbox.entity.OutboxEventEntity;
+import com.williammedina.forohub.domain.outbox.repository.OutboxEventRepository;
 import com.williammedina.forohub.domain.reply.entity.ReplyEntity;
 import com.williammedina.forohub.domain.reply.repository.ReplyRepository;
 import com.williammedina.forohub.domain.reply.dto.CreateReplyDTO;
 import com.williammedina.forohub.domain.reply.dto.UpdateReplyDTO;
 import com.williammedina.forohub.domain.topic.entity.TopicEntity;
 import com.williammedina.forohub.domain.topic.repository.TopicRepository;
+import com.williammedina.forohub.domain.topicfollow.entity.TopicFollowEntity;
+import com.williammedina.forohub.domain.topicfollow.repository.TopicFollowRepository;
 import com.williammedina.forohub.domain.user.entity.UserEntity;
 import com.williammedina.forohub.domain.user.repository.UserRepository;
+import com.williammedina.forohub.infrastructure.outbox.OutboxWorker;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +30,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.json.JacksonTester;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithUserDetails;
@@ -27,9 +38,11 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -61,9 +74,24 @@ class ReplyControllerTest {
     @Autowired
     private ReplyRepository replyRepository;
 
+    @Autowired
+    private TopicFollowRepository topicFollowRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxWorker outboxWorker;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
     @Autowired
     private TestUtil testUtil;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     @WithUserDetails("William")
     @DisplayName("Debería devolver HTTP 201 cuando se crea una respuesta exitosamente")
@@ -82,6 +110,40 @@ class ReplyControllerTest {
         assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.CREATED.value());
     }
 
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería notificar a los seguidores del tópico, excepto al autor de la respuesta")
+    void createReply_NotifiesFollowers() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        UserEntity follower = userRepository.save(new UserEntity("Follower", "follower@example.com", "password"));
+        TopicEntity topic = createTopic("Admin", 1L, "Followed topic", "Topic Description");
+        topicFollowRepository.save(new TopicFollowEntity(user, topic));
+        topicFollowRepository.save(new TopicFollowEntity(follower, topic));
+        CreateReplyDTO createReplyDTO = new CreateReplyDTO(topic.getId(), "Reply for the followers.");
+        var mvcResponse = mvc.perform(
+                testUtil.withAuth(
+                        post("/api/reply")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(createReplyDTOJacksonTester.write(createReplyDTO).getJson()),
+                        user
+                )
+        ).andReturn().getResponse();
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.CREATED.value());
+        assertThat(outboxEventRepository.findAll())
+                .filteredOn(event -> topic.getId().equals(event.getTopicId()) && event.getType() == OutboxEventEntity.Type.FOLLOWERS_TOPIC_REPLY)
+                .extracting(OutboxEventEntity::getChannel, OutboxEventEntity::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple(OutboxEventEntity.Channel.NOTIFICATION, OutboxEventEntity.Status.PENDING),
+                        tuple(OutboxEventEntity.Channel.EMAIL, OutboxEventEntity.Status.PENDING)
+                );
+
+        outboxWorker.processBatch(Runnable::run); // Delivered in the test transaction instead of the worker pool
+        assertThat(notificationRepository.findAllByUserOrderByCreatedAtDesc(follower))
+                .anyMatch(notification -> notification.getSubtype() == NotificationEntity.Subtype.REPLY && topic.getId().equals(notification.getTopic().getId()));
+        assertThat(notificationRepository.findAllByUserOrderByCreatedAtDesc(user))
+                .noneMatch(notification -> notification.getTopic() != null && topic.getId().equals(notification.getTopic().getId()));
+    }
+
     @Test
     @WithUserDetails("William")
     @DisplayName("Debería devolver HTTP 400 cuando los datos de entrada son inválidos")
@@ -137,6 +199,65 @@ class ReplyControllerTest {
         assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
     }
 
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería actualizar con la versión vigente en If-Match y devolver HTTP 409 con la versión actual si está desactualizada")
+    void updateReply_IfMatch() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        TopicEntity topic = createTopic("William", 1L, "Topic for Reply", "Topic Description");
+        ReplyEntity reply = createReply("William", topic, "Original reply message");
+        UpdateReplyDTO updateReplyDTO = new UpdateReplyDTO("Updated reply message");
+
+        var updated = mvc.perform(
+                testUtil.withAuth(
+                        put("/api/reply/{replyId}", reply.getId())
+                                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(updateReplyDTOJacksonTester.write(updateReplyDTO).getJson()),
+                        user
+                )
+        ).andReturn().getResponse();
+        var stale = mvc.perform(
+                testUtil.withAuth(
+                        put("/api/reply/{replyId}", reply.getId())
+                                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(updateReplyDTOJacksonTester.write(updateReplyDTO).getJson()),
+                        user
+                )
+        ).andReturn().getResponse();
+
+        assertThat(updated.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(updated.getContentAsString()).contains("\"version\":1");
+        assertThat(stale.getStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+        assertThat(stale.getContentAsString()).contains("\"currentVersion\":1");
+    }
+
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería actualizar la respuesta cuando If-Match contiene el ETag devuelto por el GET")
+    void updateReply_IfMatchWithETag() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        TopicEntity topic = createTopic("William", 1L, "Topic for Reply", "Topic Description");
+        ReplyEntity reply = createReply("William", topic, "Original reply message");
+        UpdateReplyDTO updateReplyDTO = new UpdateReplyDTO("Updated reply message");
+        String eTag = mvc.perform(testUtil.withAuth(get("/api/reply/{replyId}", reply.getId()), user))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        var mvcResponse = mvc.perform(
+                testUtil.withAuth(
+                        put("/api/reply/{replyId}", reply.getId())
+                                .header(HttpHeaders.IF_MATCH, eTag)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(updateReplyDTOJacksonTester.write(updateReplyDTO).getJson()),
+                        user
+                )
+        ).andReturn().getResponse();
+
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(mvcResponse.getContentAsString()).contains("\"version\":1");
+    }
+
     @Test
     @WithUserDetails("William")
     @DisplayName("Debería devolver HTTP 200 y las respuestas del usuario autenticado")
@@ -155,6 +276,27 @@ class ReplyControllerTest {
         assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
     }
 
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería devolver HTTP 200 y las respuestas del usuario con paginación por cursor")
+    void getAllRepliesByUserAfter_Success() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        TopicEntity topic = createTopic("William", 1L, "Topic for Reply", "Topic Description");
+        createReply("William", topic, "First reply");
+        createReply("William", topic, "Second reply");
+        var mvcResponse = mvc.perform(
+                testUtil.withAuth(
+                        get("/api/reply/user/replies")
+                                .param("after", "")
+                                .param("size", "1")
+                                .contentType(MediaType.APPLICATION_JSON),
+                        user
+                )
+        ).andReturn().getResponse();
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(mvcResponse.getContentAsString()).contains("\"hasNext\":true");
+    }
+
     @Test
     @WithUserDetails("William")
     @DisplayName("Debería devolver HTTP 200 cuando se obtiene una respuesta por ID exitosamente")
@@ -172,6 +314,44 @@ class ReplyControllerTest {
         assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
     }
 
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería devolver HTTP 304 cuando el ETag de la respuesta no ha cambiado")
+    void getReplyById_NotModified() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        TopicEntity topic = createTopic("William", 1L, "Topic for Reply", "Topic Description");
+        ReplyEntity reply = createReply("William", topic, "Test reply message");
+        String eTag = mvc.perform(testUtil.withAuth(get("/api/reply/{replyId}", reply.getId()), user))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        var mvcResponse = mvc.perform(
+                testUtil.withAuth(
+                        get("/api/reply/{replyId}", reply.getId())
+                                .header(HttpHeaders.IF_NONE_MATCH, eTag),
+                        user
+                )
+        ).andReturn().getResponse();
+        assertThat(eTag).isNotBlank();
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+    }
+
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería devolver HTTP 404 y no 304 para una respuesta pendiente de otro usuario con If-None-Match")
+    void getReplyById_PendingModeration_NotModifiedHidden() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        TopicEntity topic = createTopic("William", 1L, "Topic for Reply", "Topic Description");
+        ReplyEntity reply = createReply("Admin", topic, "Pending reply message");
+        reply.setModerationStatus(ModerationStatus.PENDING);
+        var mvcResponse = mvc.perform(
+                testUtil.withAuth(
+                        get("/api/reply/{replyId}", reply.getId())
+                                .header(HttpHeaders.IF_NONE_MATCH, "*"),
+                        user
+                )
+        ).andReturn().getResponse();
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+    }
+
     @Test
     @WithUserDetails("William")
     @DisplayName("Debería devolver HTTP 404 cuando no se encuentra la respuesta por ID")
@@ -188,6 +368,25 @@ class ReplyControllerTest {
         assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
     }
 
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería devolver las respuestas solicitadas por lote en orden e indicar los IDs faltantes")
+    void getRepliesByIds_Success() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        TopicEntity topic = createTopic("William", 1L, "Topic for Reply", "Topic Description");
+        ReplyEntity first = createReply("William", topic, "First reply message");
+        ReplyEntity second = createReply("William", topic, "Second reply message");
+        var mvcResponse = mvc.perform(
+                testUtil.withAuth(
+                        get("/api/reply").param("ids", second.getId() + ",0," + first.getId()),
+                        user
+                )
+        ).andReturn().getResponse();
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(JsonPath.<List<String>>read(mvcResponse.getContentAsString(), "$.items[*].content")).containsExactly("Second reply message", "First reply message");
+        assertThat(JsonPath.<List<Integer>>read(mvcResponse.getContentAsString(), "$.missingIds")).containsExactly(0);
+    }
+
     @Test
     @WithUserDetails("William")
     @DisplayName("Debería devolver HTTP 200 cuando se actualiza una respuesta exitosamente")
@@ -207,6 +406,63 @@ class ReplyControllerTest {
         assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
     }
 
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería leer If-Match como lista de etiquetas y responder HTTP 400 cuando no están entre comillas")
+    void updateReply_IfMatchList() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        TopicEntity topic = createTopic("William", 1L, "Topic for Reply", "Topic Description");
+        ReplyEntity reply = createReply("William", topic, "Original reply message");
+        UpdateReplyDTO updateReplyDTO = new UpdateReplyDTO("Updated reply message");
+
+        var malformed = mvc.perform(
+                testUtil.withAuth(
+                        put("/api/reply/{replyId}", reply.getId())
+                                .header(HttpHeaders.IF_MATCH, "0")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(updateReplyDTOJacksonTester.write(updateReplyDTO).getJson()),
+                        user
+                )
+        ).andReturn().getResponse();
+        var mvcResponse = mvc.perform(
+                testUtil.withAuth(
+                        put("/api/reply/{replyId}", reply.getId())
+                                .header(HttpHeaders.IF_MATCH, "\"7\",W/\"0\"")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(updateReplyDTOJacksonTester.write(updateReplyDTO).getJson()),
+                        user
+                )
+        ).andReturn().getResponse();
+
+        assertThat(malformed.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(mvcResponse.getContentAsString()).contains("\"version\":1");
+    }
+
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería publicar y contar una respuesta rechazada cuando su nuevo contenido es aprobado")
+    void updateReply_RejectedIsPublished() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        TopicEntity topic = createTopic("William", 1L, "Topic for Reply", "Topic Description");
+        ReplyEntity reply = createReply("William", topic, "Original reply message");
+        reply.setModerationStatus(ModerationStatus.REJECTED);
+        entityManager.flush();
+        UpdateReplyDTO updateReplyDTO = new UpdateReplyDTO("This is a updated reply.");
+        var mvcResponse = mvc.perform(
+                testUtil.withAuth(
+                        put("/api/reply/{replyId}", reply.getId())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(updateReplyDTOJacksonTester.write(updateReplyDTO).getJson()),
+                        user
+                )
+        ).andReturn().getResponse();
+        entityManager.clear();
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(mvcResponse.getContentAsString()).contains("\"moderationStatus\":\"PUBLISHED\"");
+        assertThat(topicRepository.findById(topic.getId()).orElseThrow().getRepliesCount()).isEqualTo(1);
+    }
+
     @Test
     @WithUserDetails("William")
     @DisplayName("Debería devolver HTTP 400 cuando los datos de entrada son inválidos")
@@ -277,6 +533,32 @@ class ReplyControllerTest {
                 )
         ).andReturn().getResponse();
         assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(mvcResponse.getContentAsString()).contains("\"solution\":true");
+    }
+
+    @Test
+    @WithUserDetails("Admin")
+    @DisplayName("Debería alternar la solución del tópico y reemplazar la anterior al marcar otra respuesta")
+    void setCorrectReply_TogglesAndReplacesSolution() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("Admin");
+        TopicEntity topic = createTopic("William", 1L, "Topic for Reply Solution", "Topic Description");
+        ReplyEntity first = createReply("William", topic, "First reply");
+        ReplyEntity second = createReply("William", topic, "Second reply");
+
+        mvc.perform(testUtil.withAuth(patch("/api/reply/{replyId}", first.getId()), user));
+        mvc.perform(testUtil.withAuth(patch("/api/reply/{replyId}", second.getId()), user));
+        entityManager.clear();
+        TopicEntity afterReplace = topicRepository.findById(topic.getId()).orElseThrow();
+        assertThat(afterReplace.getSolutionReplyId()).isEqualTo(second.getId());
+        assertThat(afterReplace.getStatus()).isEqualTo(TopicEntity.Status.CLOSED);
+
+        var mvcResponse = mvc.perform(testUtil.withAuth(patch("/api/reply/{replyId}", second.getId()), user))
+                .andReturn().getResponse();
+        entityManager.clear();
+        TopicEntity afterUnmark = topicRepository.findById(topic.getId()).orElseThrow();
+        assertThat(mvcResponse.getContentAsString()).contains("\"solution\":false");
+        assertThat(afterUnmark.getSolutionReplyId()).isNull();
+        assertThat(afterUnmark.getStatus()).isEqualTo(TopicEntity.Status.ACTIVE);
     }
 
     @Test
@@ -2,14 +2,19 @@ package com.williammedina.forohub.controller;
 
 import com.williammedina.forohub.config.TestConfig;
 import com.williammedina.forohub.config.TestUtil;
+import com.williammedina.forohub.domain.contentvalidation.ModerationStatus;
 import com.williammedina.forohub.domain.course.entity.CourseEntity;
 import com.williammedina.forohub.domain.course.repository.CourseRepository;
+import com.williammedina.forohub.domain.reply.entity.ReplyEntity;
+import com.williammedina.forohub.domain.reply.repository.ReplyRepository;
 import com.williammedina.forohub.domain.topic.entity.TopicEntity;
 import com.williammedina.forohub.domain.topic.repository.TopicRepository;
 import com.williammedina.forohub.domain.topic.dto.InputTopicDTO;
 import com.williammedina.forohub.domain.topicfollow.service.TopicFollowServiceImpl;
 import com.williammedina.forohub.domain.user.entity.UserEntity;
 import com.williammedina.forohub.domain.user.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +23,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.json.JacksonTester;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithUserDetails;
@@ -25,7 +31,9 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -54,6 +62,12 @@ class TopicControllerTest {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private ReplyRepository replyRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @Autowired
     private TopicFollowServiceImpl topicFollowService;
 
@@ -145,6 +159,33 @@ class TopicControllerTest {
         assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
     }
 
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería devolver HTTP 200 cuando se obtienen los tópicos con paginación por cursor")
+    void getAllTopicsAfter_Success() throws Exception {
+        createTopic("William", 1L, "Title", "Description");
+        var mvcResponse  = mvc.perform(get("/api/topic")
+                        .param("after", "")
+                        .param("size", "6")
+                        .param("courseId", "1")
+                        .param("keyword", "Title")
+                        .param("status", "ACTIVE")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(mvcResponse.getContentAsString()).contains("\"nextCursor\"");
+    }
+
+    @Test
+    @DisplayName("Debería devolver HTTP 400 cuando el cursor de paginación es inválido")
+    void getAllTopicsAfter_InvalidCursor() throws Exception {
+        var mvcResponse  = mvc.perform(get("/api/topic")
+                        .param("after", "not-a-cursor")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+    }
+
     @Test
     @WithUserDetails("William")
     @DisplayName("Debería devolver HTTP 200 cuando se obtiene un tópico por ID exitosamente")
@@ -156,6 +197,105 @@ class TopicControllerTest {
         assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
     }
 
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería devolver los tópicos solicitados por lote en orden e indicar los IDs faltantes")
+    void getTopicsByIds_Success() throws Exception {
+        TopicEntity first = createTopic("William", 1L, "First title", "First description");
+        TopicEntity second = createTopic("William", 1L, "Second title", "Second description");
+        var mvcResponse = mvc.perform(get("/api/topic").param("ids", second.getId() + ",0," + first.getId() + "," + second.getId()))
+                .andReturn().getResponse();
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(JsonPath.<List<String>>read(mvcResponse.getContentAsString(), "$.items[*].title")).containsExactly("Second title", "First title");
+        assertThat(JsonPath.<List<Integer>>read(mvcResponse.getContentAsString(), "$.missingIds")).containsExactly(0);
+    }
+
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería devolver HTTP 400 cuando se solicitan más tópicos por lote de los permitidos")
+    void getTopicsByIds_TooManyIds() throws Exception {
+        String ids = String.join(",", LongStream.rangeClosed(1, 51).mapToObj(String::valueOf).toList());
+        var mvcResponse = mvc.perform(get("/api/topic").param("ids", ids))
+                .andReturn().getResponse();
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería devolver HTTP 304 cuando el ETag del tópico no ha cambiado")
+    void getTopicById_NotModified() throws Exception {
+        TopicEntity topic = createTopic("William", 1L, "Title", "Description");
+        String eTag = mvc.perform(get("/api/topic/{topicId}", topic.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        var mvcResponse = mvc.perform(get("/api/topic/{topicId}", topic.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andReturn().getResponse();
+        assertThat(eTag).isNotBlank();
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(mvcResponse.getContentAsString()).isEmpty();
+    }
+
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería devolver HTTP 200 con un nuevo ETag cuando el tópico recibe una respuesta")
+    void getTopicById_ModifiedAfterReply() throws Exception {
+        TopicEntity topic = createTopic("William", 1L, "Title", "Description");
+        String eTag = mvc.perform(get("/api/topic/{topicId}", topic.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        replyRepository.save(new ReplyEntity(testUtil.getAuthenticatedUser("William"), topic, "New reply"));
+        var mvcResponse = mvc.perform(get("/api/topic/{topicId}", topic.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andReturn().getResponse();
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(mvcResponse.getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+    }
+
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería mostrar un tópico pendiente de moderación solo a su autor")
+    void getTopicById_PendingModeration() throws Exception {
+        TopicEntity ownTopic = createTopic("William", 1L, "Own pending title", "Own pending description");
+        TopicEntity otherTopic = createTopic("Admin", 1L, "Other pending title", "Other pending description");
+        ownTopic.setModerationStatus(ModerationStatus.PENDING);
+        otherTopic.setModerationStatus(ModerationStatus.PENDING);
+        var ownResponse = mvc.perform(get("/api/topic/{topicId}", ownTopic.getId()))
+                .andReturn().getResponse();
+        var otherResponse = mvc.perform(get("/api/topic/{topicId}", otherTopic.getId()))
+                .andReturn().getResponse();
+        assertThat(ownResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(ownResponse.getContentAsString()).contains("\"moderationStatus\":\"PENDING\"");
+        assertThat(otherResponse.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería devolver HTTP 404 y no 304 para un tópico pendiente de otro usuario con If-None-Match")
+    void getTopicById_PendingModeration_NotModifiedHidden() throws Exception {
+        TopicEntity otherTopic = createTopic("Admin", 1L, "Other pending title", "Other pending description");
+        otherTopic.setModerationStatus(ModerationStatus.PENDING);
+        var mvcResponse = mvc.perform(get("/api/topic/{topicId}", otherTopic.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andReturn().getResponse();
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    @DisplayName("Debería usar el token Bearer en el detalle y en la consulta por lote para mostrar un tópico pendiente a su autor")
+    void getTopicById_PendingModeration_BearerToken() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        TopicEntity ownTopic = createTopic("William", 1L, "Own pending title", "Own pending description");
+        ownTopic.setModerationStatus(ModerationStatus.PENDING);
+        var detailResponse = mvc.perform(testUtil.withAuth(get("/api/topic/{topicId}", ownTopic.getId()), user))
+                .andReturn().getResponse();
+        var batchResponse = mvc.perform(testUtil.withAuth(get("/api/topic").param("ids", ownTopic.getId().toString()), user))
+                .andReturn().getResponse();
+        var anonymousResponse = mvc.perform(get("/api/topic/{topicId}", ownTopic.getId()))
+                .andReturn().getResponse();
+        assertThat(detailResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(JsonPath.<List<String>>read(batchResponse.getContentAsString(), "$.items[*].title")).containsExactly("Own pending title");
+        assertThat(anonymousResponse.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+    }
+
     @Test
     @WithUserDetails("William")
     @DisplayName("Debería devolver HTTP 404 cuando el tópico no existe")
@@ -168,6 +308,42 @@ class TopicControllerTest {
         assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
     }
 
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería devolver las respuestas del tópico por cursor con la solución al inicio de la primera página")
+    void getRepliesByTopic_Success() throws Exception {
+        TopicEntity topic = createTopic("William", 1L, "Title", "Description");
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        replyRepository.save(new ReplyEntity(user, topic, "First reply"));
+        replyRepository.save(new ReplyEntity(user, topic, "Second reply"));
+        ReplyEntity solution = replyRepository.save(new ReplyEntity(user, topic, "Solution reply"));
+        entityManager.flush();
+        topicRepository.markSolution(topic.getId(), solution.getId(), TopicEntity.Status.CLOSED);
+        entityManager.clear();
+
+        var firstPage = mvc.perform(get("/api/topic/{topicId}/replies", topic.getId()).param("size", "1"))
+                .andReturn().getResponse();
+        String nextCursor = JsonPath.read(firstPage.getContentAsString(), "$.nextCursor");
+        var secondPage = mvc.perform(get("/api/topic/{topicId}/replies", topic.getId())
+                        .param("size", "1")
+                        .param("after", nextCursor))
+                .andReturn().getResponse();
+
+        assertThat(firstPage.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(JsonPath.<List<String>>read(firstPage.getContentAsString(), "$.content[*].content")).containsExactly("Solution reply", "First reply");
+        assertThat(JsonPath.<List<String>>read(secondPage.getContentAsString(), "$.content[*].content")).containsExactly("Second reply");
+        assertThat(JsonPath.<Boolean>read(secondPage.getContentAsString(), "$.hasNext")).isFalse();
+    }
+
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería devolver HTTP 404 al pedir las respuestas de un tópico inexistente")
+    void getRepliesByTopic_NotFound() throws Exception {
+        var mvcResponse = mvc.perform(get("/api/topic/{topicId}/replies", 0L))
+                .andReturn().getResponse();
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+    }
+
     @Test
     @WithUserDetails("William")
     @DisplayName("Debería devolver HTTP 200 cuando el tópico se actualiza exitosamente")
@@ -186,6 +362,27 @@ class TopicControllerTest {
         assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
     }
 
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería publicar un tópico rechazado cuando se edita y su contenido es aprobado")
+    void updateTopic_RejectedIsPublished() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        TopicEntity topic = createTopic("William", 1L, "Initial Title", "Initial Description");
+        topic.setModerationStatus(ModerationStatus.REJECTED);
+        entityManager.flush();
+        InputTopicDTO input = new InputTopicDTO("Initial Title", "Updated Valid Description", 1L);
+        var mvcResponse  = mvc.perform(
+                testUtil.withAuth(
+                        put("/api/topic/{topicId}", topic.getId())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(inputTopicDTOJacksonTester.write(input).getJson()),
+                        user
+                )
+        ).andReturn().getResponse();
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(mvcResponse.getContentAsString()).contains("\"moderationStatus\":\"PUBLISHED\"");
+    }
+
     @Test
     @WithUserDetails("William")
     @DisplayName("Debería devolver HTTP 400 cuando los datos de entrada son inválidos")
@@ -257,6 +454,144 @@ class TopicControllerTest {
         assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.FORBIDDEN.value());
     }
 
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería devolver HTTP 409 con la versión actual cuando If-Match no coincide con la versión del tópico")
+    void updateTopic_StaleIfMatch() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        TopicEntity topic = createTopic("William", 1L, "Initial Title", "Initial Description");
+        InputTopicDTO input = new InputTopicDTO("Updated Valid Title", "Updated Valid Description", 1L);
+        var mvcResponse  = mvc.perform(
+                testUtil.withAuth(
+                        put("/api/topic/{topicId}", topic.getId())
+                                .header(HttpHeaders.IF_MATCH, "\"5\"")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(inputTopicDTOJacksonTester.write(input).getJson()),
+                        user
+                )
+        ).andReturn().getResponse();
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+        assertThat(mvcResponse.getContentAsString()).contains("\"currentVersion\":0");
+    }
+
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería actualizar el tópico e incrementar su versión cuando If-Match coincide")
+    void updateTopic_MatchingIfMatch() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        TopicEntity topic = createTopic("William", 1L, "Initial Title", "Initial Description");
+        InputTopicDTO input = new InputTopicDTO("Updated Valid Title", "Updated Valid Description", 1L);
+        var mvcResponse  = mvc.perform(
+                testUtil.withAuth(
+                        put("/api/topic/{topicId}", topic.getId())
+                                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(inputTopicDTOJacksonTester.write(input).getJson()),
+                        user
+                )
+        ).andReturn().getResponse();
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(mvcResponse.getContentAsString()).contains("\"version\":1");
+    }
+
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería aceptar en If-Match el ETag del GET y devolver HTTP 409 cuando ese ETag ya no es el vigente")
+    void updateTopic_IfMatchWithETag() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        TopicEntity topic = createTopic("William", 1L, "Initial Title", "Initial Description");
+        InputTopicDTO input = new InputTopicDTO("Updated Valid Title", "Updated Valid Description", 1L);
+        String eTag = mvc.perform(testUtil.withAuth(get("/api/topic/{topicId}", topic.getId()), user))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        var updated = mvc.perform(
+                testUtil.withAuth(
+                        put("/api/topic/{topicId}", topic.getId())
+                                .header(HttpHeaders.IF_MATCH, eTag)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(inputTopicDTOJacksonTester.write(input).getJson()),
+                        user
+                )
+        ).andReturn().getResponse();
+        var stale = mvc.perform(
+                testUtil.withAuth(
+                        put("/api/topic/{topicId}", topic.getId())
+                                .header(HttpHeaders.IF_MATCH, eTag)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(inputTopicDTOJacksonTester.write(input).getJson()),
+                        user
+                )
+        ).andReturn().getResponse();
+
+        assertThat(updated.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(stale.getStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+        assertThat(stale.getContentAsString()).contains("\"currentVersion\":1");
+    }
+
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería aceptar en If-Match el ETag del GET aunque el tópico haya ganado seguidores desde entonces")
+    void updateTopic_IfMatchWithETag_AfterFollow() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        TopicEntity topic = createTopic("William", 1L, "Initial Title", "Initial Description");
+        InputTopicDTO input = new InputTopicDTO("Updated Valid Title", "Updated Valid Description", 1L);
+        String eTag = mvc.perform(testUtil.withAuth(get("/api/topic/{topicId}", topic.getId()), user))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mvc.perform(testUtil.withAuth(post("/api/topic/follow/{topicId}", topic.getId()), testUtil.getAuthenticatedUser("Admin")));
+        entityManager.flush();
+        entityManager.clear();
+        String eTagAfterFollow = mvc.perform(testUtil.withAuth(get("/api/topic/{topicId}", topic.getId()), user))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        var mvcResponse = mvc.perform(
+                testUtil.withAuth(
+                        put("/api/topic/{topicId}", topic.getId())
+                                .header(HttpHeaders.IF_MATCH, eTag)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(inputTopicDTOJacksonTester.write(input).getJson()),
+                        user
+                )
+        ).andReturn().getResponse();
+
+        assertThat(eTagAfterFollow).isNotEqualTo(eTag);
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(mvcResponse.getContentAsString()).contains("\"version\":1");
+    }
+
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería actualizar el tópico cuando alguna de las etiquetas de una lista If-Match coincide")
+    void updateTopic_IfMatchList() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        TopicEntity topic = createTopic("William", 1L, "Initial Title", "Initial Description");
+        InputTopicDTO input = new InputTopicDTO("Updated Valid Title", "Updated Valid Description", 1L);
+        String eTag = mvc.perform(testUtil.withAuth(get("/api/topic/{topicId}", topic.getId()), user))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        var mvcResponse = mvc.perform(
+                testUtil.withAuth(
+                        put("/api/topic/{topicId}", topic.getId())
+                                .header(HttpHeaders.IF_MATCH, "\"5\", " + eTag)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(inputTopicDTOJacksonTester.write(input).getJson()),
+                        user
+                )
+        ).andReturn().getResponse();
+        var stale = mvc.perform(
+                testUtil.withAuth(
+                        put("/api/topic/{topicId}", topic.getId())
+                                .header(HttpHeaders.IF_MATCH, "\"5\", " + eTag)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(inputTopicDTOJacksonTester.write(input).getJson()),
+                        user
+                )
+        ).andReturn().getResponse();
+
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(stale.getStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+        assertThat(stale.getContentAsString()).contains("\"currentVersion\":1");
+    }
+
     @Test
     @WithUserDetails("William")
     @DisplayName("Debería devolver HTTP 204 cuando un tópico se elimina exitosamente")
@@ -320,6 +655,35 @@ class TopicControllerTest {
         assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
     }
 
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería mantener el número de seguidores y listar los seguidores del tópico")
+    void toggleFollowTopic_UpdatesFollowersCountAndList() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        TopicEntity topic = createTopic("Admin", 1L, "Topic to Follow", "Description");
+        mvc.perform(testUtil.withAuth(post("/api/topic/follow/{topicId}", topic.getId()), user));
+        entityManager.flush();
+        entityManager.clear();
+
+        var details = mvc.perform(testUtil.withAuth(get("/api/topic/{topicId}", topic.getId()), user))
+                .andReturn().getResponse();
+        var followers = mvc.perform(get("/api/topic/{topicId}/followers", topic.getId()))
+                .andReturn().getResponse();
+
+        assertThat(JsonPath.<Integer>read(details.getContentAsString(), "$.followersCount")).isEqualTo(1);
+        assertThat(JsonPath.<Boolean>read(details.getContentAsString(), "$.followedByMe")).isTrue();
+        assertThat(JsonPath.<List<String>>read(followers.getContentAsString(), "$.content[*].user.username")).containsExactly("William");
+
+        mvc.perform(testUtil.withAuth(post("/api/topic/follow/{topicId}", topic.getId()), user));
+        entityManager.flush();
+        entityManager.clear();
+
+        details = mvc.perform(testUtil.withAuth(get("/api/topic/{topicId}", topic.getId()), user))
+                .andReturn().getResponse();
+        assertThat(JsonPath.<Integer>read(details.getContentAsString(), "$.followersCount")).isZero();
+        assertThat(JsonPath.<Boolean>read(details.getContentAsString(), "$.followedByMe")).isFalse();
+    }
+
     @Test
     @WithUserDetails("William")
     @DisplayName("Debería devolver HTTP 404 cuando el tópico no existe")
@@ -394,6 +758,25 @@ class TopicControllerTest {
         assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
     }
 
+    @Test
+    @WithUserDetails("William")
+    @DisplayName("Debería devolver HTTP 200 cuando los tópicos seguidos se recuperan con paginación por cursor")
+    void getFollowedTopicsByUserAfter_Success() throws Exception {
+        UserEntity user = testUtil.getAuthenticatedUser("William");
+        TopicEntity topic1 = createTopic("Admin", 1L, "Followed Topic 1", "Description 1");
+        topicFollowService.toggleFollowTopic(topic1.getId());
+        var mvcResponse  = mvc.perform(
+                testUtil.withAuth(
+                        get("/api/topic/user/followed-topics")
+                                .param("after", "")
+                                .param("size", "5")
+                                .contentType(MediaType.APPLICATION_JSON),
+                        user
+                )
+        ).andReturn().getResponse();
+        assertThat(mvcResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
     public TopicEntity createTopic(String username, Long courseId, String title, String description) {
         UserEntity user = testUtil.getAuthenticatedUser(username);
         Optional<CourseEntity> course = courseRepository.findById(courseId);
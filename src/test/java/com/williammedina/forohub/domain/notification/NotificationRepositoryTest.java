@@ -1,16 +1,22 @@
 package com.williammedina.forohub.domain.notification;
 
+import com.williammedina.forohub.domain.course.entity.CourseEntity;
 import com.williammedina.forohub.domain.notification.entity.NotificationEntity;
 import com.williammedina.forohub.domain.notification.repository.NotificationRepository;
+import com.williammedina.forohub.domain.topic.entity.TopicEntity;
 import com.williammedina.forohub.domain.user.entity.UserEntity;
+import com.williammedina.forohub.infrastructure.pagination.Cursor;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -42,14 +48,167 @@ class NotificationRepositoryTest {
         assertThat(notifications).hasSize(2);
     }
 
-    private void createAndPersistNotification(UserEntity user) {
+    @Test
+    @DisplayName("Debe eliminar por lotes solo las notificaciones leídas anteriores a la fecha límite")
+    void deleteReadCreatedBefore_DeletesOnlyReadNotifications() {
+        // Arrange
+        UserEntity user = createAndPersistUser();
+        createAndPersistNotification(user).markAsRead();
+        createAndPersistNotification(user).markAsRead();
+        createAndPersistNotification(user);
+        entityManager.flush();
+
+        // Act
+        int firstChunk = notificationRepository.deleteReadCreatedBefore(LocalDateTime.now().plusMinutes(1), 1);
+        int secondChunk = notificationRepository.deleteReadCreatedBefore(LocalDateTime.now().plusMinutes(1), 1);
+        int thirdChunk = notificationRepository.deleteReadCreatedBefore(LocalDateTime.now().plusMinutes(1), 1);
+
+        // Assert
+        assertThat(List.of(firstChunk, secondChunk, thirdChunk)).containsExactly(1, 1, 0);
+        assertThat(notificationRepository.countUnreadByUserId(user.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe conservar solo las notificaciones no leídas más recientes hasta el límite por usuario")
+    void deleteUnreadUpTo_KeepsNewestUnreadWithinCap() {
+        // Arrange
+        UserEntity user = createAndPersistUser();
+        createAndPersistNotification(user);
+        createAndPersistNotification(user);
+        NotificationEntity newest = createAndPersistNotification(user);
+        entityManager.flush();
+
+        // Act
+        List<Long> usersOverCap = notificationRepository.findUserIdsWithUnreadOver(1);
+        Cursor boundary = notificationRepository.findUnreadPositionsByUserId(user.getId(), PageRequest.of(1, 1)).getFirst();
+        int deleted = notificationRepository.deleteUnreadUpTo(user.getId(), boundary.timestamp(), boundary.id(), 10);
+
+        // Assert
+        assertThat(usersOverCap).contains(user.getId());
+        assertThat(deleted).isEqualTo(2);
+        assertThat(notificationRepository.countUnreadByUserId(user.getId())).isEqualTo(1);
+        entityManager.clear();
+        assertThat(notificationRepository.findById(newest.getId())).isPresent();
+    }
+
+    @Test
+    @DisplayName("Debe medir la antigüedad de las no leídas por fecha y no por ID al aplicar el límite por usuario")
+    void deleteUnreadUpTo_RanksByCreatedAt() {
+        // Arrange
+        UserEntity user = createAndPersistUser();
+        NotificationEntity recentlyUpdated = createAndPersistNotification(user);
+        NotificationEntity older = createAndPersistNotification(user);
+        entityManager.flush();
+        setCreatedAt(recentlyUpdated, LocalDateTime.now());
+        setCreatedAt(older, LocalDateTime.now().minusDays(1));
+
+        // Act
+        Cursor boundary = notificationRepository.findUnreadPositionsByUserId(user.getId(), PageRequest.of(1, 1)).getFirst();
+        int deleted = notificationRepository.deleteUnreadUpTo(user.getId(), boundary.timestamp(), boundary.id(), 10);
+
+        // Assert
+        assertThat(deleted).isEqualTo(1);
+        entityManager.clear();
+        assertThat(notificationRepository.findById(recentlyUpdated.getId())).isPresent();
+        assertThat(notificationRepository.findById(older.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe agrupar en una sola fila los eventos repetidos mientras la notificación no se lea")
+    void upsertUnread_RepeatedEvent_CoalescesUntilRead() {
+        // Arrange
+        UserEntity user = createAndPersistUser();
+        UserEntity actor = createAndPersistUser("Actor");
+        TopicEntity topic = createAndPersistTopic(user);
+
+        // Act
+        Long firstId = notificationRepository.upsertUnread(user.getId(), topic.getId(), null, null, NotificationEntity.Template.TOPIC_REPLY);
+        Long secondId = notificationRepository.upsertUnread(user.getId(), topic.getId(), null, actor.getId(), NotificationEntity.Template.TOPIC_REPLY);
+        NotificationEntity coalesced = notificationRepository.findById(secondId).orElseThrow();
+        coalesced.markAsRead();
+        entityManager.flush();
+        Long afterReadId = notificationRepository.upsertUnread(user.getId(), topic.getId(), null, actor.getId(), NotificationEntity.Template.TOPIC_REPLY);
+        entityManager.clear();
+
+        // Assert
+        assertThat(secondId).isEqualTo(firstId);
+        NotificationEntity read = notificationRepository.findById(firstId).orElseThrow();
+        assertThat(read.getEventCount()).isEqualTo(2);
+        assertThat(read.getTemplate()).isEqualTo(NotificationEntity.Template.TOPIC_REPLY);
+        assertThat(read.getMessage()).isNull();
+        assertThat(read.getLastActor().getId()).isEqualTo(actor.getId());
+        assertThat(afterReadId).isNotEqualTo(firstId);
+        assertThat(notificationRepository.countUnreadByUserId(user.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe agrupar por lote las notificaciones de seguidores con las no leídas existentes")
+    void upsertUnreadForUsers_CoalescesPerUser() {
+        // Arrange
+        UserEntity user = createAndPersistUser();
+        UserEntity otherUser = createAndPersistUser("Other");
+        TopicEntity topic = createAndPersistTopic(user);
+        notificationRepository.upsertUnread(user.getId(), topic.getId(), null, null, NotificationEntity.Template.TOPIC_REPLY);
+
+        // Act
+        notificationRepository.upsertUnreadForUsers(List.of(user.getId(), otherUser.getId()), topic.getId(), null, null, NotificationEntity.Template.FOLLOWED_TOPIC_REPLY);
+        entityManager.clear();
+
+        // Assert
+        assertThat(notificationRepository.findAllByUserOrderByCreatedAtDesc(entityManager.find(UserEntity.class, user.getId())))
+                .singleElement()
+                .extracting(NotificationEntity::getEventCount)
+                .isEqualTo(2);
+        assertThat(notificationRepository.countUnreadByUserId(otherUser.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe devolver con 'since' una notificación agrupada en su misma fila después de la última recibida")
+    void findByUserAfter_Since_ReturnsCoalescedEvent() {
+        // Arrange
+        UserEntity user = createAndPersistUser();
+        TopicEntity topic = createAndPersistTopic(user);
+        Long id = notificationRepository.upsertUnread(user.getId(), topic.getId(), null, null, NotificationEntity.Template.TOPIC_REPLY);
+        LocalDateTime lastSeen = notificationRepository.findById(id).orElseThrow().getUpdatedAt();
+        entityManager.clear();
+
+        // Act
+        notificationRepository.upsertUnread(user.getId(), topic.getId(), null, null, NotificationEntity.Template.TOPIC_REPLY);
+        List<NotificationEntity> result = notificationRepository.findByUserAfter(entityManager.find(UserEntity.class, user.getId()), lastSeen, null, null, Limit.of(10));
+
+        // Assert
+        assertThat(result).singleElement().satisfies(notification -> {
+            assertThat(notification.getId()).isEqualTo(id);
+            assertThat(notification.getEventCount()).isEqualTo(2);
+        });
+    }
+
+    private NotificationEntity createAndPersistNotification(UserEntity user) {
         NotificationEntity notification = new NotificationEntity(user, null, null,"New Notify", "Retry Topic", NotificationEntity.Type.TOPIC, NotificationEntity.Subtype.REPLY);
         entityManager.persist(notification);
+        return notification;
+    }
+
+    private void setCreatedAt(NotificationEntity notification, LocalDateTime createdAt) {
+        entityManager.createNativeQuery("UPDATE notifications SET created_at = :createdAt WHERE id = :id")
+                .setParameter("createdAt", createdAt)
+                .setParameter("id", notification.getId())
+                .executeUpdate();
     }
 
     private UserEntity createAndPersistUser() {
-        UserEntity user = new UserEntity("WilliamM", "williamM@example.com", "password");
+        return createAndPersistUser("WilliamM");
+    }
+
+    private UserEntity createAndPersistUser(String username) {
+        UserEntity user = new UserEntity(username, username.toLowerCase() + "@example.com", "password");
         entityManager.persist(user);
         return user;
     }
+
+    private TopicEntity createAndPersistTopic(UserEntity user) {
+        TopicEntity topic = new TopicEntity(user, "Coalesced topic", "Description", entityManager.find(CourseEntity.class, 1L));
+        entityManager.persist(topic);
+        return topic;
+    }
 }
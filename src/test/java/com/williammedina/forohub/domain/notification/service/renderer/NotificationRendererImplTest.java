@@ -0,0 +1,70 @@
+package com.williammedina.forohub.domain.notification.service.renderer;
+
+import com.williammedina.forohub.domain.course.entity.CourseEntity;
+import com.williammedina.forohub.domain.notification.entity.NotificationEntity;
+import com.williammedina.forohub.domain.topic.entity.TopicEntity;
+import com.williammedina.forohub.domain.user.entity.UserEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationRendererImplTest {
+
+    private NotificationRendererImpl renderer;
+    private UserEntity owner;
+    private TopicEntity topic;
+
+    @BeforeEach
+    void setUp() {
+        renderer = new NotificationRendererImpl();
+        owner = new UserEntity("William", "william@example.com", "password");
+        topic = new TopicEntity(owner, "Dudas con Spring", "Description", new CourseEntity("Spring Boot", "Backend"));
+    }
+
+    @Test
+    @DisplayName("Debe renderizar el título y el mensaje con el tópico, el curso y el autor actuales")
+    void render_Template_UsesCurrentValues() {
+        // Arrange
+        NotificationEntity notification = new NotificationEntity();
+        notification.setTopic(topic);
+        notification.setLastActor(new UserEntity("Admin", "admin@example.com", "password"));
+        notification.setTemplate(NotificationEntity.Template.TOPIC_REPLY);
+
+        // Act
+        RenderedNotification rendered = renderer.render(notification);
+        topic.setTitle("Dudas con Spring Boot");
+        RenderedNotification afterRename = renderer.render(notification);
+
+        // Assert
+        assertThat(rendered.title()).isEqualTo("Nueva respuesta a tu tópico");
+        assertThat(rendered.message()).isEqualTo("Tu tópico ha recibido una nueva respuesta. Admin respondió al tópico 'Dudas con Spring' del curso: Spring Boot");
+        assertThat(afterRename.message()).contains("'Dudas con Spring Boot'");
+    }
+
+    @Test
+    @DisplayName("Debe mostrar el texto guardado en las notificaciones creadas antes de las plantillas")
+    void render_WithoutTemplate_UsesStoredText() {
+        // Arrange
+        NotificationEntity notification = new NotificationEntity(owner, topic, null, "Stored title", "Stored message", NotificationEntity.Type.TOPIC, NotificationEntity.Subtype.REPLY);
+
+        // Act
+        RenderedNotification rendered = renderer.render(notification);
+
+        // Assert
+        assertThat(rendered).isEqualTo(new RenderedNotification("Stored title", "Stored message"));
+    }
+
+    @Test
+    @DisplayName("Todas las plantillas deben tener texto sin marcadores sin resolver")
+    void render_AllTemplates_ResolvePlaceholders() {
+        Arrays.stream(NotificationEntity.Template.values()).forEach(template -> {
+            RenderedNotification rendered = renderer.render(template, topic, owner);
+            assertThat(rendered.title()).isNotBlank().doesNotContain("{");
+            assertThat(rendered.message()).isNotBlank().doesNotContain("{");
+        });
+    }
+}
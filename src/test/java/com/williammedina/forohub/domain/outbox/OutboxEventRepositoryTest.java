@@ -0,0 +1,68 @@
+package com.williammedina.forohub.domain.outbox;
+
+import com.williammedina.forohub.domain.outbox.entity.OutboxEventEntity;
+import com.williammedina.forohub.domain.outbox.repository.OutboxEventRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class OutboxEventRepositoryTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    @DisplayName("Debe registrar una sola vez los eventos con la misma clave de idempotencia")
+    void enqueue_SameIdempotencyKey_RecordedOnce() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+
+        // Act
+        enqueue("TOPIC_EDITED:NOTIFICATION:1v0:-", now);
+        enqueue("TOPIC_EDITED:NOTIFICATION:1v0:-", now);
+        enqueue("TOPIC_EDITED:NOTIFICATION:1v1:-", now);
+
+        // Assert
+        assertThat(outboxEventRepository.findAll())
+                .filteredOn(event -> event.getIdempotencyKey().startsWith("TOPIC_EDITED:NOTIFICATION:1v"))
+                .hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Solo el intento que reclamó el evento debe poder marcarlo como procesado")
+    void markProcessed_OnlyMatchesClaimingAttempt() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        enqueue("TOPIC_DELETED:EMAIL:2v0:-", now);
+        List<Long> ids = outboxEventRepository.lockDueEventIds(now.plusSeconds(1), 10);
+        outboxEventRepository.lease(ids, now.plusMinutes(5));
+
+        // Act
+        int staleAttempt = outboxEventRepository.markProcessed(ids.getFirst(), 0, now);
+        int claimingAttempt = outboxEventRepository.markProcessed(ids.getFirst(), 1, now);
+
+        // Assert
+        assertThat(staleAttempt).isZero();
+        assertThat(claimingAttempt).isEqualTo(1);
+        assertThat(outboxEventRepository.findById(ids.getFirst()))
+                .get()
+                .extracting(OutboxEventEntity::getStatus)
+                .isEqualTo(OutboxEventEntity.Status.PROCESSED);
+        assertThat(outboxEventRepository.lockDueEventIds(now.plusMinutes(10), 10)).doesNotContain(ids.getFirst());
+    }
+
+    private void enqueue(String idempotencyKey, LocalDateTime now) {
+        outboxEventRepository.enqueue("TOPIC_EDITED", "NOTIFICATION", 1L, null, null, idempotencyKey, now);
+    }
+}
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -48,6 +49,31 @@ class ReplyRepositoryTest {
         assertThat(responses).hasSize(2);
     }
 
+    @Test
+    @DisplayName("Debe paginar las respuestas de un tópico en orden de creación sin la solución ni las eliminadas")
+    void findByTopicAfter_ReturnsRepliesInCreationOrder() {
+        // Arrange
+        UserEntity user = createAndPersistUser();
+        TopicEntity topic = createAndPersistTopic(user);
+        ReplyEntity first = createAndPersistReply(user, topic);
+        ReplyEntity solution = createAndPersistReply(user, topic);
+        ReplyEntity deleted = createAndPersistReply(user, topic);
+        deleted.markAsDeleted();
+        ReplyEntity second = createAndPersistReply(user, topic);
+        ReplyEntity third = createAndPersistReply(user, topic);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<ReplyEntity> firstPage = replyRepository.findByTopicAfter(topic.getId(), solution.getId(), null, null, Limit.of(2));
+        ReplyEntity last = firstPage.getLast();
+        List<ReplyEntity> secondPage = replyRepository.findByTopicAfter(topic.getId(), solution.getId(), last.getCreatedAt(), last.getId(), Limit.of(2));
+
+        // Assert
+        assertThat(firstPage).extracting(ReplyEntity::getId).containsExactly(first.getId(), second.getId());
+        assertThat(secondPage).extracting(ReplyEntity::getId).containsExactly(third.getId());
+    }
+
     @Test
     @DisplayName("Debe devolver respuestas de un usuario")
     void findByUserSortedByCreationDate_ReturnsRepliesForUser() {
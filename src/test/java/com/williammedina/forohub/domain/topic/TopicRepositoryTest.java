@@ -1,20 +1,28 @@
 package com.williammedina.forohub.domain.topic;
 
+import com.williammedina.forohub.domain.contentvalidation.ModerationStatus;
 import com.williammedina.forohub.domain.course.entity.CourseEntity;
+import com.williammedina.forohub.domain.reply.entity.ReplyEntity;
+import com.williammedina.forohub.domain.topic.dto.PendingTopic;
+import com.williammedina.forohub.domain.topic.dto.TopicDTO;
+import com.williammedina.forohub.domain.topic.entity.ContentHash;
 import com.williammedina.forohub.domain.topic.entity.TopicEntity;
 import com.williammedina.forohub.domain.topic.repository.TopicRepository;
 import com.williammedina.forohub.domain.user.entity.UserEntity;
 import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,12 +40,12 @@ class TopicRepositoryTest {
 
     @Test
     @DisplayName("Debe devolver true si existe ese título en otro tópico")
-    void existsByTitle_WhenExists_ReturnsTrue() {
+    void existsByTitleHash_WhenExists_ReturnsTrue() {
         // Arrange
         createAndPersistTopic("Error 404", "Description A" , createAndPersistUser(), createAndPersistCourse());
 
         // Act
-        boolean titleExists = topicRepository.existsByTitle("Error 404");
+        boolean titleExists = topicRepository.existsByTitleHash(ContentHash.of("Error 404"));
 
         // Assert
         assertThat(titleExists).isTrue();
@@ -45,12 +53,12 @@ class TopicRepositoryTest {
 
     @Test
     @DisplayName("Debe devolver false si no existe ese título en otro tópico")
-    void existsByTitle_WhenNotExists_ReturnsFalse() {
+    void existsByTitleHash_WhenNotExists_ReturnsFalse() {
         // Arrange
         createAndPersistTopic("Error 404", "Description A", createAndPersistUser(), createAndPersistCourse());
 
         // Act
-        boolean titleExists = topicRepository.existsByTitle("Error 500");
+        boolean titleExists = topicRepository.existsByTitleHash(ContentHash.of("Error 500"));
 
         // Assert
         assertThat(titleExists).isFalse();
@@ -58,12 +66,12 @@ class TopicRepositoryTest {
 
     @Test
     @DisplayName("Debe devolver true si existe esa descripción en otro tópico")
-    void existsByDescription_WhenExists_ReturnsTrue() {
+    void existsByDescriptionHash_WhenExists_ReturnsTrue() {
         // Arrange
         createAndPersistTopic("Error 404", "Descripción A", createAndPersistUser(), createAndPersistCourse());
 
         // Act
-        boolean descriptionExists = topicRepository.existsByDescription("Descripción A");
+        boolean descriptionExists = topicRepository.existsByDescriptionHash(ContentHash.of("Descripción A"));
 
         // Assert
         assertThat(descriptionExists).isTrue();
@@ -71,17 +79,60 @@ class TopicRepositoryTest {
 
     @Test
     @DisplayName("Debe devolver false si no existe esa descripción en otro tópico")
-    void existsByDescription_WhenNotExists_ReturnsFalse() {
+    void existsByDescriptionHash_WhenNotExists_ReturnsFalse() {
         // Arrange
         createAndPersistTopic("Error 404", "Descripción A", createAndPersistUser(), createAndPersistCourse());
 
         // Act
-        boolean descriptionExists = topicRepository.existsByDescription("Descripción B");
+        boolean descriptionExists = topicRepository.existsByDescriptionHash(ContentHash.of("Descripción B"));
 
         // Assert
         assertThat(descriptionExists).isFalse();
     }
 
+    @Test
+    @DisplayName("Debe detectar el título duplicado ignorando mayúsculas y espacios")
+    void existsByTitleHash_IgnoresCaseAndWhitespace() {
+        // Arrange
+        createAndPersistTopic("Error 404 en Spring", "Description A", createAndPersistUser(), createAndPersistCourse());
+
+        // Act
+        boolean titleExists = topicRepository.existsByTitleHash(ContentHash.of("  error   404 en SPRING "));
+
+        // Assert
+        assertThat(titleExists).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe ignorar los tópicos eliminados al buscar títulos duplicados")
+    void existsByTitleHash_WhenTopicDeleted_ReturnsFalse() {
+        // Arrange
+        TopicEntity topic = createAndPersistTopic("Error 404", "Description A", createAndPersistUser(), createAndPersistCourse());
+        topic.markAsDeleted();
+        entityManager.flush();
+
+        // Act
+        boolean titleExists = topicRepository.existsByTitleHash(ContentHash.of("Error 404"));
+
+        // Assert
+        assertThat(titleExists).isFalse();
+    }
+
+    @Test
+    @DisplayName("La normalización SQL de la migración debe producir el mismo hash que la aplicación")
+    void contentHash_MatchesMigrationBackfill() {
+        // Arrange
+        String text = "  Configuración \t de   SPRING Boot ";
+
+        // Act
+        Object sqlHash = entityManager.createNativeQuery("SELECT SHA2(LOWER(TRIM(REGEXP_REPLACE(CONVERT(:text USING utf8mb4), '[[:space:]]+', ' '))), 256)")
+                .setParameter("text", text)
+                .getSingleResult();
+
+        // Assert
+        assertThat(sqlHash).isEqualTo(ContentHash.of(text));
+    }
+
     @Test
     @DisplayName("Debe devolver el número correcto de tópicos no eliminados para un usuario")
     void countByUserId_WhenExists_ReturnsCorrectCount() {
@@ -156,7 +207,7 @@ class TopicRepositoryTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         // Act
-        Page<TopicEntity> topicsPage = topicRepository.findAllSortedByCreationDate(pageable);
+        Page<TopicDTO> topicsPage = topicRepository.findAllSortedByCreationDate(pageable);
 
         // Assert
         assertThat(topicsPage).isNotEmpty();
@@ -174,7 +225,7 @@ class TopicRepositoryTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         // Act
-        Page<TopicEntity> topicsPage = topicRepository.findByUserSortedByCreationDate(user, pageable);
+        Page<TopicDTO> topicsPage = topicRepository.findByUserSortedByCreationDate(user, pageable);
 
         // Assert
         assertThat(topicsPage).isNotEmpty();
@@ -188,7 +239,7 @@ class TopicRepositoryTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         // Act
-        Page<TopicEntity> topicsPage = topicRepository.findByUserSortedByCreationDate(user, pageable);
+        Page<TopicDTO> topicsPage = topicRepository.findByUserSortedByCreationDate(user, pageable);
 
         // Assert
         assertThat(topicsPage).isEmpty();
@@ -206,11 +257,11 @@ class TopicRepositoryTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         // Act
-        Page<TopicEntity> topicsPage = topicRepository.findByUserFilters(user, "Java", pageable);
+        Page<TopicDTO> topicsPage = topicRepository.findByUserFilters(user, "Java", pageable);
 
         // Assert
         assertThat(topicsPage).isNotEmpty();
-        assertThat(topicsPage.getContent().getFirst().getTitle()).isEqualTo("Java Basics");
+        assertThat(topicsPage.getContent().getFirst().title()).isEqualTo("Java Basics");
     }
 
     @Test
@@ -225,7 +276,7 @@ class TopicRepositoryTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         // Act
-        Page<TopicEntity> topicsPage = topicRepository.findByUserFilters(user, null, pageable);
+        Page<TopicDTO> topicsPage = topicRepository.findByUserFilters(user, null, pageable);
 
         // Assert
         assertThat(topicsPage).hasSize(2);
@@ -245,11 +296,11 @@ class TopicRepositoryTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         // Act
-        Page<TopicEntity> topicsPage = topicRepository.findByFilters(course.getId(), "Spring", TopicEntity.Status.CLOSED, pageable);
+        Page<TopicDTO> topicsPage = topicRepository.findByFilters(course.getId(), "Spring", TopicEntity.Status.CLOSED, pageable);
 
         // Assert
         assertThat(topicsPage).isNotEmpty();
-        assertThat(topicsPage.getContent().getFirst().getTitle()).isEqualTo("Spring Framework");
+        assertThat(topicsPage.getContent().getFirst().title()).isEqualTo("Spring Framework");
     }
 
     @Test
@@ -264,12 +315,155 @@ class TopicRepositoryTest {
         Pageable pageable = PageRequest.of(0, 2);
 
         // Act
-        Page<TopicEntity> topicsPage = topicRepository.findByFilters(null, null, null, pageable);
+        Page<TopicDTO> topicsPage = topicRepository.findByFilters(null, null, null, pageable);
 
         // Assert
         assertThat(topicsPage).hasSize(2);
     }
 
+    @Test
+    @DisplayName("Debe construir los DTO de la lista sin cargar entidades en el contexto de persistencia")
+    void findByFilters_ReturnsProjectionsWithoutManagedEntities() {
+        // Arrange
+        UserEntity user = createAndPersistUser();
+        CourseEntity course = createAndPersistCourse();
+        createAndPersistTopic("Java Basics", "Description A", user, course);
+        createAndPersistTopic("Spring Framework", "Description B", user, course);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        Page<TopicDTO> topicsPage = topicRepository.findByFilters(course.getId(), null, null, PageRequest.of(0, 10));
+        int managedEntities = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+
+        // Assert
+        assertThat(topicsPage.getContent()).extracting(TopicDTO::author).containsOnly("WilliamM");
+        assertThat(topicsPage.getContent()).extracting(TopicDTO::category).containsOnly("Category 1");
+        assertThat(managedEntities).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe incrementar y decrementar el contador de respuestas sin bajar de cero")
+    void incrementAndDecrementRepliesCount_UpdatesCounter() {
+        // Arrange
+        TopicEntity topic = createAndPersistTopic("Java Basics", "Description A", createAndPersistUser(), createAndPersistCourse());
+        entityManager.flush();
+
+        // Act
+        topicRepository.incrementRepliesCount(topic.getId());
+        topicRepository.incrementRepliesCount(topic.getId());
+        topicRepository.decrementRepliesCount(topic.getId());
+        entityManager.clear();
+        int countAfterUpdates = topicRepository.findById(topic.getId()).orElseThrow().getRepliesCount();
+
+        topicRepository.decrementRepliesCount(topic.getId());
+        int updatedRows = topicRepository.decrementRepliesCount(topic.getId());
+        entityManager.clear();
+        int countAfterUnderflow = topicRepository.findById(topic.getId()).orElseThrow().getRepliesCount();
+
+        // Assert
+        assertThat(countAfterUpdates).isEqualTo(1);
+        assertThat(updatedRows).isZero();
+        assertThat(countAfterUnderflow).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe marcar y desmarcar la solución con sentencias condicionales sobre el tópico")
+    void markAndUnmarkSolution_UpdateTopicAndDerivedReplyFlag() {
+        // Arrange
+        UserEntity user = createAndPersistUser();
+        TopicEntity topic = createAndPersistTopic("Java Basics", "Description A", user, createAndPersistCourse());
+        ReplyEntity first = new ReplyEntity(user, topic, "First reply");
+        ReplyEntity second = new ReplyEntity(user, topic, "Second reply");
+        entityManager.persist(first);
+        entityManager.persist(second);
+        entityManager.flush();
+
+        // Act
+        int markedFirst = topicRepository.markSolution(topic.getId(), first.getId(), TopicEntity.Status.CLOSED);
+        int markedFirstAgain = topicRepository.markSolution(topic.getId(), first.getId(), TopicEntity.Status.CLOSED);
+        int markedSecond = topicRepository.markSolution(topic.getId(), second.getId(), TopicEntity.Status.CLOSED);
+        int unmarkedFirst = topicRepository.unmarkSolution(topic.getId(), first.getId(), TopicEntity.Status.ACTIVE);
+        entityManager.clear();
+        TopicEntity updatedTopic = topicRepository.findById(topic.getId()).orElseThrow();
+        boolean firstIsSolution = entityManager.find(ReplyEntity.class, first.getId()).getSolution();
+        boolean secondIsSolution = entityManager.find(ReplyEntity.class, second.getId()).getSolution();
+
+        // Assert
+        assertThat(List.of(markedFirst, markedFirstAgain, markedSecond, unmarkedFirst)).containsExactly(1, 0, 1, 0);
+        assertThat(updatedTopic.getSolutionReplyId()).isEqualTo(second.getId());
+        assertThat(updatedTopic.getStatus()).isEqualTo(TopicEntity.Status.CLOSED);
+        assertThat(firstIsSolution).isFalse();
+        assertThat(secondIsSolution).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe publicar un tópico pendiente solo si no cambió desde que se moderó y ocultarlo del listado mientras tanto")
+    void applyModeration_PublishesOnlyTheModeratedVersion() {
+        // Arrange
+        UserEntity user = createAndPersistUser();
+        TopicEntity topic = new TopicEntity(user, "Pending Topic", "Pending description", createAndPersistCourse());
+        topic.setModerationStatus(ModerationStatus.PENDING);
+        entityManager.persist(topic);
+        entityManager.flush();
+
+        // Act
+        List<PendingTopic> pending = topicRepository.findPendingModeration(Limit.of(10));
+        long listedWhilePending = topicRepository.findAllSortedByCreationDate(PageRequest.of(0, 10)).getTotalElements();
+        int appliedToStaleVersion = topicRepository.applyModeration(topic.getId(), topic.getVersion() + 1, ModerationStatus.PUBLISHED);
+        int applied = topicRepository.applyModeration(topic.getId(), topic.getVersion(), ModerationStatus.PUBLISHED);
+        entityManager.clear();
+        long listedAfterPublishing = topicRepository.findAllSortedByCreationDate(PageRequest.of(0, 10)).getTotalElements();
+
+        // Assert
+        assertThat(pending).extracting(PendingTopic::topicId).containsExactly(topic.getId());
+        assertThat(listedWhilePending).isZero();
+        assertThat(List.of(appliedToStaleVersion, applied)).containsExactly(0, 1);
+        assertThat(listedAfterPublishing).isEqualTo(1);
+        assertThat(topicRepository.findPendingModeration(Limit.of(10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe recorrer los tópicos por cursor sin repetir ni omitir tópicos creados en el mismo instante")
+    void findAllAfter_WhenWalkingPages_ReturnsEveryTopicOnce() {
+        // Arrange
+        UserEntity user = createAndPersistUser();
+        CourseEntity course = createAndPersistCourse();
+        createAndPersistTopic("Java Basics", "Description A", user, course);
+        createAndPersistTopic("Spring Framework", "Description B", user, course);
+        createAndPersistTopic("Hibernate ORM", "Description C", user, course);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<TopicDTO> firstPage = topicRepository.findByUserFiltersAfter(user, null, null, null, Limit.of(2));
+        TopicDTO last = firstPage.getLast();
+        List<TopicDTO> secondPage = topicRepository.findByUserFiltersAfter(user, null, last.createdAt(), last.id(), Limit.of(2));
+
+        // Assert
+        assertThat(firstPage).hasSize(2);
+        assertThat(secondPage).hasSize(1);
+        assertThat(firstPage.getFirst().createdAt()).isAfterOrEqualTo(firstPage.getLast().createdAt());
+        assertThat(List.of(firstPage.get(0).title(), firstPage.get(1).title(), secondPage.getFirst().title()))
+                .containsExactlyInAnyOrder("Java Basics", "Spring Framework", "Hibernate ORM");
+    }
+
+    @Test
+    @DisplayName("Debe aplicar los filtros al paginar por cursor")
+    void findByFiltersAfter_WithAllFilters_ReturnsFilteredTopics() {
+        // Arrange
+        UserEntity user = createAndPersistUser();
+        CourseEntity course = createAndPersistCourse();
+        createAndPersistTopic("Java Basics", "Description A", user, course);
+        createAndPersistTopic("Spring Framework", "Description B", user, course);
+
+        // Act
+        List<TopicDTO> topics = topicRepository.findByFiltersAfter(course.getId(), "Spring", TopicEntity.Status.ACTIVE, null, null, Limit.of(10));
+
+        // Assert
+        assertThat(topics).extracting(TopicDTO::title).containsExactly("Spring Framework");
+    }
+
 
     private CourseEntity createAndPersistCourse() {
         CourseEntity course = new CourseEntity("Course 1", "Category 1");
@@ -0,0 +1,162 @@
+package com.williammedina.forohub.domain.topic;
+
+import com.williammedina.forohub.domain.course.entity.CourseEntity;
+import com.williammedina.forohub.domain.course.repository.CourseRepository;
+import com.williammedina.forohub.domain.topic.dto.TopicDTO;
+import com.williammedina.forohub.domain.topic.entity.TopicEntity;
+import com.williammedina.forohub.domain.topic.repository.TopicRepository;
+import com.williammedina.forohub.domain.topic.service.search.FullTextQuery;
+import com.williammedina.forohub.domain.topicfollow.dto.TopicFollowDetailsDTO;
+import com.williammedina.forohub.domain.topicfollow.entity.TopicFollowEntity;
+import com.williammedina.forohub.domain.topicfollow.repository.TopicFollowRepository;
+import com.williammedina.forohub.domain.user.entity.UserEntity;
+import com.williammedina.forohub.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// InnoDB only indexes full-text content on commit, so these tests commit their data and clean it up afterwards
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TopicSearchRepositoryTest {
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TopicFollowRepository topicFollowRepository;
+
+    private UserEntity user;
+    private CourseEntity course;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new UserEntity("SearchUser", "search@example.com", "password"));
+        course = courseRepository.save(new CourseEntity("Search Course", "Búsqueda"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        topicFollowRepository.deleteAll(topicFollowRepository.findAll().stream().filter(follow -> follow.getUser().getId().equals(user.getId())).toList());
+        topicRepository.deleteAll(topicRepository.findAll().stream().filter(topic -> topic.getUser().getId().equals(user.getId())).toList());
+        courseRepository.delete(course);
+        userRepository.delete(user);
+    }
+
+    @Test
+    @DisplayName("Debe encontrar tópicos ignorando los acentos de la palabra clave")
+    void searchByFilters_IgnoresAccents() {
+        // Arrange
+        topicRepository.save(new TopicEntity(user, "Duda sobre el tópico de herencia", "Description A", course));
+        topicRepository.save(new TopicEntity(user, "Configuración de Spring", "Description B", course));
+
+        // Act
+        Page<TopicDTO> topicsPage = topicRepository.searchByFilters(null, FullTextQuery.from("topico").orElseThrow(), null, PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(topicsPage.getContent()).extracting(TopicDTO::title).containsExactly("Duda sobre el tópico de herencia");
+    }
+
+    @Test
+    @DisplayName("Debe encontrar tópicos por la categoría del curso y aplicar el filtro de estado")
+    void searchByFilters_MatchesCategoryAndStatus() {
+        // Arrange
+        TopicEntity closedTopic = new TopicEntity(user, "Error al compilar", "Description A", course);
+        closedTopic.setStatus(TopicEntity.Status.CLOSED);
+        topicRepository.save(closedTopic);
+        topicRepository.save(new TopicEntity(user, "Error al ejecutar", "Description B", course));
+
+        // Act
+        Page<TopicDTO> topicsPage = topicRepository.searchByFilters(course.getId(), FullTextQuery.from("busqueda").orElseThrow(), TopicEntity.Status.CLOSED, PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(topicsPage.getTotalElements()).isEqualTo(1);
+        assertThat(topicsPage.getContent().getFirst().title()).isEqualTo("Error al compilar");
+    }
+
+    @Test
+    @DisplayName("Debe exigir todos los términos de la búsqueda en los tópicos del usuario")
+    void searchByUserFilters_RequiresAllTerms() {
+        // Arrange
+        topicRepository.save(new TopicEntity(user, "Java Streams avanzados", "Description A", course));
+        topicRepository.save(new TopicEntity(user, "Java Records", "Description B", course));
+
+        // Act
+        Page<TopicDTO> topicsPage = topicRepository.searchByUserFilters(user, FullTextQuery.from("java stream").orElseThrow(), PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(topicsPage.getContent()).extracting(TopicDTO::title).containsExactly("Java Streams avanzados");
+    }
+
+    @Test
+    @DisplayName("Debe actualizar el texto de búsqueda cuando cambia el título")
+    void searchByUserFilters_AfterTitleUpdate_ReturnsUpdatedTopic() {
+        // Arrange
+        TopicEntity topic = topicRepository.save(new TopicEntity(user, "Título original", "Description A", course));
+        topic.setTitle("Título renombrado");
+        topicRepository.save(topic);
+
+        // Act
+        Page<TopicDTO> topicsPage = topicRepository.searchByUserFilters(user, FullTextQuery.from("renombrado").orElseThrow(), PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(topicsPage.getContent()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Debe paginar por cursor los tópicos del usuario usando la búsqueda de texto completo")
+    void searchByUserFiltersAfter_PagesFullTextMatches() {
+        // Arrange
+        topicRepository.save(new TopicEntity(user, "Duda sobre el tópico de herencia", "Description A", course));
+        topicRepository.save(new TopicEntity(user, "Otro tópico sobre interfaces", "Description B", course));
+        topicRepository.save(new TopicEntity(user, "Configuración de Spring", "Description C", course));
+        String query = FullTextQuery.from("topico").orElseThrow();
+
+        // Act
+        List<TopicDTO> firstPage = topicRepository.searchByUserFiltersAfter(user, query, null, null, Limit.of(1));
+        TopicDTO last = firstPage.getLast();
+        List<TopicDTO> secondPage = topicRepository.searchByUserFiltersAfter(user, query, last.createdAt(), last.id(), Limit.of(10));
+
+        // Assert
+        assertThat(firstPage).extracting(TopicDTO::title).containsExactly("Otro tópico sobre interfaces");
+        assertThat(secondPage).extracting(TopicDTO::title).containsExactly("Duda sobre el tópico de herencia");
+    }
+
+    @Test
+    @DisplayName("Debe buscar con texto completo en los tópicos seguidos paginados por cursor")
+    void searchFollowedByUserFiltersAfter_MatchesFullText() {
+        // Arrange
+        TopicEntity matching = topicRepository.save(new TopicEntity(user, "Duda sobre el tópico de herencia", "Description A", course));
+        TopicEntity other = topicRepository.save(new TopicEntity(user, "Configuración de Spring", "Description B", course));
+        topicFollowRepository.save(new TopicFollowEntity(user, matching));
+        topicFollowRepository.save(new TopicFollowEntity(user, other));
+
+        // Act
+        List<TopicFollowDetailsDTO> follows = topicFollowRepository.searchByUserFiltersAfter(user, FullTextQuery.from("topico").orElseThrow(), null, null, Limit.of(10));
+
+        // Assert
+        assertThat(follows).extracting(follow -> follow.topic().title()).containsExactly("Duda sobre el tópico de herencia");
+    }
+}
@@ -2,6 +2,7 @@ package com.williammedina.forohub.domain.topicfollow;
 
 import com.williammedina.forohub.domain.course.entity.CourseEntity;
 import com.williammedina.forohub.domain.topic.entity.TopicEntity;
+import com.williammedina.forohub.domain.topicfollow.dto.TopicFollowDetailsDTO;
 import com.williammedina.forohub.domain.topicfollow.entity.TopicFollowEntity;
 import com.williammedina.forohub.domain.topicfollow.repository.TopicFollowRepository;
 import com.williammedina.forohub.domain.user.entity.UserEntity;
@@ -76,11 +77,11 @@ class TopicFollowRepositoryTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         // Act
-        Page<TopicFollowEntity> page = topicFollowRepository.findByUserFilters(user, keyword, pageable);
+        Page<TopicFollowDetailsDTO> page = topicFollowRepository.findByUserFilters(user, keyword, pageable);
 
         // Assert
         assertThat(page.getContent()).isNotEmpty();
-        assertThat(page.getContent().getFirst().getTopic().getTitle()).contains(keyword);
+        assertThat(page.getContent().getFirst().topic().title()).contains(keyword);
     }
 
     @Test
@@ -97,11 +98,11 @@ class TopicFollowRepositoryTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         // Act
-        Page<TopicFollowEntity> page = topicFollowRepository.findByUserSortedByCreationDate(user, pageable);
+        Page<TopicFollowDetailsDTO> page = topicFollowRepository.findByUserSortedByCreationDate(user, pageable);
 
         // Assert
-        assertThat(page.getContent()).isNotEmpty();
-        assertThat(page.getContent().getFirst().getUser()).isEqualTo(user);
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getContent()).extracting(follow -> follow.topic().id()).containsExactlyInAnyOrder(topic1.getId(), topic2.getId());
     }
 
     @Test
@@ -3,6 +3,7 @@ package com.williammedina.forohub.domain.user;
 import com.williammedina.forohub.domain.user.entity.UserEntity;
 import com.williammedina.forohub.domain.user.repository.UserRepository;
 import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -98,6 +99,23 @@ class UserRepositoryTest {
         assertThat(user.get().getToken()).isEqualTo(token);
     }
 
+    @Test
+    @DisplayName("Debe cargar el perfil junto con el usuario por id")
+    void findWithProfileById_InitializesProfile() {
+        // Arrange
+        UserEntity user = new UserEntity("User", "user@example.com", "password");
+        entityManager.persist(user);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        Optional<UserEntity> found = userRepository.findWithProfileById(user.getId());
+
+        // Assert
+        assertThat(found).isPresent();
+        assertThat(Hibernate.isInitialized(found.get().getProfile())).isTrue();
+    }
+
 
     private void createAndPersistUser(String username, String email) {
         UserEntity user = new UserEntity(username, email, "password");
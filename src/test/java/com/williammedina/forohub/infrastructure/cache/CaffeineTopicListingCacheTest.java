@@ -0,0 +1,108 @@
+package com.williammedina.forohub.infrastructure.cache;
+
+import com.williammedina.forohub.domain.contentvalidation.ModerationStatus;
+import com.williammedina.forohub.domain.topic.dto.TopicDTO;
+import com.williammedina.forohub.domain.topic.entity.TopicEntity;
+import com.williammedina.forohub.domain.topic.service.cache.TopicListingChangedEvent;
+import com.williammedina.forohub.domain.topic.service.cache.TopicListingKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaffeineTopicListingCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CaffeineTopicListingCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CaffeineTopicListingCache(meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Debe servir la segunda lectura desde la caché y publicar aciertos y fallos")
+    void get_SecondCall_IsHitAndRecordedInMetrics() {
+        // Arrange
+        TopicListingKey key = new TopicListingKey(0, 10, null, null, null);
+
+        // Act
+        cache.get(key, () -> load(1L));
+        cache.get(key, () -> load(1L));
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CaffeineTopicListingCache.CACHE_NAME).tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CaffeineTopicListingCache.CACHE_NAME).tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("No debe cachear páginas más allá de las primeras")
+    void get_DeepPage_IsNotCached() {
+        // Arrange
+        TopicListingKey key = new TopicListingKey(20, 10, null, null, null);
+
+        // Act
+        cache.get(key, () -> load(1L));
+        cache.get(key, () -> load(1L));
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Un cambio de contenido debe invalidar solo las páginas que contienen el tópico")
+    void evict_ContentChanged_EvictsOnlyPagesWithTopic() {
+        // Arrange
+        TopicListingKey firstPage = new TopicListingKey(0, 10, null, null, null);
+        TopicListingKey secondPage = new TopicListingKey(1, 10, null, null, null);
+        cache.get(firstPage, () -> load(1L));
+        cache.get(secondPage, () -> load(2L));
+
+        // Act
+        cache.evict(TopicListingChangedEvent.contentChanged(2L));
+        cache.get(firstPage, () -> load(1L));
+        cache.get(secondPage, () -> load(2L));
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Un cambio de pertenencia debe invalidar los listados cuyo filtro puede incluir el tópico")
+    void evict_MembershipChanged_EvictsMatchingFilters() {
+        // Arrange
+        TopicListingKey allTopics = new TopicListingKey(0, 10, null, null, null);
+        TopicListingKey sameCourse = new TopicListingKey(0, 10, 1L, null, null);
+        TopicListingKey otherCourse = new TopicListingKey(0, 10, 2L, null, null);
+        TopicListingKey closedTopics = new TopicListingKey(0, 10, null, null, TopicEntity.Status.CLOSED);
+        List.of(allTopics, sameCourse, otherCourse, closedTopics).forEach(key -> cache.get(key, () -> load(5L)));
+        loads.set(0);
+
+        // Act
+        cache.evict(new TopicListingChangedEvent(99L, true, Set.of(1L), Set.of(TopicEntity.Status.ACTIVE)));
+        List.of(allTopics, sameCourse, otherCourse, closedTopics).forEach(key -> cache.get(key, () -> load(5L)));
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+
+    private Page<TopicDTO> load(Long topicId) {
+        loads.incrementAndGet();
+        TopicDTO topic = new TopicDTO(topicId, "Title", "Description", "Course", "Category", "Author", 0, TopicEntity.Status.ACTIVE, LocalDateTime.now(), LocalDateTime.now(), ModerationStatus.PUBLISHED);
+        return new PageImpl<>(List.of(topic));
+    }
+}
@@ -0,0 +1,51 @@
+package com.williammedina.forohub.infrastructure.duplicate;
+
+import com.williammedina.forohub.domain.course.entity.CourseEntity;
+import com.williammedina.forohub.domain.topic.entity.ContentHash;
+import com.williammedina.forohub.domain.topic.entity.TopicEntity;
+import com.williammedina.forohub.domain.user.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "topic.duplicate-filter.enabled=true")
+@Import({BloomTopicDuplicateFilter.class, TopicDuplicateFilterListener.class})
+class TopicDuplicateFilterListenerTest {
+
+    @Autowired
+    private BloomTopicDuplicateFilter duplicateFilter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Debe añadir al filtro los hashes de un tópico guardado después de la carga inicial")
+    void persist_AfterLoad_AddsHashesToFilter() {
+        // Arrange
+        duplicateFilter.load();
+        UserEntity user = new UserEntity("WilliamM", "williamM@example.com", "password");
+        CourseEntity course = new CourseEntity("Course 1", "Category 1");
+        entityManager.persist(user);
+        entityManager.persist(course);
+
+        // Act
+        entityManager.persist(new TopicEntity(user, "Error 418 en el filtro", "Descripción del filtro", course));
+        entityManager.flush();
+
+        // Assert
+        assertThat(duplicateFilter.mightContainTitle(ContentHash.of("error 418 en el filtro"))).isTrue();
+        assertThat(duplicateFilter.mightContainDescription(ContentHash.of("Descripción del filtro"))).isTrue();
+        assertThat(duplicateFilter.mightContainTitle(ContentHash.of("Un título que nadie ha escrito"))).isFalse();
+    }
+}
@@ -0,0 +1,58 @@
+package com.williammedina.forohub.infrastructure.email;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailContentBuilderTest {
+
+    private EmailContentBuilder builder;
+
+    @BeforeEach
+    void setUp() {
+        builder = new EmailContentBuilder();
+    }
+
+    @Test
+    @DisplayName("Debe generar el mismo HTML que reemplazar los marcadores de la plantilla")
+    void buildEmailContent_PlainText_MatchesTemplateReplacement() throws IOException {
+        // Arrange
+        String expected = readTemplate()
+                .replace("{TITLE}", "Nueva respuesta a tu tópico")
+                .replace("{MESSAGE}", "<p><b>William</b> respondió a tu tópico</p>")
+                .replace("{FOOTER}", "Gracias por ser parte de ForoHub.")
+                .replace("{BUTTON_SECTION}", "<a href=\"http://localhost:5173/topic/1\" style=\"display: inline-block; background-color: #03dac5; color: #121212; padding: 10px 20px; text-decoration: none; border-radius: 5px; font-weight: bold; max-width: 100%; text-align: center;\">Ver Tópico</a>");
+
+        // Act
+        String html = builder.buildEmailContent("Nueva respuesta a tu tópico", "<p><b>William</b> respondió a tu tópico</p>", "Ver Tópico", "http://localhost:5173/topic/1", "Gracias por ser parte de ForoHub.");
+
+        // Assert
+        assertThat(html).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Debe escapar el título y omitir el botón cuando no hay enlace")
+    void buildEmailContent_EscapesTitleAndOmitsButton() {
+        // Act
+        String html = builder.buildEmailContent("<script>alert('x')</script>", "Mensaje", null, null, "Footer");
+
+        // Assert
+        assertThat(html)
+                .doesNotContain("<script>")
+                .contains("&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt;")
+                .doesNotContain("<a href=")
+                .doesNotContain("{");
+    }
+
+    private String readTemplate() throws IOException {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("templates/email_template.html")) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8).stripTrailing();
+        }
+    }
+}
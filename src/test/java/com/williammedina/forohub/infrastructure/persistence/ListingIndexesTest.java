@@ -0,0 +1,305 @@
+package com.williammedina.forohub.infrastructure.persistence;
+
+import com.williammedina.forohub.domain.notification.repository.NotificationRepository;
+import com.williammedina.forohub.domain.reply.repository.ReplyRepository;
+import com.williammedina.forohub.domain.topic.entity.TopicEntity;
+import com.williammedina.forohub.domain.topic.repository.TopicRepository;
+import com.williammedina.forohub.domain.topicfollow.repository.TopicFollowRepository;
+import com.williammedina.forohub.domain.user.entity.UserEntity;
+import com.williammedina.forohub.domain.user.repository.RefreshTokenRepository;
+import com.williammedina.forohub.domain.user.repository.UserRepository;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the listing queries against a seeded dataset, captures the SQL Hibernate generates for them and checks the
+// index chosen by EXPLAIN for that exact statement. The dataset is committed and analyzed once, because the optimizer
+// plans the joins from index statistics that never see rows inserted in a rolled-back test transaction
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListingIndexesTest {
+
+    private static final int USERS = 20;
+    private static final int TOPICS = 2000;
+    private static final Limit LIMIT = Limit.of(10);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlCapture sqlCapture;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private ReplyRepository replyRepository;
+
+    @Autowired
+    private TopicFollowRepository topicFollowRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private long firstUserId;
+    private long firstCourseId;
+    private long firstTopicId;
+
+    @BeforeAll
+    void seed() {
+        deleteSeed();
+
+        execute("INSERT INTO users (username, email, password) " +
+                sequence(USERS) +
+                "SELECT CONCAT('IndexUser', n), CONCAT('index', n, '@example.com'), 'password' FROM seq");
+        firstUserId = queryForLong("SELECT MIN(id) FROM users WHERE username LIKE 'IndexUser%'");
+
+        execute("INSERT INTO courses (name, category) " +
+                sequence(10) +
+                "SELECT CONCAT('Index Course ', n), 'Index' FROM seq");
+        firstCourseId = queryForLong("SELECT MIN(id) FROM courses WHERE name LIKE 'Index Course%'");
+
+        execute("INSERT INTO topics (user_id, course_id, title, description, status, is_deleted, created_at) " +
+                sequence(TOPICS) +
+                "SELECT " + firstUserId + " + n % " + USERS + ", " + firstCourseId + " + n % 10, CONCAT('Index topic ', n), 'Description', " +
+                "IF(n % 3 = 0, 'CLOSED', 'ACTIVE'), n % 10 = 0, NOW() - INTERVAL n MINUTE FROM seq");
+        firstTopicId = queryForLong("SELECT MIN(id) FROM topics WHERE title LIKE 'Index topic%'");
+
+        execute("INSERT INTO replies (topic_id, user_id, content, is_deleted, created_at) " +
+                sequence(TOPICS * 2) +
+                "SELECT " + firstTopicId + " + n % " + TOPICS + ", " + firstUserId + " + n % " + USERS + ", 'Content', n % 10 = 0, " +
+                "NOW() - INTERVAL n MINUTE FROM seq");
+
+        execute("INSERT INTO topic_followers (user_id, topic_id, followed_at) " +
+                sequence(TOPICS) +
+                "SELECT " + firstUserId + " + n % " + USERS + ", " + firstTopicId + " + n - 1, NOW() - INTERVAL n MINUTE FROM seq");
+
+        execute("INSERT INTO notifications (user_id, topic_id, type, subtype, title, message, created_at) " +
+                sequence(TOPICS) +
+                "SELECT " + firstUserId + " + n % " + USERS + ", " + firstTopicId + " + n - 1, 'TOPIC', 'REPLY', 'Title', 'Message', " +
+                "NOW() - INTERVAL n MINUTE FROM seq");
+
+        execute("INSERT INTO refresh_tokens (token, user_id, expires_at, revoked) " +
+                sequence(TOPICS) +
+                "SELECT CONCAT('index-token-', n), " + firstUserId + " + n % " + USERS + ", NOW() + INTERVAL n MINUTE - INTERVAL 1000 MINUTE, n % 4 = 0 FROM seq");
+
+        execute("ANALYZE TABLE users, courses, topics, replies, topic_followers, notifications, refresh_tokens");
+    }
+
+    @AfterAll
+    void deleteSeed() {
+        String seededUsers = "(SELECT id FROM users WHERE username LIKE 'IndexUser%')";
+        execute("DELETE FROM notifications WHERE user_id IN " + seededUsers);
+        execute("DELETE FROM topic_followers WHERE user_id IN " + seededUsers);
+        execute("DELETE FROM replies WHERE user_id IN " + seededUsers);
+        execute("DELETE FROM topics WHERE user_id IN " + seededUsers);
+        execute("DELETE FROM refresh_tokens WHERE user_id IN " + seededUsers);
+        execute("DELETE FROM courses WHERE name LIKE 'Index Course%'");
+        execute("DELETE FROM users WHERE username LIKE 'IndexUser%'");
+    }
+
+    @Test
+    @DisplayName("El listado general de tópicos debe usar idx_topics_deleted_created sin ordenar en memoria")
+    void topicListing_UsesDeletedCreatedIndex() {
+        // Act
+        topicRepository.findAllAfter(null, null, LIMIT);
+        Map<String, Explain> plan = explainCaptured(null, null, null, null, LIMIT.max());
+
+        // Assert
+        assertThat(plan.get("te1_0").key()).isEqualTo("idx_topics_deleted_created");
+        assertThat(plan.get("te1_0").extra()).doesNotContain("filesort");
+    }
+
+    @Test
+    @DisplayName("El filtro por curso y estado debe usar idx_topics_course_status_deleted_created")
+    void topicFilters_UsesCourseStatusIndex() {
+        // Act
+        topicRepository.findByFiltersAfter(firstCourseId, null, TopicEntity.Status.ACTIVE, null, null, LIMIT);
+        Map<String, Explain> plan = explainCaptured(firstCourseId, firstCourseId, null, null, null, "ACTIVE", "ACTIVE", null, null, null, null, LIMIT.max());
+
+        // Assert
+        assertThat(plan.get("te1_0").key()).isEqualTo("idx_topics_course_status_deleted_created");
+        assertThat(plan.get("te1_0").extra()).doesNotContain("filesort");
+    }
+
+    @Test
+    @DisplayName("Los tópicos de un usuario deben usar idx_topics_user_deleted_created")
+    void userTopics_UsesUserDeletedCreatedIndex() {
+        // Act
+        topicRepository.findByUserFiltersAfter(firstUser(), null, null, null, LIMIT);
+        Map<String, Explain> plan = explainCaptured(firstUserId, null, null, null, null, null, null, null, LIMIT.max());
+
+        // Assert
+        assertThat(plan.get("te1_0").key()).isEqualTo("idx_topics_user_deleted_created");
+        assertThat(plan.get("te1_0").extra()).doesNotContain("filesort");
+    }
+
+    @Test
+    @DisplayName("Las respuestas de un tópico deben usar idx_replies_topic_deleted_created sin ordenar en memoria")
+    void topicReplies_UsesTopicDeletedCreatedIndex() {
+        // Act
+        replyRepository.findByTopicAfter(firstTopicId, null, null, null, LIMIT);
+        Map<String, Explain> plan = explainCaptured(firstTopicId, null, null, null, null, null, null, LIMIT.max());
+
+        // Assert
+        assertThat(plan.get("re1_0").key()).isEqualTo("idx_replies_topic_deleted_created");
+        assertThat(plan.get("re1_0").extra()).doesNotContain("filesort");
+    }
+
+    @Test
+    @DisplayName("Las respuestas de un usuario deben usar idx_replies_user_deleted_created")
+    void userReplies_UsesUserDeletedCreatedIndex() {
+        // Act
+        replyRepository.findByUserAfter(firstUser(), null, null, LIMIT);
+        Map<String, Explain> plan = explainCaptured(firstUserId, null, null, null, null, LIMIT.max());
+
+        // Assert
+        assertThat(plan.get("re1_0").key()).isEqualTo("idx_replies_user_deleted_created");
+        assertThat(plan.get("re1_0").extra()).doesNotContain("filesort");
+    }
+
+    @Test
+    @DisplayName("Los seguidores de un tópico deben usar idx_topic_followers_topic_followed")
+    void topicFollowers_UsesTopicFollowedIndex() {
+        // Act
+        topicFollowRepository.findFollowersByTopicAfter(firstTopicId, null, null, LIMIT);
+        Map<String, Explain> plan = explainCaptured(firstTopicId, null, null, null, null, LIMIT.max());
+
+        // Assert
+        assertThat(plan.get("tfe1_0").key()).isEqualTo("idx_topic_followers_topic_followed");
+        assertThat(plan.get("tfe1_0").extra()).doesNotContain("filesort");
+    }
+
+    @Test
+    @DisplayName("Los tópicos seguidos deben usar idx_topic_followers_user_followed")
+    void followedTopics_UsesUserFollowedIndex() {
+        // Act
+        topicFollowRepository.findByUserFiltersAfter(firstUser(), null, null, null, LIMIT);
+        Map<String, Explain> plan = explainCaptured(firstUserId, null, null, null, null, null, null, null, LIMIT.max());
+
+        // Assert
+        assertThat(plan.get("tfe1_0").key()).isEqualTo("idx_topic_followers_user_followed");
+        assertThat(plan.get("tfe1_0").extra()).doesNotContain("filesort");
+    }
+
+    @Test
+    @DisplayName("Las notificaciones de un usuario deben usar idx_notifications_user_created")
+    void userNotifications_UsesUserCreatedIndex() {
+        // Act
+        notificationRepository.findByUserAfter(firstUser(), null, null, null, LIMIT);
+        Map<String, Explain> plan = explainCaptured(firstUserId, null, null, null, null, null, null, LIMIT.max());
+
+        // Assert
+        assertThat(plan.get("ne1_0").key()).isEqualTo("idx_notifications_user_created");
+        assertThat(plan.get("ne1_0").extra()).doesNotContain("filesort");
+    }
+
+    @Test
+    @DisplayName("Los refresh tokens de un usuario deben usar idx_refresh_tokens_user_revoked_expires")
+    void userRefreshTokens_UsesUserRevokedExpiresIndex() {
+        // Act
+        refreshTokenRepository.findAllByUser(firstUser());
+        Map<String, Explain> plan = explainCaptured(firstUserId);
+
+        // Assert
+        assertThat(plan.get("rte1_0").key()).isEqualTo("idx_refresh_tokens_user_revoked_expires");
+    }
+
+    private UserEntity firstUser() {
+        return userRepository.getReferenceById(firstUserId);
+    }
+
+    private record Explain(String key, String extra) {
+    }
+
+    // EXPLAIN of the last SELECT Hibernate generated, with the values bound in parameter order. Columns are read by
+    // name because MySQL and MariaDB return a different EXPLAIN layout
+    private Map<String, Explain> explainCaptured(Object... parameters) {
+        String sql = sqlCapture.lastSelect();
+        assertThat(sql.chars().filter(c -> c == '?').count()).as(sql).isEqualTo(parameters.length);
+
+        Map<String, Explain> plan = new HashMap<>();
+        jdbcTemplate.query("EXPLAIN " + sql, rs -> {
+            plan.put(rs.getString("table"), new Explain(rs.getString("key"), String.valueOf(rs.getString("Extra"))));
+        }, parameters);
+        return plan;
+    }
+
+    // Numbers 1..count as a CTE named seq; crosses two digit tables to stay under the recursion limit
+    private static String sequence(int count) {
+        return "WITH RECURSIVE digits (d) AS (SELECT 0 UNION ALL SELECT d + 1 FROM digits WHERE d < 99), " +
+                "seq (n) AS (SELECT a.d * 100 + b.d + 1 FROM digits a CROSS JOIN digits b WHERE a.d * 100 + b.d < " + count + ") ";
+    }
+
+    private void execute(String sql) {
+        jdbcTemplate.execute(sql);
+    }
+
+    private long queryForLong(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    // Records the SQL Hibernate sends, so the plans are checked for the repository queries as they are generated
+    static class SqlCapture implements StatementInspector {
+
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        String lastSelect() {
+            return statements.reversed().stream()
+                    .filter(sql -> sql.regionMatches(true, 0, "select", 0, 6))
+                    .findFirst()
+                    .orElseThrow();
+        }
+    }
+
+    @TestConfiguration
+    static class SqlCaptureConfig {
+
+        @Bean
+        SqlCapture sqlCapture() {
+            return new SqlCapture();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(SqlCapture sqlCapture) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlCapture);
+        }
+    }
+}
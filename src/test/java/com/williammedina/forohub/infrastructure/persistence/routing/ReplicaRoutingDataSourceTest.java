@@ -0,0 +1,103 @@
+package com.williammedina.forohub.infrastructure.persistence.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final AtomicBoolean primaryRequired = new AtomicBoolean();
+    private StubDataSource replica;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        replica = new StubDataSource();
+        routingDataSource = new ReplicaRoutingDataSource(new StubDataSource(), List.of(replica), primaryRequired::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("Debe enviar las transacciones de solo lectura a la réplica y el resto al primario")
+    void determineCurrentLookupKey_ReadOnly_UsesReplica() {
+        // Act
+        Object readWriteKey = routingDataSource.determineCurrentLookupKey();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Object readOnlyKey = routingDataSource.determineCurrentLookupKey();
+
+        // Assert
+        assertThat(readWriteKey).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(readOnlyKey).isEqualTo("replica-0");
+    }
+
+    @Test
+    @DisplayName("Debe leer del primario durante la ventana posterior a una escritura del usuario")
+    void determineCurrentLookupKey_PrimaryRequired_UsesPrimary() {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        primaryRequired.set(true);
+
+        // Act
+        Object key = routingDataSource.determineCurrentLookupKey();
+
+        // Assert
+        assertThat(key).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    @DisplayName("Debe dejar de usar una réplica caída hasta que el chequeo de salud la recupere")
+    void determineCurrentLookupKey_ReplicaDown_FallsBackToPrimary() {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        replica.down = true;
+
+        // Act
+        routingDataSource.checkReplicas();
+        Object whileDown = routingDataSource.determineCurrentLookupKey();
+        replica.down = false;
+        routingDataSource.checkReplicas();
+        Object afterRecovery = routingDataSource.determineCurrentLookupKey();
+
+        // Assert
+        assertThat(whileDown).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(afterRecovery).isEqualTo("replica-0");
+    }
+
+    // Only availability matters here: the stub connection just answers isValid
+    private static class StubDataSource extends AbstractDataSource {
+
+        private volatile boolean down;
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> method.getName().equals("isValid") ? Boolean.TRUE : null
+            );
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
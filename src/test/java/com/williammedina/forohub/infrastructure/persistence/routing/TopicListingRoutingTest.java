@@ -0,0 +1,88 @@
+package com.williammedina.forohub.infrastructure.persistence.routing;
+
+import com.williammedina.forohub.domain.topic.service.TopicService;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Records, for every statement Hibernate prepares on the test thread, the data source ReplicaRoutingDataSource would pick at that moment,
+// so the routing of the service methods is checked without running a real replica
+@SpringBootTest(properties = "topic.listing-cache.enabled=true")
+@ActiveProfiles("test")
+class TopicListingRoutingTest {
+
+    @Autowired
+    private TopicService topicService;
+
+    @Autowired
+    private RoutingCapture routingCapture;
+
+    @Test
+    @DisplayName("El listado paginado de tópicos debe leerse de la réplica al fallar la caché y no abrir conexión al acertar")
+    void getAllTopics_CacheMiss_UsesReplica() {
+        // Arrange
+        PageRequest pageable = PageRequest.of(0, 13);
+        routingCapture.record();
+
+        // Act
+        topicService.getAllTopics(pageable, null, null, null);
+        List<Object> missKeys = List.copyOf(routingCapture.keys);
+        routingCapture.record();
+        topicService.getAllTopics(pageable, null, null, null);
+
+        // Assert
+        assertThat(missKeys).isNotEmpty().containsOnly("replica-0");
+        assertThat(routingCapture.keys).isEmpty();
+    }
+
+    static class RoutingCapture implements StatementInspector {
+
+        private final List<Object> keys = new CopyOnWriteArrayList<>();
+        private ReplicaRoutingDataSource routingDataSource;
+        private volatile Thread recordedThread;
+
+        @Override
+        public String inspect(String sql) {
+            // Background workers (outbox, moderation) share the session factory; only the test thread is recorded
+            if (Thread.currentThread() == recordedThread) {
+                keys.add(routingDataSource.determineCurrentLookupKey());
+            }
+            return sql;
+        }
+
+        private void record() {
+            keys.clear();
+            recordedThread = Thread.currentThread();
+        }
+    }
+
+    @TestConfiguration
+    static class RoutingCaptureConfig {
+
+        @Bean
+        RoutingCapture routingCapture(DataSource dataSource) {
+            RoutingCapture capture = new RoutingCapture();
+            capture.routingDataSource = new ReplicaRoutingDataSource(dataSource, List.of(dataSource), () -> false);
+            return capture;
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(RoutingCapture routingCapture) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, routingCapture);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.williammedina.forohub.infrastructure.stream;
+
+import com.williammedina.forohub.domain.notification.dto.NotificationDTO;
+import com.williammedina.forohub.domain.notification.entity.NotificationEntity;
+import com.williammedina.forohub.domain.notification.service.stream.NotificationCreatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SseNotificationStreamTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private List<Runnable> pendingWrites;
+    private SseNotificationStream stream;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pendingWrites = new ArrayList<>();
+        // Writes are never run: every connection behaves like a client that stopped reading
+        stream = new SseNotificationStream(meterRegistry, pendingWrites::add, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Debe limitar las conexiones abiertas por usuario y publicar el total")
+    void register_BeyondLimit_ClosesOldestConnections() {
+        // Act
+        IntStream.rangeClosed(0, SseNotificationStream.MAX_CONNECTIONS_PER_USER).forEach(i -> stream.register(1L));
+        stream.register(2L);
+
+        // Assert
+        assertThat(connections()).isEqualTo(SseNotificationStream.MAX_CONNECTIONS_PER_USER + 1);
+    }
+
+    @Test
+    @DisplayName("Debe descartar los eventos que no caben en la cola de un cliente lento")
+    void publish_SlowClient_DropsEventsBeyondQueue() {
+        // Arrange
+        stream.register(1L); // The "connected" comment takes one place in the queue
+        NotificationCreatedEvent event = new NotificationCreatedEvent(List.of(1L, 2L), notification());
+
+        // Act
+        IntStream.range(0, SseNotificationStream.MAX_PENDING_EVENTS).forEach(i -> stream.publish(event));
+
+        // Assert
+        assertThat(dropped("queue_full")).isEqualTo(1);
+        assertThat(pendingWrites).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("El heartbeat debe cerrar las conexiones que dejaron de leer")
+    void heartbeat_StalledClient_IsDisconnected() {
+        // Arrange
+        stream.register(1L);
+        NotificationCreatedEvent event = new NotificationCreatedEvent(List.of(1L), notification());
+        IntStream.range(0, SseNotificationStream.MAX_PENDING_EVENTS).forEach(i -> stream.publish(event));
+
+        // Act
+        stream.heartbeat();
+
+        // Assert
+        assertThat(connections()).isZero();
+        assertThat(dropped("disconnected")).isEqualTo(SseNotificationStream.MAX_PENDING_EVENTS);
+    }
+
+    private double connections() {
+        return meterRegistry.get(SseNotificationStream.CONNECTIONS_METRIC).gauge().value();
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.get(SseNotificationStream.DROPPED_METRIC).tag("reason", reason).counter().count();
+    }
+
+    private NotificationDTO notification() {
+        return new NotificationDTO(1L, "William", 1L, NotificationEntity.Type.TOPIC, NotificationEntity.Subtype.REPLY, "Title", "Message", false, 1, null, LocalDateTime.now(), LocalDateTime.now());
+    }
+}